@@ -0,0 +1,83 @@
+-- Search benchmark: LOWER(column) LIKE ... vs. plain column with a
+-- case-insensitive collation and a B-tree index, on 1,000,000 contacts.
+--
+-- Run against a scratch copy, never against real data:
+--   mysql -u myuser -p cmpe343_project2 < benchmarks/sql/search_index_benchmark.sql
+--
+-- For each pair, compare the EXPLAIN "type"/"rows" columns (ALL = full scan,
+-- range/ref = index) and the elapsed time the client prints for the queries.
+
+DROP TABLE IF EXISTS `bench_digits`;
+DROP TABLE IF EXISTS `bench_contacts`;
+
+-- Same columns, indexes and collation as `contacts`
+CREATE TABLE `bench_contacts` LIKE `contacts`;
+
+CREATE TABLE `bench_digits` (`d` int NOT NULL PRIMARY KEY) ENGINE=InnoDB;
+INSERT INTO `bench_digits` VALUES (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+
+-- 10^6 rows; names repeat with a numeric suffix so prefixes are selective
+INSERT INTO `bench_contacts`
+    (`first_name`, `last_name`, `nickname`, `phone_primary`, `email`, `birth_date`)
+SELECT
+    CONCAT(ELT(1 + n % 10, 'Ahmet', 'Ayşe', 'Mehmet', 'Fatma', 'Mustafa',
+                           'Zeynep', 'Emre', 'Elif', 'Burak', 'Ceren'), n),
+    CONCAT(ELT(1 + (n DIV 10) % 8, 'Yılmaz', 'Demir', 'Kaya', 'Çelik',
+                                   'Şahin', 'Yıldız', 'Özdemir', 'Arslan'), n),
+    CONCAT('nick', n),
+    CONCAT('5', LPAD(n, 9, '0')),
+    CONCAT('user', n, '@', ELT(1 + n % 4, 'gmail.com', 'outlook.com', 'hotmail.com', 'yahoo.com')),
+    DATE_ADD('1960-01-01', INTERVAL n % 16000 DAY)
+FROM (
+    SELECT a.d + 10 * b.d + 100 * c.d + 1000 * d.d + 10000 * e.d + 100000 * f.d AS n
+    FROM bench_digits a, bench_digits b, bench_digits c,
+         bench_digits d, bench_digits e, bench_digits f
+) seq;
+
+ANALYZE TABLE `bench_contacts`;
+
+-- ---------- "starts with" on first name ----------
+EXPLAIN SELECT * FROM bench_contacts WHERE LOWER(first_name) LIKE 'ahmet12%';
+EXPLAIN SELECT * FROM bench_contacts WHERE first_name LIKE 'ahmet12%';
+
+SELECT COUNT(*) AS old_starts FROM bench_contacts WHERE LOWER(first_name) LIKE 'ahmet12%';
+SELECT COUNT(*) AS new_starts FROM bench_contacts WHERE first_name LIKE 'ahmet12%';
+
+-- ---------- "equals" on email (mixed case input) ----------
+EXPLAIN SELECT * FROM bench_contacts WHERE LOWER(email) LIKE 'user424244@gmail.com';
+EXPLAIN SELECT * FROM bench_contacts WHERE email = 'User424244@Gmail.com';
+
+SELECT COUNT(*) AS old_equals FROM bench_contacts WHERE LOWER(email) LIKE 'user424244@gmail.com';
+SELECT COUNT(*) AS new_equals FROM bench_contacts WHERE email = 'User424244@Gmail.com';
+
+-- ---------- first page of "sort by last name" ----------
+EXPLAIN SELECT * FROM bench_contacts ORDER BY LOWER(TRIM(last_name)), contact_id LIMIT 21;
+EXPLAIN SELECT * FROM bench_contacts ORDER BY last_name, contact_id LIMIT 21;
+
+SELECT contact_id FROM bench_contacts ORDER BY LOWER(TRIM(last_name)), contact_id LIMIT 21;
+SELECT contact_id FROM bench_contacts ORDER BY last_name, contact_id LIMIT 21;
+
+-- ---------- phone "ends with" (last 4 digits) ----------
+EXPLAIN SELECT * FROM bench_contacts WHERE phone_primary LIKE '%4242';
+EXPLAIN SELECT * FROM bench_contacts WHERE phone_primary_rev LIKE '2424%';
+
+SELECT COUNT(*) AS old_suffix FROM bench_contacts WHERE phone_primary LIKE '%4242';
+SELECT COUNT(*) AS new_suffix FROM bench_contacts WHERE phone_primary_rev LIKE '2424%';
+
+-- ---------- birthdays between Dec 20 and Jan 19 (window wraps the year) ----------
+EXPLAIN SELECT * FROM bench_contacts
+ WHERE (MONTH(birth_date) = 12 AND DAYOFMONTH(birth_date) >= 20)
+    OR (MONTH(birth_date) = 1 AND DAYOFMONTH(birth_date) <= 19);
+EXPLAIN SELECT * FROM bench_contacts WHERE birth_md >= 1220 OR birth_md <= 119;
+
+SELECT COUNT(*) AS old_birthdays FROM bench_contacts
+ WHERE (MONTH(birth_date) = 12 AND DAYOFMONTH(birth_date) >= 20)
+    OR (MONTH(birth_date) = 1 AND DAYOFMONTH(birth_date) <= 19);
+SELECT COUNT(*) AS new_birthdays FROM bench_contacts WHERE birth_md >= 1220 OR birth_md <= 119;
+
+-- ---------- born in 1990 ----------
+EXPLAIN SELECT * FROM bench_contacts WHERE YEAR(birth_date) = 1990;
+EXPLAIN SELECT * FROM bench_contacts WHERE birth_date BETWEEN '1990-01-01' AND '1990-12-31';
+
+DROP TABLE `bench_contacts`;
+DROP TABLE `bench_digits`;
@@ -0,0 +1,207 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Search, sort and statistics queries of the menus (same ContactFilter /
+ * ContactRepository / ContactStatsStore calls) on a local MySQL database
+ * seeded with `rows` contacts.
+ *
+ * Runs against a scratch copy of the schema, never the real data:
+ *   sed 's/cmpe343_project2/cmpe343_bench/g' cmpe343_project2.sql | mysql -u root -p
+ *   mysql -u root -p -e "GRANT ALL ON cmpe343_bench.* TO 'myuser'@'localhost'"
+ * "ant bench" passes -Dcmpe343.db.name=cmpe343_bench. When the contacts
+ * table does not hold exactly `rows` rows it is emptied and seeded again
+ * (10M rows take a few minutes, once).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactQueryBenchmark {
+
+    private static final String REAL_DATABASE = "cmpe343_project2";
+
+    // Same generated rows as benchmarks/sql/search_index_benchmark.sql, n = 0 .. rows-1
+    private static final String SEED_SQL = "INSERT INTO contacts "
+            + "(first_name, last_name, nickname, phone_primary, email, linkedin_url, birth_date) "
+            + "SELECT "
+            + "CONCAT(ELT(1 + n % 10, 'Ahmet', 'Ayşe', 'Mehmet', 'Fatma', 'Mustafa', "
+            + "'Zeynep', 'Emre', 'Elif', 'Burak', 'Ceren'), n), "
+            + "CONCAT(ELT(1 + (n DIV 10) % 8, 'Yılmaz', 'Demir', 'Kaya', 'Çelik', "
+            + "'Şahin', 'Yıldız', 'Özdemir', 'Arslan'), n), "
+            + "CONCAT('nick', n), "
+            + "CONCAT('5', LPAD(n, 9, '0')), "
+            + "CONCAT('user', n, '@', ELT(1 + n % 4, 'gmail.com', 'outlook.com', 'hotmail.com', 'yahoo.com')), "
+            + "IF(n % 3 = 0, CONCAT('https://www.linkedin.com/in/user', n), NULL), "
+            + "DATE_ADD('1960-01-01', INTERVAL n % 16000 DAY) "
+            + "FROM (SELECT a.d + 10 * b.d + 100 * c.d + 1000 * d.d + 10000 * e.d "
+            + "+ 100000 * f.d + 1000000 * g.d AS n "
+            + "FROM bench_digits a, bench_digits b, bench_digits c, bench_digits d, "
+            + "bench_digits e, bench_digits f, bench_digits g) seq "
+            + "WHERE n < ?";
+
+    @Param({ "10000", "1000000", "10000000" })
+    public int rows;
+
+    private Connection con;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        con = new dB_Connection().connect();
+        if (con == null) {
+            throw new IllegalStateException("No connection to database "
+                    + System.getProperty("cmpe343.db.name", REAL_DATABASE) + " (see the class comment).");
+        }
+        if (REAL_DATABASE.equals(currentDatabase())) {
+            throw new IllegalStateException("Refusing to seed " + REAL_DATABASE
+                    + "; run with -Dcmpe343.db.name=cmpe343_bench.");
+        }
+        if (contactCount() != rows) {
+            seed();
+        }
+        ContactStatsStore.ensureBuilt(con);
+
+        ContactSearchIndex.shared().candidates(con, "email", "user");   // builds the trigram index outside the measurement
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (con != null) con.close();
+        dB_Connection.shutdownPool();
+    }
+
+    // ====== SEARCH ======
+
+    // Simple search, first name "starts with" (index range scan), first page
+    @Benchmark
+    public void searchStartsWith(Blackhole bh) throws SQLException {
+        ContactFilter filter = new ContactFilter();
+        ContactSearch.addTextCondition(con, filter, "first_name", "starts", "Ahmet12", null);
+        firstPage(filter, null, false, bh);
+    }
+
+    // Simple search, email "contains" (trigram candidates + LIKE), first page
+    @Benchmark
+    public void searchContains(Blackhole bh) throws SQLException {
+        ContactFilter filter = new ContactFilter();
+        ContactSearch.addTextCondition(con, filter, "email", "contains", "er4242", null);
+        firstPage(filter, null, false, bh);
+    }
+
+    // Phone "ends with" (reversed-digit column), first page
+    @Benchmark
+    public void searchPhoneEndsWith(Blackhole bh) throws SQLException {
+        ContactFilter filter = new ContactFilter();
+        ContactSearch.addTextCondition(con, filter, "phone_primary", "ends", "4242", null);
+        firstPage(filter, null, false, bh);
+    }
+
+    // ====== SORT ======
+
+    @Benchmark
+    public void sortByLastNameFirstPage(Blackhole bh) throws SQLException {
+        firstPage(new ContactFilter(), "last_name", false, bh);
+    }
+
+    // A page in the middle of the sorted list: keyset seek, no OFFSET
+    @Benchmark
+    public void sortByLastNameMiddlePage(Blackhole bh) throws SQLException {
+        ContactRepository.seek(con, ContactRepository.Projection.FULL, new ContactFilter(), "last_name", false,
+                true, "Kaya", 0, TesterMenu.PAGE_SIZE + 1, (contact, sortKey) -> {
+                    bh.consume(contact);
+                    return true;
+                });
+    }
+
+    @Benchmark
+    public void sortByLastNameFirstPageCompact(Blackhole bh) throws SQLException {
+        ContactRepository.seek(con, ContactRepository.Projection.COMPACT, new ContactFilter(), "last_name", false,
+                false, null, 0, TesterMenu.PAGE_SIZE + 1, (contact, sortKey) -> {
+                    bh.consume(contact);
+                    return true;
+                });
+    }
+
+    // ====== STATISTICS ======
+
+    // What the manager statistics screen reads (contact_stats counters)
+    @Benchmark
+    public void statisticsScreen(Blackhole bh) throws SQLException {
+        bh.consume(ContactStatsStore.top(con, ContactStatistics.KIND_FIRST_NAME, 5));
+        bh.consume(ContactStatsStore.top(con, ContactStatistics.KIND_LAST_NAME, 5));
+        bh.consume(ContactStatsStore.top(con, ContactStatistics.KIND_EMAIL_DOMAIN, 5));
+        bh.consume(ContactStatsStore.birthSummary(con));
+    }
+
+    // Full pass over contacts (rebuild of contact_stats, ContactsCli stats)
+    @Benchmark
+    public ContactStatistics statisticsFullScan() throws SQLException {
+        return ContactStatistics.scan(con);
+    }
+
+    // ====== HELPERS ======
+
+    // One page as printContactPages reads it (PAGE_SIZE + 1 rows)
+    private void firstPage(ContactFilter filter, String sortExpr, boolean descending, Blackhole bh)
+            throws SQLException {
+        ContactRepository.seek(con, ContactRepository.Projection.FULL, filter, sortExpr, descending,
+                false, null, 0, TesterMenu.PAGE_SIZE + 1, (contact, sortKey) -> {
+                    bh.consume(contact);
+                    return true;
+                });
+    }
+
+    private String currentDatabase() throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT DATABASE()")) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private long contactCount() throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM contacts")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void seed() throws SQLException {
+        System.out.println("Seeding " + rows + " contacts...");
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate("TRUNCATE TABLE contacts");
+            st.executeUpdate("DROP TABLE IF EXISTS bench_digits");
+            st.executeUpdate("CREATE TABLE bench_digits (d int NOT NULL PRIMARY KEY) ENGINE=InnoDB");
+            st.executeUpdate("INSERT INTO bench_digits VALUES (0),(1),(2),(3),(4),(5),(6),(7),(8),(9)");
+
+            try (PreparedStatement ps = con.prepareStatement(SEED_SQL)) {
+                ps.setInt(1, rows);
+                ps.executeUpdate();
+            }
+
+            st.executeUpdate("DROP TABLE bench_digits");
+            st.execute("ANALYZE TABLE contacts");
+        }
+        ContactStatsStore.rebuild(con);
+    }
+}
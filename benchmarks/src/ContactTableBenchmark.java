@@ -0,0 +1,111 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One page of the contact table (printContactRow): ContactTableRenderer
+ * against the printf-per-row code it replaced.
+ *
+ * Output goes to an autoflush UTF-8 PrintStream over a null stream, like
+ * AppMain's System.out minus the terminal, so only formatting, encoding and
+ * flush calls are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactTableBenchmark {
+
+    // The former TesterMenu.CONTACT_ROW_FORMAT
+    private static final String PRINTF_ROW_FORMAT =
+            "%-4s %-25s %-15s %-22s %-28s %-28s %-12s %-19s %-19s%n";
+
+    @Param({ "false", "true" })
+    public boolean compact;
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+    private final ContactTableRenderer table = new ContactTableRenderer();
+    private Contact[] page;
+
+    @Setup
+    public void setup() {
+        table.setCompact(compact);
+        page = new Contact[TesterMenu.PAGE_SIZE];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = new Contact(i + 1, "Ayşe" + i, i % 3 == 0 ? "Nur" : null, "Yılmaz" + i, "nick" + i,
+                    "05321234" + (10 + i), i % 2 == 0 ? "05439876" + (10 + i) : "",
+                    "user" + i + "@gmail.com", "https://www.linkedin.com/in/user" + i, "1990-01-" + (10 + i),
+                    "2025-01-03 10:22:41", "2025-02-11 08:05:17");
+        }
+    }
+
+    @Benchmark
+    public void renderer() {
+        table.header();
+        for (Contact c : page) {
+            table.row(c);
+        }
+        table.flush(out);
+    }
+
+    // Only the full layout existed with printf; the compact param does not apply here
+    @Benchmark
+    public void printf() {
+        out.printf(PRINTF_ROW_FORMAT, "ID", "Full Name", "Nickname", "Phones", "Email",
+                "LinkedIn", "Birth Date", "Created At", "Updated At");
+        out.printf(PRINTF_ROW_FORMAT, "----", "-------------------------", "---------------",
+                "----------------------", "----------------------------", "----------------------------",
+                "------------", "-------------------", "-------------------");
+        for (Contact c : page) {
+            printfRow(c);
+        }
+    }
+
+    // Same string building as the old printContactRow(ResultSet)
+    private void printfRow(Contact c) {
+        String middleName = trimOrEmpty(c.middleName());
+        String fullNameStr;
+        if (!middleName.isEmpty()) {
+            fullNameStr = trimOrEmpty(c.firstName()) + " " + middleName + " " + trimOrEmpty(c.lastName());
+        } else {
+            fullNameStr = trimOrEmpty(c.firstName()) + " " + trimOrEmpty(c.lastName());
+        }
+
+        String phones = trimOrEmpty(c.phonePrimary());
+        String phoneSecondary = trimOrEmpty(c.phoneSecondary());
+        if (!phoneSecondary.isEmpty()) {
+            if (!phones.isBlank()) phones += " / ";
+            phones += phoneSecondary;
+        }
+
+        out.printf(PRINTF_ROW_FORMAT,
+                String.valueOf(c.contactId()),
+                fullNameStr,
+                trimOrEmpty(c.nickname()),
+                phones,
+                trimOrEmpty(c.email()),
+                trimOrEmpty(c.linkedinUrl()),
+                trimOrEmpty(c.birthDate()),
+                trimOrEmpty(c.createdAt()),
+                trimOrEmpty(c.updatedAt()));
+    }
+
+    private static String trimOrEmpty(String s) {
+        return s == null ? "" : s.trim();
+    }
+}
@@ -0,0 +1,134 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bulk validation as ContactImporter runs it: one block of BATCH_ROWS import
+ * rows (9 fields each, every 10th row broken) through
+ * ContactValidator.validateRows, against the String.matches rules it replaced
+ * and the same regexes as precompiled Patterns. Scores are per field.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactValidatorBenchmark {
+
+    private static final int ROWS = ContactImporter.BATCH_ROWS;
+    private static final int FIELDS = ROWS * 9;
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-zÇĞİÖŞÜçğıöşü]+");
+    private static final Pattern NICKNAME = Pattern.compile("[A-Za-zÇĞİÖŞÜçğıöşü0-9_.]+");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private final String[][] rows = new String[ROWS][];
+    private final String[] reasons = new String[ROWS];
+    private final String[] names = new String[ROWS];
+
+    @Setup
+    public void setup() {
+        String[] domains = { "gmail.com", "outlook.com", "hotmail.com", "yahoo.com" };
+        for (int n = 0; n < ROWS; n++) {
+            // Same generated values as ContactQueryBenchmark's seed
+            String first = (n % 10 == 3 ? "Ay şe" : "Ayşe") + (char) ('a' + n % 26);
+            rows[n] = new String[] {
+                    first, n % 3 == 0 ? "Nur" : "", "Yılmaz", "nick_" + n,
+                    "5" + String.format("%09d", n), n % 2 == 0 ? "4" + String.format("%09d", n) : "",
+                    "user" + n + "@" + domains[n % 4],
+                    n % 3 == 0 ? "https://www.linkedin.com/in/user" + n : "",
+                    n % 10 == 7 ? "2023-02-30" : LocalDate.of(1960, 1, 1).plusDays(n % 16000).toString() };
+            names[n] = first;
+        }
+    }
+
+    // ====== WHOLE ROWS (import path) ======
+
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public int rowsScanner() {
+        return ContactValidator.validateRows(rows, ROWS, reasons);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public int rowsStringMatches() {
+        int invalid = 0;
+        for (String[] v : rows) {
+            if (!validRegex(v, false)) invalid++;
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIELDS)
+    public int rowsPrecompiledPattern() {
+        int invalid = 0;
+        for (String[] v : rows) {
+            if (!validRegex(v, true)) invalid++;
+        }
+        return invalid;
+    }
+
+    // ====== ONE COLUMN ======
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BitSet nameColumnScanner() {
+        return ContactValidator.invalid(ContactValidator.Rule.NAME, names, ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BitSet nameColumnStringMatches() {
+        BitSet out = new BitSet(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            if (!names[i].matches("[A-Za-zÇĞİÖŞÜçğıöşü]+")) out.set(i);
+        }
+        return out;
+    }
+
+    // ====== HELPERS ======
+
+    // The former ContactImporter.validate / TesterMenu.isValidXxx logic, minus the reasons
+    private static boolean validRegex(String[] v, boolean precompiled) {
+        if (v[0].isEmpty() || !matches(NAME, v[0], precompiled)) return false;
+        if (!v[1].isEmpty() && !matches(NAME, v[1], precompiled)) return false;
+        if (!matches(NAME, v[2], precompiled)) return false;
+        if (!v[3].isEmpty() && !matches(NICKNAME, v[3], precompiled)) return false;
+        if (v[4].length() != 10 || !matches(DIGITS, v[4], precompiled)) return false;
+        if (!v[5].isEmpty() && (v[5].length() != 10 || !matches(DIGITS, v[5], precompiled))) return false;
+        if (!matches(EMAIL, v[6], precompiled)) return false;
+        String domain = v[6].substring(v[6].lastIndexOf('@') + 1).toLowerCase();
+        if (!domain.equals("gmail.com") && !domain.equals("outlook.com")
+                && !domain.equals("hotmail.com") && !domain.equals("yahoo.com")) return false;
+        if (!v[7].isEmpty() && ContactValidator.linkedinUser(v[7]) == null) return false;
+        if (!matches(DATE, v[8], precompiled)) return false;
+        try {
+            return !LocalDate.parse(v[8]).isAfter(LocalDate.now());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean matches(Pattern p, String s, boolean precompiled) {
+        return precompiled ? p.matcher(s).matches() : s.matches(p.pattern());
+    }
+}
@@ -0,0 +1,64 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PasswordUtils: the hash of every login / password change and the strength
+ * check shown on every menu banner. Short, medium and long passwords, since
+ * the strength rules branch on length.
+ *
+ * hashPassword is the PBKDF2 hash at the configured cost (its time is the
+ * login latency, see PasswordHashCalibrator). legacySha256Hex verifies old
+ * rows; hashPasswordStringFormat is the getInstance + String.format("%02x")
+ * version it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    @Param({ "abc", "Passw0rd", "correct-Horse-battery-9" })
+    public String password;
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(password);
+    }
+
+    @Benchmark
+    public String legacySha256Hex() {
+        return PasswordUtils.legacySha256Hex(password);
+    }
+
+    @Benchmark
+    public String hashPasswordStringFormat() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] digest = md.digest(password.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String evaluatePasswordStrength() {
+        return PasswordUtils.evaluatePasswordStrength(password);
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The TesterMenu input validators (search, add and update screens, ContactsCli).
+ * Every benchmark checks one accepted and one rejected value, so both the
+ * full-match and the early-exit path are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    private TesterMenu rules;
+
+    @Setup
+    public void setup() {
+        rules = new TesterMenu(new UserPrincipal(0, "bench", "Bench", "Runner", "Tester"), new Scanner(""), "");
+    }
+
+    @Benchmark
+    public void name(Blackhole bh) {
+        bh.consume(rules.isValidName("Şahin"));
+        bh.consume(rules.isValidName("Ali Veli"));
+    }
+
+    @Benchmark
+    public void nickname(Blackhole bh) {
+        bh.consume(rules.isValidNickname("yigit_34.dev"));
+        bh.consume(rules.isValidNickname("yigit 34"));
+    }
+
+    @Benchmark
+    public void phone(Blackhole bh) {
+        bh.consume(rules.isValidPhoneExact("0532 123 45 67"));
+        bh.consume(rules.isValidPhoneExact("532-12"));
+    }
+
+    @Benchmark
+    public void email(Blackhole bh) {
+        bh.consume(rules.isValidEmailForEquals("user424242@gmail.com"));
+        bh.consume(rules.isValidEmailForEquals("user@example.org"));
+    }
+
+    @Benchmark
+    public void date(Blackhole bh) {
+        bh.consume(rules.isValidExactDate("2001-05-17"));
+        bh.consume(rules.isValidExactDate("2023-02-30"));
+    }
+
+    // All checks of one simple search input (what simpleSearch and ContactsCli run)
+    @Benchmark
+    public void searchValue(Blackhole bh) {
+        bh.consume(ContactSearch.searchValueError("first_name", "starts", "Ahm"));
+        bh.consume(ContactSearch.searchValueError("email", "equals", "user424242@gmail.com"));
+        bh.consume(ContactSearch.searchValueError("phone_primary", "ends", "4567"));
+    }
+}
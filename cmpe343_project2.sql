@@ -33,8 +33,54 @@ CREATE TABLE `contacts` (
   `birth_date` date DEFAULT NULL,
   `created_at` timestamp NOT NULL DEFAULT current_timestamp(),
   `updated_at` timestamp NOT NULL DEFAULT current_timestamp() ON UPDATE current_timestamp(),
-  PRIMARY KEY (`contact_id`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+  -- Phone digits stored backwards: "ends with 4567" becomes the prefix
+  -- search phone_*_rev LIKE '7654%', which the indexes below can answer.
+  -- Older databases: migrations/002_phone_suffix_columns.sql
+  `phone_primary_rev` varchar(20) GENERATED ALWAYS AS (reverse(`phone_primary`)) STORED,
+  `phone_secondary_rev` varchar(20) GENERATED ALWAYS AS (reverse(`phone_secondary`)) STORED,
+  -- Birthday as month*100 + day (e.g. 1120 = Nov 20), for birthday/month filters
+  -- Older databases: migrations/003_birth_md_column.sql
+  `birth_md` smallint GENERATED ALWAYS AS (month(`birth_date`) * 100 + dayofmonth(`birth_date`)) STORED,
+  PRIMARY KEY (`contact_id`),
+  -- Case-insensitive collation + plain B-tree indexes: "starts with" / "equals"
+  -- searches and sorting by these columns can use an index range scan.
+  -- Older databases: migrations/001_search_collation_indexes.sql
+  KEY `idx_contacts_first_name` (`first_name`),
+  KEY `idx_contacts_last_name` (`last_name`),
+  KEY `idx_contacts_nickname` (`nickname`),
+  KEY `idx_contacts_email` (`email`),
+  KEY `idx_contacts_phone_primary` (`phone_primary`),
+  KEY `idx_contacts_phone_secondary` (`phone_secondary`),
+  KEY `idx_contacts_phone_primary_rev` (`phone_primary_rev`),
+  KEY `idx_contacts_phone_secondary_rev` (`phone_secondary_rev`),
+  KEY `idx_contacts_birth_md` (`birth_md`),
+  KEY `idx_contacts_birth_date` (`birth_date`),
+  -- Delta polls of ContactDeltaSync: rows changed since the last poll
+  KEY `idx_contacts_updated_at` (`updated_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- Materialized statistics for the manager screen, kept current by the
+-- application on every contact insert/update/delete (see ContactStatsStore).
+-- Filled on first use; a ('meta', 'built') row marks it as complete.
+-- Older databases: migrations/004_contact_stats.sql
+CREATE TABLE `contact_stats` (
+  `stat_kind` varchar(16) NOT NULL,
+  `stat_key` varchar(255) NOT NULL,
+  `cnt` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`stat_kind`, `stat_key`),
+  KEY `idx_contact_stats_kind_cnt` (`stat_kind`, `cnt`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- Ids of deleted contacts, written in the delete transaction, so other
+-- sessions can drop them from their caches (see ContactDeltaSync).
+-- A restore (undo) removes its tombstone; old ones are purged after 7 days.
+-- Older databases: migrations/005_contact_tombstones.sql
+CREATE TABLE `contact_tombstones` (
+  `contact_id` int(11) NOT NULL,
+  `deleted_at` timestamp NOT NULL DEFAULT current_timestamp(),
+  PRIMARY KEY (`contact_id`),
+  KEY `idx_contact_tombstones_deleted_at` (`deleted_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 
 INSERT INTO `contacts` (`first_name`, `middle_name`, `last_name`, `nickname`, `phone_primary`, `phone_secondary`, `email`, `linkedin_url`, `birth_date`) VALUES
 ('Ahmet', NULL, 'Yılmaz', 'Hızlı', '5551112233', NULL, 'ahmet.yilmaz@gmail.com', 'linkedin.com/in/ahmet', '1990-05-15'),
@@ -0,0 +1,22 @@
+-- Case-insensitive collation and search indexes on `contacts`
+-- for databases created from an older cmpe343_project2.sql.
+--
+--   mysql -u myuser -p cmpe343_project2 < migrations/001_search_collation_indexes.sql
+--
+-- The old table only had DEFAULT CHARSET=utf8mb4, so its collation was
+-- whatever the server defaulted to. Searches compare the plain column (no
+-- LOWER()) and rely on the case-insensitive utf8mb4_general_ci; the indexes
+-- below let "equals" / "starts with" and sorting by these columns use a
+-- range scan instead of a full scan.
+--
+-- CONVERT TO rebuilds the whole table and blocks writes while it runs:
+-- stop the application or use a maintenance window on large tables.
+-- Run it once, before the other migrations.
+
+ALTER TABLE `contacts`
+  CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci,
+  ADD KEY `idx_contacts_first_name` (`first_name`),
+  ADD KEY `idx_contacts_last_name` (`last_name`),
+  ADD KEY `idx_contacts_nickname` (`nickname`),
+  ADD KEY `idx_contacts_email` (`email`),
+  ADD KEY `idx_contacts_phone_primary` (`phone_primary`);
@@ -0,0 +1,16 @@
+-- Reversed phone columns for "ends with" phone searches (ContactSearchColumns)
+-- for databases created from an older cmpe343_project2.sql.
+--
+--   mysql -u myuser -p cmpe343_project2 < migrations/002_phone_suffix_columns.sql
+--
+-- Adding a STORED generated column rebuilds the whole contacts table and
+-- blocks writes while it runs: use a maintenance window on large tables.
+-- Run it once; the application checks for the columns when it starts and
+-- falls back to REVERSE(phone_*) until they exist.
+
+ALTER TABLE `contacts`
+  ADD COLUMN `phone_primary_rev` varchar(20) GENERATED ALWAYS AS (reverse(`phone_primary`)) STORED,
+  ADD COLUMN `phone_secondary_rev` varchar(20) GENERATED ALWAYS AS (reverse(`phone_secondary`)) STORED,
+  ADD KEY `idx_contacts_phone_secondary` (`phone_secondary`),
+  ADD KEY `idx_contacts_phone_primary_rev` (`phone_primary_rev`),
+  ADD KEY `idx_contacts_phone_secondary_rev` (`phone_secondary_rev`);
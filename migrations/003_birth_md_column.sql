@@ -0,0 +1,14 @@
+-- Birthday column for the birthday and month filters (ContactSearchColumns)
+-- for databases created from an older cmpe343_project2.sql.
+--
+--   mysql -u myuser -p cmpe343_project2 < migrations/003_birth_md_column.sql
+--
+-- Adding a STORED generated column rebuilds the whole contacts table and
+-- blocks writes while it runs: use a maintenance window on large tables.
+-- Run it once; the application checks for the column when it starts and
+-- falls back to MONTH(birth_date) * 100 + DAYOFMONTH(birth_date) until it exists.
+
+ALTER TABLE `contacts`
+  ADD COLUMN `birth_md` smallint GENERATED ALWAYS AS (month(`birth_date`) * 100 + dayofmonth(`birth_date`)) STORED,
+  ADD KEY `idx_contacts_birth_md` (`birth_md`),
+  ADD KEY `idx_contacts_birth_date` (`birth_date`);
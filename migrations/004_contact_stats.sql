@@ -0,0 +1,16 @@
+-- Materialized contact statistics (ContactStatsStore) for databases created
+-- from an older cmpe343_project2.sql.
+--
+--   mysql -u myuser -p cmpe343_project2 < migrations/004_contact_stats.sql
+--
+-- Stop the application first: sessions started without the table skip their
+-- statistics deltas until they are restarted. The table is filled by the
+-- first statistics screen (no ('meta', 'built') row yet).
+
+CREATE TABLE IF NOT EXISTS `contact_stats` (
+  `stat_kind` varchar(16) NOT NULL,
+  `stat_key` varchar(255) NOT NULL,
+  `cnt` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`stat_kind`, `stat_key`),
+  KEY `idx_contact_stats_kind_cnt` (`stat_kind`, `cnt`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
@@ -0,0 +1,18 @@
+-- Delta sync tables and index (ContactDeltaSync) for databases created from
+-- an older cmpe343_project2.sql.
+--
+--   mysql -u myuser -p cmpe343_project2 < migrations/005_contact_tombstones.sql
+--
+-- Run it once, with the application stopped: sessions started without
+-- contact_tombstones do not record their deletes until they are restarted.
+-- The index on updated_at is added in place (no table copy), but on a large
+-- table it still takes a while.
+
+CREATE TABLE IF NOT EXISTS `contact_tombstones` (
+  `contact_id` int(11) NOT NULL,
+  `deleted_at` timestamp NOT NULL DEFAULT current_timestamp(),
+  PRIMARY KEY (`contact_id`),
+  KEY `idx_contact_tombstones_deleted_at` (`deleted_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+ALTER TABLE `contacts` ADD KEY `idx_contacts_updated_at` (`updated_at`);
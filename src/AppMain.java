@@ -1,8 +1,4 @@
 import java.util.Scanner;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.nio.charset.StandardCharsets;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
@@ -13,6 +9,8 @@ public class AppMain {
 
     public static void main(String[] args) {
 
+        UiMode.init(args);   // --fast / no console: no splash, loading bars or pauses
+
         try {
             System.setOut(new PrintStream(System.out, true, "UTF-8"));
         } catch (UnsupportedEncodingException e) {
@@ -60,66 +58,36 @@ public class AppMain {
 
                 LoginScreen.printLoginFooter();
 
-                boolean success = LoginScreen.authenticate(username, password);
+                UserPrincipal principal = LoginScreen.authenticate(username, password);
 
-                if (success) {
+                if (principal != null) {
                     LoginScreen.showPostLoginLoadingBar();
 
-                    String fullName = username;
-                    String role = "Tester";
+                    String fullName = principal.getFullName();
+                    String role = principal.getRole();
                     String passwordStrength = LoginScreen.getLastPasswordStrengthAtLogin();
 
-                    dB_Connection db = new dB_Connection();
-                    Connection con = db.connect();
-
-                    if (con != null) {
-                        String sql = "SELECT name, surname, role FROM users WHERE username = ?";
-                        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
-                            pstmt.setString(1, username);
-                            try (ResultSet rs = pstmt.executeQuery()) {
-                                if (rs.next()) {
-                                    String name = rs.getString("name");
-                                    String surname = rs.getString("surname");
-                                    role = rs.getString("role");
-                                    if (name != null && surname != null) {
-                                        fullName = name + " " + surname;
-                                    }
-                                }
-                            }
-                        } catch (SQLException e) {
-                            System.out.println(">> Error loading user profile.");
-                        } finally {
-                            try {
-                                con.close();
-                            } catch (SQLException ignored) {
-                            }
-                        }
-                    }
-
                     // Small welcome message before menu
                     System.out.println(LoginScreen.GREEN + "Login successful." + LoginScreen.RESET);
                     System.out.println("Welcome, " + fullName + " (" + role + ")");
-                    try {
-                        Thread.sleep(1500);
-                    } catch (InterruptedException ignored) {
-                    }
+                    UiMode.pause(1500);
 
                     // Role-based menus
                     if ("Tester".equalsIgnoreCase(role)) {
                         TesterMenu testerMenu =
-                                new TesterMenu(username, fullName, role, scanner, passwordStrength);
+                                new TesterMenu(principal, scanner, passwordStrength);
                         testerMenu.showMenu();
                     } else if ("Junior Developer".equalsIgnoreCase(role)) {
                         JuniorDevMenu juniorMenu =
-                                new JuniorDevMenu(username, fullName, role, scanner, passwordStrength);
+                                new JuniorDevMenu(principal, scanner, passwordStrength);
                         juniorMenu.showMenu();
                     } else if ("Senior Developer".equalsIgnoreCase(role)) {
                         SeniorDevMenu seniorMenu =
-                                new SeniorDevMenu(username, fullName, role, scanner, passwordStrength);
+                                new SeniorDevMenu(principal, scanner, passwordStrength);
                         seniorMenu.showMenu();
                     } else if ("Manager".equalsIgnoreCase(role)) {
                         ManagerMenu managerMenu =
-                                new ManagerMenu(username, fullName, role, scanner, passwordStrength);
+                                new ManagerMenu(principal, scanner, passwordStrength);
                         managerMenu.showMenu();
                     } else {
                         System.out.println(LoginScreen.RED + ">> Unknown role: " + role + LoginScreen.RESET);
@@ -130,10 +98,7 @@ public class AppMain {
                     System.out.println(LoginScreen.GREEN +
                             "\nLogged out successfully. Returning to login screen..." +
                             LoginScreen.RESET);
-                    try {
-                        Thread.sleep(1500);
-                    } catch (InterruptedException ignored) {
-                    }
+                    UiMode.pause(1500);
                     attempts = 0;
 
                 } else {
@@ -170,6 +135,11 @@ public class AppMain {
 
     private static void printShutdownAscii() {
 
+    if (UiMode.isFast()) {
+        System.out.println();
+        System.out.println(LoginScreen.RED + "GOODBYE! SEE YOU SOON" + LoginScreen.RESET);
+        return;
+    }
 
     int barWidth = 30;
     int steps = 20;
@@ -194,7 +164,7 @@ public class AppMain {
         System.out.println(LoginScreen.CYAN + "[" + bar + "] " + progress + "%" + LoginScreen.RESET);
         System.out.println();
 
-        try { Thread.sleep(delayMs); } catch (Exception ignored) {}
+        UiMode.pause(delayMs);
     }
 
     LoginScreen.clearScreen();
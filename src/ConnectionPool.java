@@ -0,0 +1,479 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded JDBC connection pool.
+ *
+ * Callers get a proxy Connection; calling close() on it gives the physical
+ * connection back to the pool instead of closing the socket, so the existing
+ * "open, use, close" code in the menus keeps working unchanged.
+ *
+ *  - minSize / maxSize : physical connections kept warm / hard upper bound
+ *  - idleTimeoutMs     : idle connections above minSize are closed after this
+ *  - borrowTimeoutMs   : how long borrow() waits when all connections are busy
+ *  - validation        : a connection idle for more than VALIDATION_BYPASS_MS
+ *                        is checked with isValid() before it is handed out
+ *
+ * Statements created through the proxy are proxies as well: getConnection()
+ * returns the pooled Connection, and their connection errors mark the physical
+ * connection as broken. A ResultSet is not wrapped (rows stay on the driver's
+ * fast path), so rs.getStatement().getConnection() is the physical connection:
+ * never close that one, it would destroy a pooled connection.
+ *
+ * A lease that changed the transaction isolation or the read-only flag gets
+ * them reset when it ends; warnings are always cleared.
+ *
+ * Physical connections live across leases, so the driver's prepared statement
+ * cache (cachePrepStmts in the dB_Connection URL) keeps paying off: the SQL of
+ * ContactRepository / UserRepository is parsed once per physical connection.
+ */
+public class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SEC = 2;
+    private static final long VALIDATION_BYPASS_MS = 500;
+
+    // A lease drops its closed statements when this many are tracked (then twice the open ones)
+    private static final int STATEMENT_PRUNE_MIN = 32;
+
+    private final String url;
+    private final String userName;
+    private final String password;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // Most recently returned connection is at the head (LIFO keeps the hot ones hot)
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int totalCount;   // idle + borrowed + currently being opened
+    private boolean shutdown;
+
+    private final ScheduledExecutorService evictor;
+
+    public ConnectionPool(String url, String userName, String password,
+                          int minSize, int maxSize,
+                          long idleTimeoutMs, long borrowTimeoutMs) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.minSize = Math.max(0, Math.min(minSize, maxSize));
+        this.maxSize = maxSize;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ====== BORROW / RELEASE ======
+
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+
+        while (true) {
+            PooledConnection pc = null;
+            boolean openNew = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (shutdown) {
+                        throw new SQLException("Connection pool is shut down.");
+                    }
+                    pc = idle.pollFirst();
+                    if (pc != null) {
+                        break;
+                    }
+                    if (totalCount < maxSize) {
+                        totalCount++;   // reserve the slot before opening outside the lock
+                        openNew = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLTimeoutException(
+                                "Timed out after " + borrowTimeoutMs + " ms waiting for a database connection.");
+                    }
+                    try {
+                        slotFreed.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (openNew) {
+                try {
+                    return PooledConnection.open(this).lease();
+                } catch (SQLException e) {
+                    freeSlot();
+                    throw e;
+                }
+            }
+
+            if (isUsable(pc)) {
+                return pc.lease();
+            }
+            destroy(pc);
+        }
+    }
+
+    private void release(PooledConnection pc, List<Statement> openStatements, boolean sessionChanged) {
+        boolean reusable = !pc.broken;
+
+        for (Statement st : openStatements) {
+            try { st.close(); } catch (SQLException ignored) {}
+        }
+
+        if (reusable) {
+            try {
+                if (!pc.physical.getAutoCommit()) {
+                    pc.physical.rollback();
+                    pc.physical.setAutoCommit(true);
+                }
+                if (sessionChanged) {
+                    pc.physical.setTransactionIsolation(pc.defaultIsolation);
+                    pc.physical.setReadOnly(pc.defaultReadOnly);
+                }
+                pc.physical.clearWarnings();
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+
+        if (!reusable) {
+            destroy(pc);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (!shutdown) {
+                pc.lastUsedNanos = System.nanoTime();
+                idle.addFirst(pc);
+                slotFreed.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pc);
+    }
+
+    // ====== LIFECYCLE ======
+
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            destroy(pc);
+        }
+    }
+
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Closes connections idle for longer than idleTimeoutMs (oldest first, never below minSize)
+    // and then tops the pool back up to minSize.
+    private void evictIdle() {
+        List<PooledConnection> expired = new ArrayList<>();
+        int missing;
+
+        lock.lock();
+        try {
+            if (shutdown) return;
+            long now = System.nanoTime();
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalCount - expired.size() > minSize) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastUsedNanos < TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs)) {
+                    break;   // everything closer to the head is newer
+                }
+                it.remove();
+                expired.add(pc);
+            }
+            missing = minSize - (totalCount - expired.size());
+            if (missing > 0) {
+                totalCount += missing;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledConnection pc : expired) {
+            destroy(pc);
+        }
+
+        for (int i = 0; i < missing; i++) {
+            PooledConnection pc;
+            try {
+                pc = PooledConnection.open(this);
+            } catch (SQLException e) {
+                for (int j = i; j < missing; j++) {
+                    freeSlot();
+                }
+                return;   // database not reachable right now, try again next round
+            }
+            lock.lock();
+            try {
+                if (!shutdown) {
+                    idle.addLast(pc);
+                    slotFreed.signal();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+            destroy(pc);
+        }
+    }
+
+    // ====== INTERNAL HELPERS ======
+
+    private Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url, userName, password);
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (pc.broken) return false;
+        try {
+            if (pc.physical.isClosed()) return false;
+            long idleNanos = System.nanoTime() - pc.lastUsedNanos;
+            if (idleNanos < TimeUnit.MILLISECONDS.toNanos(VALIDATION_BYPASS_MS)) {
+                return true;   // just returned by someone else, skip the ping
+            }
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SEC);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        try { pc.physical.close(); } catch (SQLException ignored) {}
+        freeSlot();
+    }
+
+    private void freeSlot() {
+        lock.lock();
+        try {
+            totalCount--;
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====== POOLED CONNECTION + PROXIES ======
+
+    private static final class PooledConnection {
+        final ConnectionPool pool;
+        final Connection physical;
+        final int defaultIsolation;
+        final boolean defaultReadOnly;
+        long lastUsedNanos = System.nanoTime();
+        volatile boolean broken;
+
+        private PooledConnection(ConnectionPool pool, Connection physical) throws SQLException {
+            this.pool = pool;
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.defaultReadOnly = physical.isReadOnly();
+        }
+
+        static PooledConnection open(ConnectionPool pool) throws SQLException {
+            Connection physical = pool.openPhysical();
+            try {
+                return new PooledConnection(pool, physical);
+            } catch (SQLException e) {
+                try { physical.close(); } catch (SQLException ignored) {}
+                throw e;
+            }
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    pool.new LeaseHandler(this));
+        }
+
+        // SQLState class 08 = connection exception: do not hand this one out again
+        Throwable unwrap(InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    broken = true;
+                }
+            }
+            return cause;
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        // Statements not closed yet (plus closed ones until the next prune)
+        private final List<Statement> statements = new ArrayList<>();
+        private int pruneAt = STATEMENT_PRUNE_MIN;
+        private boolean sessionChanged;   // isolation / read-only set during this lease
+        private boolean closed;
+
+        LeaseHandler(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pc, statements, sessionChanged);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pc.physical + "]";
+                case "setTransactionIsolation":
+                case "setReadOnly":
+                    sessionChanged = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Connection is already closed.");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                throw pc.unwrap(e);
+            }
+            if (result instanceof Statement) {
+                // Menus sometimes forget to close statements; they are closed when the lease ends.
+                Statement st = (Statement) result;
+                track(st);
+                return Proxy.newProxyInstance(
+                        Statement.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() },   // Statement / PreparedStatement / CallableStatement
+                        new StatementHandler(pc, st, (Connection) proxy));
+            }
+            return result;
+        }
+
+        // Long leases (one connection for a whole session) create statements
+        // without end: closed ones are dropped so only open ones stay reachable
+        private void track(Statement st) {
+            if (statements.size() >= pruneAt) {
+                statements.removeIf(LeaseHandler::isClosedQuietly);
+                pruneAt = Math.max(STATEMENT_PRUNE_MIN, 2 * statements.size());
+            }
+            statements.add(st);
+        }
+
+        private static boolean isClosedQuietly(Statement st) {
+            try {
+                return st.isClosed();
+            } catch (SQLException e) {
+                return true;
+            }
+        }
+    }
+
+    // getConnection() must not leak the physical connection to the caller
+    private static final class StatementHandler implements InvocationHandler {
+        private final PooledConnection pc;
+        private final Statement physical;
+        private final Connection lease;
+
+        StatementHandler(PooledConnection pc, Statement physical, Connection lease) {
+            this.pc = pc;
+            this.physical = physical;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return lease;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return physical.toString();
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw pc.unwrap(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * One contacts row as read by ContactRepository (immutable).
+ *
+ * Rows are mapped by column index in ContactRepository.COLUMNS order, so no
+ * column-name lookup happens per row. Dates and timestamps are kept as the
+ * driver's text ("2001-05-17", "2025-01-03 10:22:41"), which is what the
+ * screens print.
+ *
+ * A row read with a narrower ContactRepository.Projection has null in the
+ * columns that were not fetched.
+ */
+public record Contact(
+        int contactId,
+        String firstName,
+        String middleName,
+        String lastName,
+        String nickname,
+        String phonePrimary,
+        String phoneSecondary,
+        String email,
+        String linkedinUrl,
+        String birthDate,
+        String createdAt,
+        String updatedAt) {
+
+    /** Column name of every component, in component order. */
+    static final String[] COLUMN_NAMES = {
+            "contact_id", "first_name", "middle_name", "last_name", "nickname",
+            "phone_primary", "phone_secondary", "email", "linkedin_url", "birth_date",
+            "created_at", "updated_at" };
+
+    /** Reads the 12 columns of ContactRepository.COLUMNS starting at index first. */
+    static Contact read(ResultSet rs, int first) throws SQLException {
+        return new Contact(
+                rs.getInt(first),
+                rs.getString(first + 1),
+                rs.getString(first + 2),
+                rs.getString(first + 3),
+                rs.getString(first + 4),
+                rs.getString(first + 5),
+                rs.getString(first + 6),
+                rs.getString(first + 7),
+                rs.getString(first + 8),
+                rs.getString(first + 9),
+                rs.getString(first + 10),
+                rs.getString(first + 11));
+    }
+
+    /** Reads the columns of projection p starting at index first; the others stay null. */
+    static Contact read(ResultSet rs, int first, ContactRepository.Projection p) throws SQLException {
+        if (p == ContactRepository.Projection.FULL) {
+            return read(rs, first);
+        }
+        int[] at = p.offsets;
+        return new Contact(
+                rs.getInt(first + at[0]),
+                text(rs, first, at[1]),
+                text(rs, first, at[2]),
+                text(rs, first, at[3]),
+                text(rs, first, at[4]),
+                text(rs, first, at[5]),
+                text(rs, first, at[6]),
+                text(rs, first, at[7]),
+                text(rs, first, at[8]),
+                text(rs, first, at[9]),
+                text(rs, first, at[10]),
+                text(rs, first, at[11]));
+    }
+
+    // offset -1 = column not in the projection
+    private static String text(ResultSet rs, int first, int offset) throws SQLException {
+        return offset < 0 ? null : rs.getString(first + offset);
+    }
+}
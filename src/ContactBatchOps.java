@@ -0,0 +1,238 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Multi-row contact writes: one transaction, JDBC batches of BATCH_CHUNK rows
+ * (rewritten by the driver into multi-row INSERTs, see rewriteBatchedStatements
+ * in dB_Connection), one statistics delta for the whole set.
+ *
+ * The search index and ContactCache are only touched after the commit succeeded.
+ */
+public class ContactBatchOps {
+
+    // Rows per executeBatch(); keeps single packets well below max_allowed_packet
+    static final int BATCH_CHUNK = 500;
+
+    // Upper limit for one deleteAll (Senior menu, ContactsCli delete)
+    public static final int MAX_DELETE_IDS = 10000;
+
+    /**
+     * Inserts all drafts in one transaction. On success every draft gets its
+     * generated contact_id (same order as the list). On failure nothing is saved.
+     */
+    public static void insertAll(Connection con, List<ContactSnapshot> drafts) throws SQLException {
+        if (drafts.isEmpty()) return;
+
+        boolean oldAutoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        int[] ids = new int[drafts.size()];
+
+        try (PreparedStatement ps = ContactRepository.prepareInsert(con)) {
+            ContactStatistics delta = new ContactStatistics();
+            int keysRead = 0;
+
+            for (int i = 0; i < drafts.size(); i++) {
+                ContactSnapshot d = drafts.get(i);
+                ContactRepository.bindInsert(ps, d, 1);
+                ps.addBatch();
+                d.addTo(delta, +1);
+
+                if ((i + 1) % BATCH_CHUNK == 0 || i == drafts.size() - 1) {
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next() && keysRead < ids.length) {
+                            ids[keysRead++] = keys.getInt(1);
+                        }
+                    }
+                }
+            }
+
+            if (keysRead != ids.length) {
+                throw new SQLException("Expected " + ids.length + " generated keys, got " + keysRead + ".");
+            }
+
+            ContactStatsStore.applyDelta(con, delta);
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(oldAutoCommit);
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            ContactSnapshot d = drafts.get(i);
+            d.contact_id = ids[i];
+            d.putInSearchIndex();
+        }
+        ContactCache.shared().invalidateListing();   // new rows, read again on the next listing
+    }
+
+    /**
+     * Deletes the given contacts in one transaction. Returns the rows as they
+     * were just before the delete (ids that did not exist are skipped).
+     */
+    public static List<ContactSnapshot> deleteAll(Connection con, int[] ids) throws SQLException {
+        List<ContactSnapshot> deleted = new ArrayList<>(ids.length);
+        if (ids.length == 0) return deleted;
+
+        boolean oldAutoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+
+        try {
+            ContactStatistics delta = new ContactStatistics();
+
+            for (int from = 0; from < ids.length; from += BATCH_CHUNK) {
+                int to = Math.min(ids.length, from + BATCH_CHUNK);
+
+                // Snapshot (locked) and delete the same chunk: 2 statements per chunk, not 2 per id
+                try (PreparedStatement sel = ContactRepository.prepareLockByIds(con, to - from)) {
+                    bindIds(sel, ids, from, to);
+                    try (ResultSet rs = sel.executeQuery()) {
+                        while (rs.next()) {
+                            ContactSnapshot snap = ContactSnapshot.of(Contact.read(rs, 1));
+                            snap.addTo(delta, -1);
+                            deleted.add(snap);
+                        }
+                    }
+                }
+                try (PreparedStatement del = ContactRepository.prepareDeleteByIds(con, to - from)) {
+                    bindIds(del, ids, from, to);
+                    del.executeUpdate();
+                }
+            }
+
+            int[] deletedIds = new int[deleted.size()];
+            for (int i = 0; i < deletedIds.length; i++) {
+                deletedIds[i] = deleted.get(i).contact_id;
+            }
+            ContactRepository.addTombstones(con, deletedIds);
+
+            ContactStatsStore.applyDelta(con, delta);
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(oldAutoCommit);
+        }
+
+        for (ContactSnapshot snap : deleted) {
+            ContactSearchIndex.shared().remove(snap.contact_id);
+            ContactCache.shared().remove(snap.contact_id);
+        }
+        return deleted;
+    }
+
+    /**
+     * Puts deleted rows back with their original contact_id (undo of a bulk
+     * delete), batched in one transaction like insertAll.
+     */
+    public static void restoreAll(Connection con, List<ContactSnapshot> rows) throws SQLException {
+        if (rows.isEmpty()) return;
+
+        boolean oldAutoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+
+        try (PreparedStatement ps = ContactRepository.prepareRestore(con)) {
+            ContactStatistics delta = new ContactStatistics();
+            int[] ids = new int[rows.size()];
+
+            for (int i = 0; i < rows.size(); i++) {
+                ContactSnapshot r = rows.get(i);
+                ps.setInt(1, r.contact_id);
+                ContactRepository.bindRow(ps, r, 2);
+                ps.addBatch();
+                r.addTo(delta, +1);
+                ids[i] = r.contact_id;
+
+                if ((i + 1) % BATCH_CHUNK == 0 || i == rows.size() - 1) {
+                    ps.executeBatch();
+                }
+            }
+            ContactRepository.clearTombstones(con, ids);
+
+            ContactStatsStore.applyDelta(con, delta);
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(oldAutoCommit);
+        }
+
+        for (ContactSnapshot r : rows) {
+            r.putInSearchIndex();
+        }
+        ContactCache.shared().invalidateListing();
+    }
+
+    // ====== ID LISTS ======
+
+    /** Result of parseIdList. */
+    public static final class IdList {
+        public final int[] ids;               // distinct ids in input order, at most MAX_DELETE_IDS
+        public final List<String> invalid;    // parts that are not a positive id or FROM-TO range
+        public final boolean truncated;       // more than MAX_DELETE_IDS ids were given
+
+        IdList(int[] ids, List<String> invalid, boolean truncated) {
+            this.ids = ids;
+            this.invalid = invalid;
+            this.truncated = truncated;
+        }
+    }
+
+    /**
+     * "10, 12, 15-20" -> distinct ids in input order. Stops at MAX_DELETE_IDS
+     * ids (ranges are capped while they are expanded); the caller decides
+     * whether invalid parts or a truncated list are an error.
+     */
+    public static IdList parseIdList(String text) {
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        List<String> invalid = new ArrayList<>();
+        boolean truncated = false;
+
+        for (String part : text.split(",")) {
+            String p = part.trim();
+            if (p.isEmpty()) continue;
+            int from;
+            int to;
+            try {
+                int dash = p.indexOf('-', 1);
+                from = Integer.parseInt((dash > 0 ? p.substring(0, dash) : p).trim());
+                to = (dash > 0) ? Integer.parseInt(p.substring(dash + 1).trim()) : from;
+            } catch (NumberFormatException e) {
+                invalid.add(p);
+                continue;
+            }
+            if (from <= 0 || to < from) {
+                invalid.add(p);
+                continue;
+            }
+            for (long id = from; id <= to && !truncated; id++) {   // long: to may be Integer.MAX_VALUE
+                if (ids.size() == MAX_DELETE_IDS && !ids.contains((int) id)) {
+                    truncated = true;
+                } else {
+                    ids.add((int) id);
+                }
+            }
+            if (truncated) break;
+        }
+
+        int[] result = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) result[i++] = id;
+        return new IdList(result, invalid, truncated);
+    }
+
+    private static void bindIds(PreparedStatement ps, int[] ids, int from, int to) throws SQLException {
+        for (int i = from; i < to; i++) {
+            ps.setInt(i - from + 1, ids[i]);
+        }
+    }
+}
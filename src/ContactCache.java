@@ -0,0 +1,183 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process cache of contacts rows, keyed by contact_id (LRU, bounded).
+ *
+ *  - ContactRepository.findById / forEach read through it; FOR UPDATE reads,
+ *    searches and sorts always go to MySQL.
+ *  - Writes of this process update it after their commit, next to the search
+ *    index updates: deletes remove the row, single updates / restores re-read
+ *    it (ContactRepository.refreshCache), batch inserts drop the full listing.
+ *  - Writes of other clients (another app instance, ContactsCli) arrive
+ *    through ContactDeltaSync, polled before every cached read. A poll can
+ *    miss rows committed long after their timestamp, so entries and the full
+ *    listing still expire TTL_MS after they were read, polls or not.
+ *
+ * -Dcmpe343.cache.size=0 turns the cache off.
+ */
+public class ContactCache {
+
+    // -Dcmpe343.cache.size=... / -Dcmpe343.cache.ttlMs=... ile değiştirilebilir
+    private static final int MAX_SIZE = Integer.getInteger("cmpe343.cache.size", 10_000);
+    private static final long TTL_MS = Long.getLong("cmpe343.cache.ttlMs", 30_000L);
+
+    private static final ContactCache SHARED = new ContactCache(MAX_SIZE, TTL_MS * 1_000_000L);
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Access order: the first entry is the least recently used one
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    // true while entries hold every row of the table (after a full listing)
+    private boolean complete;
+    private long completeAt;
+
+    private long hits, misses, listHits, listMisses, evictions;
+
+    ContactCache(int maxSize, long ttlNanos) {
+        this.maxSize = Math.max(0, maxSize);
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= ContactCache.this.maxSize) return false;
+                evictions++;
+                complete = false;   // an evicted row is missing from the listing
+                return true;
+            }
+        };
+    }
+
+    public static ContactCache shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    // ====== SINGLE ROWS ======
+
+    /** Cached row, or null (miss) when it is not cached or too old. */
+    public synchronized Contact get(int id) {
+        Entry e = entries.get(id);
+        if (e != null && !expired(e.loadedAt)) {
+            hits++;
+            return e.contact;
+        }
+        if (e != null) {
+            entries.remove(id);
+            complete = false;
+        }
+        misses++;
+        return null;
+    }
+
+    /** Stores a full row as just read from MySQL (committed data only). */
+    public synchronized void put(Contact contact) {
+        if (!isEnabled()) return;
+        entries.put(contact.contactId(), new Entry(contact, System.nanoTime()));
+    }
+
+    /** The row was deleted; the full listing stays valid without it. */
+    public synchronized void remove(int id) {
+        entries.remove(id);
+    }
+
+    public synchronized boolean contains(int id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Newer copy of a row after a committed write or a delta poll: stored when
+     * the row is cached or the full listing is (a new row belongs to it).
+     */
+    public synchronized void refresh(Contact contact) {
+        if (entries.containsKey(contact.contactId()) || isListingComplete()) {
+            put(contact);
+        }
+    }
+
+    // ====== FULL LISTING ======
+
+    /**
+     * Every contact in contact_id order when the cache holds the whole table,
+     * otherwise null (the caller reads from MySQL, see beginListing / endListing).
+     */
+    public synchronized List<Contact> listing() {
+        if (!complete || expired(completeAt)) {
+            complete = false;
+            listMisses++;
+            return null;
+        }
+        listHits++;
+        List<Contact> rows = new ArrayList<>(entries.size());
+        for (Entry e : entries.values()) {   // iterating values does not change the access order
+            rows.add(e.contact);
+        }
+        rows.sort(Comparator.comparingInt(Contact::contactId));
+        return rows;
+    }
+
+    /** Starts refilling from a full listing: old rows may no longer exist. */
+    public synchronized void beginListing() {
+        entries.clear();
+        complete = false;
+    }
+
+    /** A full listing was read to the end; valid if nothing was evicted meanwhile. */
+    public synchronized void endListing(int rowCount) {
+        complete = isEnabled() && rowCount == entries.size();
+        completeAt = System.nanoTime();
+    }
+
+    /** Rows were added that the cache does not know (batch insert / restore). */
+    public synchronized void invalidateListing() {
+        complete = false;
+    }
+
+    public synchronized boolean isListingComplete() {
+        return complete && !expired(completeAt);
+    }
+
+    /** Drops every row (the delta sync could not catch up). */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        complete = false;
+    }
+
+    // ====== COUNTERS ======
+
+    /** One line for the screens, e.g. "Contact cache: 120/10000 rows, lookups 45 hit / 3 miss (94%), ..." */
+    public synchronized String describe() {
+        long lookups = hits + misses;
+        long lists = listHits + listMisses;
+        return String.format("Contact cache: %d/%d rows, lookups %d hit / %d miss (%.0f%%), "
+                        + "listings %d hit / %d miss (%.0f%%), %d evicted",
+                entries.size(), maxSize,
+                hits, misses, lookups == 0 ? 0.0 : 100.0 * hits / lookups,
+                listHits, listMisses, lists == 0 ? 0.0 : 100.0 * listHits / lists,
+                evictions);
+    }
+
+    // ====== HELPERS ======
+
+    private boolean expired(long loadedAt) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+
+    private static final class Entry {
+        final Contact contact;
+        final long loadedAt;
+
+        Entry(Contact contact, long loadedAt) {
+            this.contact = contact;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Keeps the in-process copies of contacts (ContactCache, ContactSearchIndex)
+ * in step with the table, including writes of other JVMs and ContactsCli.
+ *
+ * Every poll reads only what changed since the last one:
+ *  - rows with updated_at >= watermark (idx_contacts_updated_at), which also
+ *    covers inserts and undo restores (new rows get updated_at = now)
+ *  - ids in contact_tombstones with deleted_at >= watermark; the delete paths
+ *    of ContactRepository / ContactBatchOps write them in their transaction
+ *
+ * updated_at has one second resolution and a row is only visible after its
+ * commit, so the watermark trails the database clock by LAG_SECONDS and the
+ * last seconds are read again on the next poll (applying a row twice is
+ * harmless). A transaction that commits later than that after its timestamps
+ * (a large import block or bulk delete of another client, a lock wait) is
+ * missed by the polls; the copies are not extended by polling, so such rows
+ * show up when the ContactCache TTL or the ContactSearchIndex max age runs
+ * out and the copy is read again.
+ *
+ * Readers call syncIfDue() before using a copy; the first call only starts the
+ * watermark, before anything was loaded. Only autocommit connections poll: in
+ * a transaction the reads would see an old snapshot.
+ *
+ * Without contact_tombstones (older database before its migration) there is
+ * no delta sync at all: deletes are not recorded, polls do nothing and the
+ * copies are only bounded by their TTL.
+ */
+public class ContactDeltaSync {
+
+    // -Dcmpe343.sync.intervalMs=... ile değiştirilebilir (0 = her okumada)
+    private static final long POLL_INTERVAL_MS = Long.getLong("cmpe343.sync.intervalMs", 2_000L);
+    private static final int LAG_SECONDS = 5;
+
+    // Tombstones older than this are purged; a session that did not poll for
+    // that long drops its copies instead of syncing
+    private static final int TOMBSTONE_RETENTION_DAYS = 7;
+    private static final long PURGE_INTERVAL_NANOS = 3_600_000_000_000L;   // 1 hour
+
+    private static final String HAS_TOMBSTONES_SQL =
+            "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE()"
+            + " AND table_name = 'contact_tombstones'";
+
+    private static final String WATERMARK_SQL =
+            "SELECT CURRENT_TIMESTAMP - INTERVAL " + LAG_SECONDS + " SECOND";
+    private static final String CHANGED_SQL =
+            "SELECT " + ContactRepository.COLUMNS + " FROM contacts WHERE updated_at >= ?";
+    private static final String DELETED_SQL =
+            "SELECT contact_id FROM contact_tombstones WHERE deleted_at >= ?";
+    private static final String PURGE_SQL =
+            "DELETE FROM contact_tombstones WHERE deleted_at < CURRENT_TIMESTAMP - INTERVAL "
+            + TOMBSTONE_RETENTION_DAYS + " DAY";
+
+    private static final ContactDeltaSync SHARED = new ContactDeltaSync();
+
+    private static volatile boolean schemaChecked;
+    private static volatile boolean tombstonesAvailable;
+
+    private Timestamp watermark;   // null until the first poll
+    private long lastPollNanos;
+    private long lastPurgeNanos;
+
+    private long polls, changedRows, deletedRows;
+
+    public static ContactDeltaSync shared() {
+        return SHARED;
+    }
+
+    // ====== POLLING ======
+
+    /** sync() when the last poll is older than the poll interval. */
+    public synchronized void syncIfDue(Connection con) throws SQLException {
+        if (watermark != null && System.nanoTime() - lastPollNanos < POLL_INTERVAL_MS * 1_000_000L) {
+            return;
+        }
+        sync(con);
+    }
+
+    /** Applies every change since the last poll to the cache and the search index. */
+    public synchronized void sync(Connection con) throws SQLException {
+        if (!con.getAutoCommit()) return;
+        if (!ensureSchema(con)) return;   // no tombstones: TTL-only copies
+
+        Timestamp next = databaseWatermark(con);
+        lastPollNanos = System.nanoTime();
+
+        if (watermark == null) {
+            watermark = next;   // nothing is loaded yet, so nothing can be stale
+            return;
+        }
+
+        ContactCache cache = ContactCache.shared();
+        ContactSearchIndex index = ContactSearchIndex.shared();
+
+        long retentionMs = (TOMBSTONE_RETENTION_DAYS - 1) * 86_400_000L;
+        if (next.getTime() - watermark.getTime() > retentionMs) {
+            // Deletes of that period may already be purged: reload on next use
+            cache.invalidateAll();
+            index.invalidate();
+            watermark = next;
+            return;
+        }
+
+        try (PreparedStatement ps = dB_Connection.prepareStreaming(con, CHANGED_SQL)) {
+            ps.setTimestamp(1, watermark);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Contact c = Contact.read(rs, 1);
+                    cache.refresh(c);
+                    index.put(c.contactId(), c.firstName(), c.lastName(), c.nickname(),
+                            c.email(), c.phonePrimary(), c.phoneSecondary());
+                    changedRows++;
+                }
+            }
+        }
+
+        try (PreparedStatement ps = con.prepareStatement(DELETED_SQL)) {
+            ps.setTimestamp(1, watermark);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    cache.remove(id);
+                    index.remove(id);
+                    deletedRows++;
+                }
+            }
+        }
+
+        watermark = next;
+        polls++;
+        purgeIfDue(con);
+    }
+
+    /**
+     * true when polls keep the copies current (the tombstone table exists and
+     * the watermark has started); otherwise only their TTL / max age bounds them.
+     */
+    public synchronized boolean isTracking() {
+        return tombstonesAvailable && watermark != null;
+    }
+
+    public synchronized String describe() {
+        return String.format("Delta sync: %d poll(s), %d changed row(s), %d deleted row(s) applied",
+                polls, changedRows, deletedRows);
+    }
+
+    // ====== SCHEMA ======
+
+    /**
+     * true when contact_tombstones exists (cmpe343_project2.sql; older
+     * databases: migrations/005_contact_tombstones.sql). Checked once per JVM
+     * with a plain information_schema read on the caller's connection, so it is
+     * safe inside the caller's transaction.
+     *
+     * Without the table the delete paths skip their tombstones and sync() does
+     * nothing, but reads and deletes keep working.
+     */
+    static boolean ensureSchema(Connection con) throws SQLException {
+        if (schemaChecked) return tombstonesAvailable;
+        synchronized (ContactDeltaSync.class) {
+            if (schemaChecked) return tombstonesAvailable;
+            boolean available;
+            try (PreparedStatement ps = con.prepareStatement(HAS_TOMBSTONES_SQL);
+                 ResultSet rs = ps.executeQuery()) {
+                available = rs.next();
+            }
+            if (!available) {
+                System.out.println(LoginScreen.YELLOW + "contact_tombstones table not found (older database, see "
+                        + "migrations/005_contact_tombstones.sql); no delta sync, contact cache falls back to its TTL."
+                        + LoginScreen.RESET);
+            }
+            tombstonesAvailable = available;
+            schemaChecked = true;
+            return available;
+        }
+    }
+
+    // ====== HELPERS ======
+
+    private static Timestamp databaseWatermark(Connection con) throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(WATERMARK_SQL)) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    private void purgeIfDue(Connection con) throws SQLException {
+        long now = System.nanoTime();
+        if (lastPurgeNanos != 0 && now - lastPurgeNanos < PURGE_INTERVAL_NANOS) return;
+        lastPurgeNanos = now;
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate(PURGE_SQL);
+        }
+    }
+}
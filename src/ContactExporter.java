@@ -0,0 +1,273 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams contacts (all of them, or the rows of a ContactFilter) to a CSV or
+ * JSON Lines file.
+ *
+ *  - Rows come from a forward-only streaming cursor (dB_Connection.prepareStreaming),
+ *    so the driver never holds the whole result in memory.
+ *  - Rows are formatted into one reused StringBuilder, encoded to UTF-8 into one
+ *    reused direct ByteBuffer and written to a channel (a FileChannel for files).
+ *    Heap use is the same for 1 000 rows and 100 million rows.
+ *  - The CSV header uses the contacts column names, so an export can be read
+ *    back by ContactImporter (it ignores contact_id, created_at, updated_at).
+ */
+public class ContactExporter {
+
+    public enum Format { CSV, JSONL }
+
+    // Formatted text is encoded and written once it reaches this many chars
+    private static final int FLUSH_CHARS = 64 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 256 * 1024;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final String[] COLUMNS = {
+            "contact_id", "first_name", "middle_name", "last_name", "nickname",
+            "phone_primary", "phone_secondary", "email", "linkedin_url", "birth_date",
+            "created_at", "updated_at" };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Format format;
+
+    // ====== REUSED BUFFERS ======
+    private final StringBuilder text = new StringBuilder(FLUSH_CHARS + 1024);
+    private char[] chars = new char[FLUSH_CHARS + 1024];
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private boolean progress = true;
+
+    private long rows;
+    private long bytesWritten;
+    private long nanos;
+
+    public ContactExporter(Format format) {
+        this.format = format;
+    }
+
+    /** Progress lines on System.out every second (off when the export itself goes to stdout). */
+    public void setProgress(boolean progress) {
+        this.progress = progress;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public double getSeconds() {
+        return nanos / 1e9;
+    }
+
+    /** Default file name in the working directory, e.g. contacts_export.jsonl */
+    public static String defaultFileName(Format format) {
+        return format == Format.CSV ? "contacts_export.csv" : "contacts_export.jsonl";
+    }
+
+    /**
+     * Writes every contact matching filter (null = all contacts) to output,
+     * ordered by contact_id. An existing file is overwritten.
+     */
+    public void export(Connection con, ContactFilter filter, Path output) throws SQLException, IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            export(con, filter, out);
+            out.force(false);
+        }
+    }
+
+    /** Same as export(con, filter, path) but into any channel, e.g. Channels.newChannel(System.out). */
+    public void export(Connection con, ContactFilter filter, WritableByteChannel out) throws SQLException, IOException {
+        if (filter == null) filter = new ContactFilter();
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(COLUMNS[i]);
+        }
+        sql.append(" FROM contacts WHERE ").append(filter.conditions()).append(" ORDER BY contact_id");
+
+        rows = 0;
+        bytesWritten = 0;
+        text.setLength(0);
+        bytes.clear();
+        encoder.reset();
+
+        long start = System.nanoTime();
+        long lastProgress = start;
+
+        try (PreparedStatement ps = dB_Connection.prepareStreaming(con, sql.toString())) {
+
+            filter.bind(ps, 1);
+
+            if (format == Format.CSV) {
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    if (i > 0) text.append(',');
+                    text.append(COLUMNS[i]);
+                }
+                text.append("\r\n");
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (format == Format.CSV) {
+                        appendCsvRow(rs);
+                    } else {
+                        appendJsonRow(rs);
+                    }
+                    rows++;
+
+                    if (text.length() >= FLUSH_CHARS) {
+                        flushText(out, false);
+
+                        long now = System.nanoTime();
+                        if (progress && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                            printProgress(start, now);
+                            lastProgress = now;
+                        }
+                    }
+                }
+            }
+
+            flushText(out, true);
+        } finally {
+            nanos = System.nanoTime() - start;
+        }
+    }
+
+    // ====== FORMATTING ======
+
+    // Column values by index (1-based, COLUMNS order); no per-row objects besides the driver's strings
+    private void appendCsvRow(ResultSet rs) throws SQLException {
+        for (int i = 1; i <= COLUMNS.length; i++) {
+            if (i > 1) text.append(',');
+            String v = rs.getString(i);
+            if (v != null) appendCsvValue(v);
+        }
+        text.append("\r\n");
+    }
+
+    private void appendCsvValue(String v) {
+        boolean quote = false;
+        for (int i = 0; i < v.length() && !quote; i++) {
+            char c = v.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            text.append(v);
+            return;
+        }
+        text.append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == '"') text.append('"');   // "" inside quotes
+            text.append(c);
+        }
+        text.append('"');
+    }
+
+    private void appendJsonRow(ResultSet rs) throws SQLException {
+        text.append('{');
+        for (int i = 1; i <= COLUMNS.length; i++) {
+            if (i > 1) text.append(',');
+            text.append('"').append(COLUMNS[i - 1]).append("\":");
+            if (i == 1) {
+                text.append(rs.getInt(1));   // contact_id as a JSON number
+                continue;
+            }
+            String v = rs.getString(i);
+            if (v == null) {
+                text.append("null");
+            } else {
+                appendJsonString(text, v);
+            }
+        }
+        text.append("}\n");
+    }
+
+    /** v as a quoted JSON string (also used by ContactsCli). */
+    static void appendJsonString(StringBuilder text, String v) {
+        text.append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '"':  text.append("\\\""); break;
+                case '\\': text.append("\\\\"); break;
+                case '\n': text.append("\\n");  break;
+                case '\r': text.append("\\r");  break;
+                case '\t': text.append("\\t");  break;
+                default:
+                    if (c < 0x20) {
+                        text.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        text.append(c);
+                    }
+            }
+        }
+        text.append('"');
+    }
+
+    // ====== OUTPUT ======
+
+    // Encodes the buffered text into the byte buffer and writes it out.
+    // text always ends on a row boundary, so no surrogate pair is split.
+    private void flushText(WritableByteChannel out, boolean endOfInput) throws IOException {
+        int len = text.length();
+        if (len > chars.length) {
+            chars = new char[len];   // only for a single row longer than the buffer
+        }
+        text.getChars(0, len, chars, 0);
+        text.setLength(0);
+
+        CharBuffer in = CharBuffer.wrap(chars, 0, len);
+        while (true) {
+            CoderResult r = encoder.encode(in, bytes, endOfInput);
+            if (r.isOverflow()) {
+                writeBytes(out);
+            } else {
+                break;
+            }
+        }
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes(out);
+            }
+        }
+        writeBytes(out);
+    }
+
+    private void writeBytes(WritableByteChannel out) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesWritten += out.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private void printProgress(long startNanos, long nowNanos) {
+        double seconds = Math.max(1e-9, (nowNanos - startNanos) / 1e9);
+        System.out.printf("  Exported %,d rows  |  %,.1f MB  |  %.1f s  |  %,.0f rows/s%n",
+                rows, bytesWritten / 1e6, seconds, rows / seconds);
+    }
+}
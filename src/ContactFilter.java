@@ -0,0 +1,47 @@
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WHERE conditions (always joined with AND) plus their bind values for a
+ * query on the contacts table. The search screens build one of these and
+ * hand it to the pager, so the SQL text and the parameters stay together.
+ */
+public class ContactFilter {
+
+    private final StringBuilder where = new StringBuilder();
+    private final List<Object> params = new ArrayList<>();
+
+    /** Adds "AND condition"; every '?' in condition must have a value. */
+    public ContactFilter and(String condition, Object... values) {
+        if (where.length() > 0) {
+            where.append(" AND ");
+        }
+        where.append('(').append(condition).append(')');
+        Collections.addAll(params, values);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return where.length() == 0;
+    }
+
+    /** The conditions without the WHERE keyword, or "1=1" when there are none. */
+    public String conditions() {
+        return isEmpty() ? "1=1" : where.toString();
+    }
+
+    public List<Object> params() {
+        return Collections.unmodifiableList(params);
+    }
+
+    /** Binds the filter values starting at index; returns the next free index. */
+    public int bind(PreparedStatement stmt, int index) throws SQLException {
+        for (Object value : params) {
+            stmt.setObject(index++, value);
+        }
+        return index;
+    }
+}
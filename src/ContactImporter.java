@@ -0,0 +1,359 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bulk import of contacts from a CSV or TSV file.
+ *
+ *  - The file is read through a FileChannel into a 1 MiB direct buffer and
+ *    decoded incrementally, so memory use does not depend on the file size.
+ *  - The first line is a header with contacts column names (any order):
+ *    first_name, middle_name, last_name, nickname, phone_primary,
+ *    phone_secondary, email, linkedin_url, birth_date.
+ *  - Rows are validated in blocks of BATCH_ROWS with ContactValidator.validateRows
+ *    (the rules of the "Add new contact" form). Invalid rows are written to a
+ *    reject file with the line number and reason.
+ *  - Valid rows are written with ContactBatchOps.insertAll, BATCH_ROWS rows
+ *    per transaction. insertAll updates ContactSearchIndex and ContactCache
+ *    after each commit, so this process never waits for ContactDeltaSync to
+ *    see a block (its timestamps can be older than the poll watermark).
+ */
+public class ContactImporter {
+
+    // Rows per transaction (each one is sent as ContactBatchOps.BATCH_CHUNK sized batches)
+    static final int BATCH_ROWS = 5000;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final String[] COLUMNS = {
+            "first_name", "middle_name", "last_name", "nickname", "phone_primary",
+            "phone_secondary", "email", "linkedin_url", "birth_date" };
+
+    private long imported;
+    private long rejected;
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** Reject file next to the input: contacts.csv -> contacts.csv.rejects.csv */
+    public static Path rejectFileFor(Path input) {
+        return input.resolveSibling(input.getFileName() + ".rejects.csv");
+    }
+
+    /**
+     * Imports the whole file. Rows already committed stay in the table if a
+     * later batch fails; that batch is written to the reject file instead.
+     */
+    public void importFile(Connection con, Path input, Path rejectFile) throws IOException, SQLException {
+        char delimiter = guessDelimiter(input);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             BufferedWriter rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8)) {
+
+            CsvReader reader = new CsvReader(channel, delimiter);
+            List<String> fields = new ArrayList<>();
+
+            if (!reader.readRecord(fields)) {
+                throw new IOException("File is empty.");
+            }
+            if (fields.size() == 1 && fields.get(0).indexOf('\t') >= 0) {
+                // Header only splits on tabs -> it is a TSV file with another extension
+                reader.delimiter = '\t';
+                fields = splitOn(fields.get(0), '\t');
+            }
+            int[] columnOf = mapHeader(fields);
+
+            rejects.write("line,reason");
+            for (String c : COLUMNS) rejects.write("," + c);
+            rejects.newLine();
+
+            // Rows read but not validated yet, checked together when the block is full
+            String[][] block = new String[BATCH_ROWS][];
+            long[] blockLines = new long[BATCH_ROWS];
+            String[] reasons = new String[BATCH_ROWS];
+            int blockSize = 0;
+
+            List<ContactSnapshot> batch = new ArrayList<>(BATCH_ROWS);
+            List<Long> batchLines = new ArrayList<>(BATCH_ROWS);
+            long start = System.nanoTime();
+            long lastProgress = start;
+
+            while (reader.readRecord(fields)) {
+                long line = reader.recordLine;
+                if (fields.size() == 1 && fields.get(0).trim().isEmpty()) {
+                    continue;   // blank line
+                }
+
+                String[] values = new String[COLUMNS.length];
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    int idx = columnOf[c];
+                    values[c] = (idx >= 0 && idx < fields.size()) ? fields.get(idx).trim() : "";
+                }
+
+                block[blockSize] = values;
+                blockLines[blockSize] = line;
+                blockSize++;
+
+                if (blockSize == BATCH_ROWS) {
+                    validateBlock(block, blockLines, reasons, blockSize, batch, batchLines, rejects);
+                    blockSize = 0;
+                    flush(con, batch, batchLines, rejects);
+                    long now = System.nanoTime();
+                    if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                        printProgress(start, now);
+                        lastProgress = now;
+                    }
+                }
+            }
+
+            validateBlock(block, blockLines, reasons, blockSize, batch, batchLines, rejects);
+            flush(con, batch, batchLines, rejects);
+            printProgress(start, System.nanoTime());
+        }
+    }
+
+    // Valid rows of the block go to batch, the others to the reject file
+    private void validateBlock(String[][] block, long[] lines, String[] reasons, int count,
+                               List<ContactSnapshot> batch, List<Long> batchLines,
+                               BufferedWriter rejects) throws IOException {
+        ContactValidator.validateRows(block, count, reasons);
+        for (int i = 0; i < count; i++) {
+            if (reasons[i] != null) {
+                writeReject(rejects, lines[i], reasons[i], block[i]);
+            } else {
+                batch.add(toDraft(block[i]));
+                batchLines.add(lines[i]);
+            }
+            block[i] = null;
+        }
+    }
+
+    private void flush(Connection con, List<ContactSnapshot> batch, List<Long> lines,
+                       BufferedWriter rejects) throws IOException {
+        if (batch.isEmpty()) return;
+        try {
+            ContactBatchOps.insertAll(con, batch);
+            imported += batch.size();
+        } catch (SQLException e) {
+            // The whole transaction was rolled back; keep the rows so they can be fixed and re-imported
+            String reason = "database error: " + e.getMessage();
+            for (int i = 0; i < batch.size(); i++) {
+                ContactSnapshot d = batch.get(i);
+                writeReject(rejects, lines.get(i), reason, new String[] {
+                        d.first_name, d.middle_name, d.last_name, d.nickname, d.phone_primary,
+                        d.phone_secondary, d.email, d.linkedin_url, d.birth_date });
+            }
+        }
+        batch.clear();
+        lines.clear();
+    }
+
+    private void printProgress(long startNanos, long nowNanos) {
+        double seconds = Math.max(1e-9, (nowNanos - startNanos) / 1e9);
+        System.out.printf("  Imported %,d  |  rejected %,d  |  %.1f s  |  %,.0f rows/s%n",
+                imported, rejected, seconds, imported / seconds);
+    }
+
+    private static ContactSnapshot toDraft(String[] v) {
+        String linkedin = v[7].isEmpty() ? "" : ContactValidator.LINKEDIN_PREFIX + ContactValidator.linkedinUser(v[7]);
+        return new ContactSnapshot(0,
+                SeniorDevMenu.capitalizeNameTr(v[0]),
+                SeniorDevMenu.capitalizeNameTr(v[1]),
+                SeniorDevMenu.capitalizeNameTr(v[2]),
+                v[3], v[4], v[5], v[6], linkedin, v[8]);
+    }
+
+    // ====== FILE FORMAT HELPERS ======
+
+    private static char guessDelimiter(Path input) {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        return (name.endsWith(".tsv") || name.endsWith(".tab")) ? '\t' : ',';
+    }
+
+    // columnOf[i] = position of COLUMNS[i] in the file, or -1 if the file has no such column
+    private static int[] mapHeader(List<String> header) throws IOException {
+        int[] columnOf = new int[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columnOf[c] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(COLUMNS[c])) {
+                    columnOf[c] = i;
+                    break;
+                }
+            }
+        }
+        for (String required : new String[] { "first_name", "last_name", "phone_primary", "email", "birth_date" }) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (COLUMNS[c].equals(required) && columnOf[c] < 0) {
+                    throw new IOException("Header has no '" + required + "' column.");
+                }
+            }
+        }
+        return columnOf;
+    }
+
+    private static List<String> splitOn(String line, char delimiter) {
+        List<String> out = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == delimiter) {
+                out.add(line.substring(from, i));
+                from = i + 1;
+            }
+        }
+        return out;
+    }
+
+    private void writeReject(BufferedWriter out, long line, String reason, String[] values) throws IOException {
+        rejected++;
+        out.write(Long.toString(line));
+        out.write(',');
+        writeCsvField(out, reason);
+        for (String v : values) {
+            out.write(',');
+            writeCsvField(out, v == null ? "" : v);
+        }
+        out.newLine();
+    }
+
+    private static void writeCsvField(BufferedWriter out, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Streaming RFC 4180 style reader: quoted fields may contain the delimiter,
+     * "" and line breaks. Bytes are decoded as UTF-8 chunk by chunk.
+     */
+    static final class CsvReader {
+        private final FileChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(1 << 20);
+        private final CharBuffer chars = CharBuffer.allocate(1 << 20);
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)      // bad bytes -> U+FFFD -> row rejected
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final StringBuilder field = new StringBuilder(64);
+        private boolean eof;
+        private boolean done;
+        private boolean first = true;
+        private long line = 1;
+
+        char delimiter;
+        long recordLine;   // line number where the last record started
+
+        CsvReader(FileChannel channel, char delimiter) {
+            this.channel = channel;
+            this.delimiter = delimiter;
+            chars.flip();   // empty, read mode
+        }
+
+        /** Reads the next record into fields; false at end of file. */
+        boolean readRecord(List<String> fields) throws IOException {
+            fields.clear();
+            field.setLength(0);
+
+            int c = nextChar();
+            if (first) {
+                first = false;
+                if (c == '\uFEFF') c = nextChar();   // UTF-8 BOM
+            }
+            if (c < 0) return false;
+
+            recordLine = line;
+            boolean inQuotes = false;
+
+            while (true) {
+                if (c < 0) {
+                    fields.add(field.toString());
+                    return true;
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        int n = nextChar();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            c = n;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                } else if (c == delimiter) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = nextChar();
+            }
+        }
+
+        private int nextChar() throws IOException {
+            if (!chars.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return chars.get();
+        }
+
+        private boolean fill() throws IOException {
+            if (done) return false;
+            chars.clear();
+            while (true) {
+                if (!eof && channel.read(bytes) < 0) {
+                    eof = true;
+                }
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, eof);
+                bytes.compact();
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (eof && !result.isOverflow()) {
+                    decoder.flush(chars);
+                    done = true;
+                    break;
+                }
+                if (chars.position() > 0) {
+                    break;
+                }
+            }
+            chars.flip();
+            return chars.hasRemaining();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All SQL on the contacts table used by the menus, in one place.
+ *
+ *  - SQL texts are constants (or built once per column), so the same text is
+ *    sent every time. Connector/J keeps server-side prepared statements cached
+ *    per physical connection (cachePrepStmts in dB_Connection), and the pool
+ *    keeps those connections open, so a repeated call does not prepare again.
+ *  - Rows are read by column index into Contact records (COLUMNS order).
+ *    List reads take a Projection, so a view only fetches (and the driver
+ *    only decodes) the columns it prints.
+ *  - Methods take the caller's Connection and never commit: transactions stay
+ *    with the caller (menus, ContactBatchOps).
+ *  - findById and forEach are served from ContactCache when possible; callers
+ *    report their committed writes to it (refreshCache, ContactCache.remove).
+ *
+ * Bulk readers with their own streaming queries (ContactExporter,
+ * ContactStatistics.scan, ContactSearchIndex) keep their SQL next to the code
+ * that consumes the rows.
+ */
+public class ContactRepository {
+
+    /** Column list of every Contact read, in Contact component order. */
+    static final String COLUMNS = Projection.FULL.columns;
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT " + COLUMNS + " FROM contacts WHERE contact_id = ?";
+    private static final String FIND_BY_ID_FOR_UPDATE_SQL = FIND_BY_ID_SQL + " FOR UPDATE";
+    private static final String LIST_ALL_SQL = " FROM contacts ORDER BY contact_id";   // after "SELECT <projection>"
+    private static final String MAX_ID_SQL = "SELECT MAX(contact_id) FROM contacts";
+
+    private static final String INSERT_SQL = "INSERT INTO contacts "
+            + "(first_name, middle_name, last_name, nickname, phone_primary, phone_secondary, email, linkedin_url, birth_date) "
+            + "VALUES (?,?,?,?,?,?,?,?,?)";
+    private static final String RESTORE_SQL = "INSERT INTO contacts "
+            + "(contact_id, first_name, middle_name, last_name, nickname, phone_primary, phone_secondary, email, linkedin_url, birth_date) "
+            + "VALUES (?,?,?,?,?,?,?,?,?,?)";
+    private static final String UPDATE_ALL_SQL = "UPDATE contacts SET first_name=?, middle_name=?, last_name=?, nickname=?, "
+            + "phone_primary=?, phone_secondary=?, email=?, linkedin_url=?, birth_date=? WHERE contact_id=?";
+    private static final String DELETE_SQL = "DELETE FROM contacts WHERE contact_id = ?";
+
+    // Deleted ids for ContactDeltaSync; a restore takes its tombstone back
+    private static final String ADD_TOMBSTONE_SQL = "INSERT INTO contact_tombstones (contact_id) VALUES (?) "
+            + "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP";
+    private static final String CLEAR_TOMBSTONE_SQL = "DELETE FROM contact_tombstones WHERE contact_id = ?";
+
+    // Single-column SELECT ... FOR UPDATE / UPDATE per editable column, built once
+    private static final String[] EDITABLE_COLUMNS = {
+            "first_name", "middle_name", "last_name", "nickname", "phone_primary",
+            "phone_secondary", "email", "linkedin_url", "birth_date" };
+    private static final Map<String, String> READ_FIELD_SQL = new HashMap<>();
+    private static final Map<String, String> UPDATE_FIELD_SQL = new HashMap<>();
+
+    static {
+        for (String c : EDITABLE_COLUMNS) {
+            READ_FIELD_SQL.put(c, "SELECT " + c + " FROM contacts WHERE contact_id = ? FOR UPDATE");
+            UPDATE_FIELD_SQL.put(c, "UPDATE contacts SET " + c + " = ? WHERE contact_id = ?");
+        }
+    }
+
+    /**
+     * Column set of a list read. contact_id must always be first (seek
+     * position, row identity). COMPACT leaves out the wide columns that the
+     * compact table does not show (linkedin_url, created_at, updated_at).
+     */
+    public enum Projection {
+        FULL("contact_id", "first_name", "middle_name", "last_name", "nickname",
+                "phone_primary", "phone_secondary", "email", "linkedin_url", "birth_date",
+                "created_at", "updated_at"),
+        COMPACT("contact_id", "first_name", "middle_name", "last_name", "nickname",
+                "phone_primary", "phone_secondary", "email", "birth_date");
+
+        /** Select list, e.g. "contact_id, first_name, ..." */
+        final String columns;
+        /** Number of columns in the select list */
+        final int count;
+        /** Result set offset of every Contact component (-1 = not fetched) */
+        final int[] offsets;
+
+        Projection(String... names) {
+            columns = String.join(", ", names);
+            count = names.length;
+            offsets = new int[Contact.COLUMN_NAMES.length];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = -1;
+                for (int k = 0; k < names.length; k++) {
+                    if (names[k].equals(Contact.COLUMN_NAMES[i])) offsets[i] = k;
+                }
+            }
+        }
+    }
+
+    /** Callback for row-by-row reads; return false to stop early. */
+    public interface RowHandler {
+        boolean accept(Contact contact, Object sortKey) throws SQLException;
+    }
+
+    // ====== READS ======
+
+    /** null if the contact does not exist. */
+    public static Contact findById(Connection con, int id) throws SQLException {
+        ContactCache cache = ContactCache.shared();
+        if (cache.isEnabled()) {
+            ContactDeltaSync.shared().syncIfDue(con);
+        }
+        Contact c = cache.get(id);
+        if (c != null) return c;
+
+        c = findOne(con, FIND_BY_ID_SQL, id);
+        if (c != null && con.getAutoCommit()) {
+            cache.put(c);   // inside a transaction the row may not be committed yet
+        }
+        return c;
+    }
+
+    /** Same as findById, but the row stays locked until the caller's transaction ends. */
+    public static Contact findByIdForUpdate(Connection con, int id) throws SQLException {
+        return findOne(con, FIND_BY_ID_FOR_UPDATE_SQL, id);
+    }
+
+    /** Highest contact_id, 0 when the table is empty. */
+    public static int maxId(Connection con) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(MAX_ID_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Every contact in contact_id order, streamed (the table is never loaded at once).
+     *
+     * Served from ContactCache when it holds the whole table (full rows, also
+     * fine for COMPACT). Otherwise only the columns of projection are read;
+     * a FULL listing is kept in the cache for the next one, a COMPACT listing
+     * is not (its rows lack columns that findById callers need).
+     */
+    public static void forEach(Connection con, Projection projection, RowHandler handler) throws SQLException {
+        ContactCache cache = ContactCache.shared();
+        if (cache.isEnabled()) {
+            ContactDeltaSync.shared().syncIfDue(con);
+        }
+        List<Contact> cached = cache.listing();
+        if (cached != null) {
+            for (Contact c : cached) {
+                if (!handler.accept(c, null)) return;
+            }
+            return;
+        }
+
+        boolean fill = cache.isEnabled() && con.getAutoCommit() && projection == Projection.FULL;
+        if (fill) {
+            cache.beginListing();
+        }
+
+        String sql = "SELECT " + projection.columns + LIST_ALL_SQL;
+        int count = 0;
+        try (PreparedStatement ps = dB_Connection.prepareStreaming(con, sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Contact c = Contact.read(rs, 1, projection);
+                if (fill) cache.put(c);
+                count++;
+                if (!handler.accept(c, null)) return;   // stopped early: listing stays incomplete
+            }
+        }
+        if (fill) cache.endListing(count);
+    }
+
+    /**
+     * Keyset (seek) read of the rows matching filter, ordered by sortExpr (or
+     * contact_id when sortExpr is null) with contact_id as the tie-breaker.
+     *
+     * Only the columns of projection are fetched.
+     * When seek is true only rows after (afterKey, afterId) are returned.
+     * limit > 0 reads at most that many rows with a normal query; limit <= 0
+     * streams everything that is left.
+     */
+    public static void seek(Connection con, Projection projection, ContactFilter filter,
+                            String sortExpr, boolean descending,
+                            boolean seek, Object afterKey, int afterId, int limit,
+                            RowHandler handler) throws SQLException {
+        boolean bySortKey = sortExpr != null;
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(projection.columns);
+        if (bySortKey) {
+            sql.append(", ").append(sortExpr).append(" AS sort_key");
+        }
+        sql.append(" FROM contacts WHERE ").append(filter.conditions());
+        if (seek) {
+            if (bySortKey) {
+                String cmp = descending ? "<" : ">";
+                sql.append(" AND (").append(sortExpr).append(' ').append(cmp).append(" ? OR (")
+                   .append(sortExpr).append(" = ? AND contact_id > ?))");
+            } else {
+                sql.append(" AND contact_id > ?");
+            }
+        }
+        if (bySortKey) {
+            sql.append(" ORDER BY ").append(sortExpr).append(descending ? " DESC" : " ASC").append(", contact_id ASC");
+        } else {
+            sql.append(" ORDER BY contact_id ASC");
+        }
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+        }
+
+        try (PreparedStatement ps = limit > 0
+                ? con.prepareStatement(sql.toString())
+                : dB_Connection.prepareStreaming(con, sql.toString())) {
+            int idx = filter.bind(ps, 1);
+            if (seek) {
+                if (bySortKey) {
+                    ps.setObject(idx++, afterKey);
+                    ps.setObject(idx++, afterKey);
+                }
+                ps.setInt(idx++, afterId);
+            }
+            if (limit > 0) {
+                ps.setInt(idx, limit);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Object key = bySortKey ? rs.getObject(projection.count + 1) : null;
+                    if (!handler.accept(Contact.read(rs, 1, projection), key)) return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Current value of one editable column with the row locked (FOR UPDATE).
+     * null when the contact does not exist; SQL NULL comes back as "".
+     */
+    public static String readFieldForUpdate(Connection con, int id, String column) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sqlFor(READ_FIELD_SQL, column))) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                String v = rs.getString(1);
+                return v == null ? "" : v;
+            }
+        }
+    }
+
+    // ====== WRITES ======
+
+    /** Sets one column; an empty birth_date is stored as NULL. Returns the updated row count. */
+    public static int updateField(Connection con, int id, String column, String value) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sqlFor(UPDATE_FIELD_SQL, column))) {
+            if ((value == null || value.isEmpty()) && column.equals("birth_date")) {
+                ps.setNull(1, Types.DATE);
+            } else {
+                ps.setString(1, value == null ? "" : value);
+            }
+            ps.setInt(2, id);
+            return ps.executeUpdate();
+        }
+    }
+
+    /** Writes every editable column of snap back to its row (undo of a full update). */
+    public static int updateAll(Connection con, ContactSnapshot snap) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_ALL_SQL)) {
+            bindRow(ps, snap, 1);
+            ps.setInt(10, snap.contact_id);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Call after committing a write of this row: the cached copy (if the row
+     * is cached or the cache holds the full listing) is read again.
+     */
+    public static void refreshCache(Connection con, int id) throws SQLException {
+        ContactCache cache = ContactCache.shared();
+        if (!cache.contains(id) && !cache.isListingComplete()) return;
+
+        Contact c = findOne(con, FIND_BY_ID_SQL, id);
+        if (c == null) {
+            cache.remove(id);
+        } else {
+            cache.refresh(c);
+        }
+    }
+
+    /** Deletes the row and records its tombstone (same transaction). */
+    public static int deleteById(Connection con, int id) throws SQLException {
+        int rows;
+        try (PreparedStatement ps = con.prepareStatement(DELETE_SQL)) {
+            ps.setInt(1, id);
+            rows = ps.executeUpdate();
+        }
+        if (rows > 0) {
+            addTombstones(con, new int[] { id });
+        }
+        return rows;
+    }
+
+    /** Puts a deleted row back with its original contact_id. */
+    public static void restore(Connection con, ContactSnapshot snap) throws SQLException {
+        try (PreparedStatement ps = prepareRestore(con)) {
+            ps.setInt(1, snap.contact_id);
+            bindRow(ps, snap, 2);
+            ps.executeUpdate();
+        }
+        clearTombstones(con, new int[] { snap.contact_id });
+    }
+
+    /** Marks ids as deleted for ContactDeltaSync; call in the delete's transaction. */
+    static void addTombstones(Connection con, int[] ids) throws SQLException {
+        tombstoneBatch(con, ADD_TOMBSTONE_SQL, ids);
+    }
+
+    /** Restored ids are no longer deleted (their new updated_at announces them). */
+    static void clearTombstones(Connection con, int[] ids) throws SQLException {
+        tombstoneBatch(con, CLEAR_TOMBSTONE_SQL, ids);
+    }
+
+    // ====== BATCH BUILDING BLOCKS (ContactBatchOps) ======
+
+    /** INSERT of a new contact; bind with bindInsert(ps, d, 1), generated keys enabled. */
+    static PreparedStatement prepareInsert(Connection con) throws SQLException {
+        return con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    /** INSERT with contact_id; bind the id at 1 and bindRow(ps, d, 2). */
+    static PreparedStatement prepareRestore(Connection con) throws SQLException {
+        return con.prepareStatement(RESTORE_SQL);
+    }
+
+    /** SELECT ... FOR UPDATE of n ids (IN list of n placeholders). */
+    static PreparedStatement prepareLockByIds(Connection con, int n) throws SQLException {
+        return con.prepareStatement("SELECT " + COLUMNS + " FROM contacts WHERE contact_id IN ("
+                + placeholders(n) + ") FOR UPDATE");
+    }
+
+    /** DELETE of n ids (IN list of n placeholders). */
+    static PreparedStatement prepareDeleteByIds(Connection con, int n) throws SQLException {
+        return con.prepareStatement("DELETE FROM contacts WHERE contact_id IN (" + placeholders(n) + ")");
+    }
+
+    // Binds the 9 editable columns in INSERT_SQL order, starting at parameter index i
+    static void bindInsert(PreparedStatement ps, ContactSnapshot d, int i) throws SQLException {
+        ps.setString(i, d.first_name);
+        ps.setString(i + 1, d.middle_name);
+        ps.setString(i + 2, d.last_name);
+        ps.setString(i + 3, d.nickname);
+        ps.setString(i + 4, d.phone_primary);
+        ps.setString(i + 5, d.phone_secondary);
+        if (d.email == null || d.email.isEmpty()) {
+            ps.setNull(i + 6, Types.VARCHAR);
+        } else {
+            ps.setString(i + 6, d.email);
+        }
+        ps.setString(i + 7, d.linkedin_url);
+        if (d.birth_date == null || d.birth_date.isEmpty()) {
+            ps.setNull(i + 8, Types.DATE);
+        } else {
+            ps.setString(i + 8, d.birth_date);
+        }
+    }
+
+    // Same 9 columns exactly as they were read (restore / undo): no "" -> NULL mapping
+    static void bindRow(PreparedStatement ps, ContactSnapshot d, int i) throws SQLException {
+        ps.setString(i, d.first_name);
+        ps.setString(i + 1, d.middle_name);
+        ps.setString(i + 2, d.last_name);
+        ps.setString(i + 3, d.nickname);
+        ps.setString(i + 4, d.phone_primary);
+        ps.setString(i + 5, d.phone_secondary);
+        ps.setString(i + 6, d.email);
+        ps.setString(i + 7, d.linkedin_url);
+        ps.setString(i + 8, d.birth_date);
+    }
+
+    // ====== HELPERS ======
+
+    private static Contact findOne(Connection con, String sql, int id) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Contact.read(rs, 1) : null;
+            }
+        }
+    }
+
+    private static void tombstoneBatch(Connection con, String sql, int[] ids) throws SQLException {
+        if (ids.length == 0) return;
+        if (!ContactDeltaSync.ensureSchema(con)) return;   // no tombstone table, nobody polls
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            for (int id : ids) {
+                ps.setInt(1, id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Column names are never concatenated from input: unknown columns are rejected
+    private static String sqlFor(Map<String, String> byColumn, String column) {
+        String sql = byColumn.get(column);
+        if (sql == null) {
+            throw new IllegalArgumentException("Not an editable contact column: " + column);
+        }
+        return sql;
+    }
+
+    private static String placeholders(int n) {
+        StringBuilder sb = new StringBuilder(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,233 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Simple-search rules shared by the search screens (TesterMenu) and
+ * ContactsCli: which role may search, which operator fits which column,
+ * the value checks and the SQL condition for a ContactFilter. No input or
+ * output of its own, except the one-time "building search index" notice.
+ *
+ * The contacts table uses a case-insensitive collation (utf8mb4_general_ci)
+ * and has indexes on the searchable columns. Comparing the plain column keeps
+ * those indexes usable: "equals" and "starts with" become index range scans.
+ * Wrapping the column in LOWER(...) would force a full table scan.
+ *
+ * "contains" cannot use a B-tree index at all, so for terms of 3+ characters
+ * the trigram index (ContactSearchIndex) narrows the rows down to a list of
+ * candidate ids first. The LIKE stays in the query to drop false positives.
+ * The ids are bound as parameters, padded to a few fixed list sizes, so the
+ * SQL text repeats and the prepared statement cache (dB_Connection) keeps it.
+ * The index only ever narrows a search: with no candidates, or while the
+ * delta sync cannot keep it current, the query is the plain LIKE scan.
+ *
+ * "ends with" (phones only) is a prefix search on the reversed-digit column
+ * phone_*_rev, so it is an index range scan as well (ContactSearchColumns).
+ */
+public class ContactSearch {
+
+    public static final String ROLE_TESTER = "Tester";
+    public static final String ROLE_JUNIOR = "Junior Developer";
+    public static final String ROLE_SENIOR = "Senior Developer";
+    public static final String ROLE_MANAGER = "Manager";
+
+    // Search input maximum length
+    public static final int MAX_SEARCH_LEN = 100;
+
+    // Above this many trigram candidates the id list is not sent to MySQL
+    public static final int MAX_INDEX_CANDIDATES = 4096;
+
+    // Id list sizes: a candidate list is padded to the next one (repeating its
+    // last id), so every search uses one of these few statements
+    private static final int[] ID_LIST_SIZES = { 16, 64, 256, 1024, MAX_INDEX_CANDIDATES };
+    private static final String[] ID_LIST_SQL = new String[ID_LIST_SIZES.length];
+
+    static {
+        for (int b = 0; b < ID_LIST_SIZES.length; b++) {
+            StringBuilder sql = new StringBuilder(16 + 2 * ID_LIST_SIZES[b]).append("contact_id IN (?");
+            for (int i = 1; i < ID_LIST_SIZES[b]; i++) {
+                sql.append(",?");
+            }
+            ID_LIST_SQL[b] = sql.append(')').toString();
+        }
+    }
+
+    public static final String[] TEXT_COLUMNS = {
+            "first_name", "last_name", "nickname", "email", "phone_primary", "phone_secondary" };
+
+    /** Time spent in the trigram index by the conditions of one search. */
+    public static final class IndexTiming {
+        public long nanos;
+        public int candidates = -1;   // smallest candidate list, -1 if the index was not used
+
+        public void reset() {
+            nanos = 0;
+            candidates = -1;
+        }
+    }
+
+    // ====== ROLES / OPERATORS ======
+
+    public static boolean hasRole(UserPrincipal principal, String... roles) {
+        for (String r : roles) {
+            if (r.equalsIgnoreCase(principal.getRole())) return true;
+        }
+        return false;
+    }
+
+    public static boolean isTextColumn(String column) {
+        for (String c : TEXT_COLUMNS) {
+            if (c.equals(column)) return true;
+        }
+        return false;
+    }
+
+    public static boolean isPhoneColumn(String column) {
+        return "phone_primary".equals(column) || "phone_secondary".equals(column);
+    }
+
+    /** equals / starts / contains on every text column, ends on phones only. */
+    public static boolean isOperatorAllowed(String column, String op) {
+        return "equals".equals(op) || "starts".equals(op) || "contains".equals(op)
+                || ("ends".equals(op) && isPhoneColumn(column));
+    }
+
+    // ====== VALUE CHECKS ======
+
+    /** Digits of a phone search value ("0532 123 45 67" -> "05321234567"). */
+    public static String normalizePhone(String raw) {
+        return ContactValidator.digitsOnly(trimOrEmpty(raw));
+    }
+
+    /**
+     * Checks a simple-search value for the column / operator; null if it is
+     * fine, otherwise the message to show.
+     */
+    public static String searchValueError(String column, String op, String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return "Search text cannot be empty.";
+        }
+        if (keyword.length() > MAX_SEARCH_LEN) {
+            return "Search text is too long. Please use a shorter value.";
+        }
+        String text = keyword.trim();
+
+        if (column.equals("first_name") || column.equals("last_name")) {
+            if (!ContactValidator.isName(text)) {
+                return "Invalid name format. Only letters are allowed. No spaces, no digits, no symbols.";
+            }
+        } else if (column.equals("nickname")) {
+            if (!ContactValidator.isNickname(text)) {
+                return "Invalid nickname format. Letters, digits, underscore and dot are allowed. No spaces.";
+            }
+        } else if (column.equals("email")) {
+            char bad = ContactValidator.forbiddenEmailChar(text);
+            if (bad != 0) {
+                return "You cannot use the character '" + bad + "' in email.";
+            }
+            if (keyword.contains(" ")) {
+                return "Email cannot contain spaces.";
+            }
+            if ("equals".equals(op) && !ContactValidator.isAllowedEmail(text)) {
+                return "Invalid email format for equals. It must look like user@gmail.com "
+                        + "(gmail.com, outlook.com, hotmail.com or yahoo.com).";
+            }
+        } else if (isPhoneColumn(column)) {
+            String digits = normalizePhone(text);
+            if ("equals".equals(op)) {
+                if (digits.length() != ContactValidator.PHONE_LEN) {
+                    return "Invalid phone format for equals. It must contain exactly 10 digits, e.g. 5321112233.";
+                }
+            } else {
+                if (digits.isEmpty()) {
+                    return "Phone number must contain at least one digit.";
+                }
+                if (digits.length() > 10) {
+                    return "Phone number is too long. Maximum 10 digits after leading zero are used in this system.";
+                }
+            }
+        }
+        return null;
+    }
+
+    // ====== SQL CONDITIONS ======
+
+    /**
+     * Adds the condition for "column op value" to filter. Phone values must
+     * already be normalized. timing may be null.
+     */
+    public static void addTextCondition(Connection con, ContactFilter filter, String column, String op,
+                                        String value, IndexTiming timing) throws SQLException {
+        if ("equals".equals(op)) {
+            filter.and(column + " = ?", value);
+        } else if ("starts".equals(op)) {
+            filter.and(column + " LIKE ?", escapeLike(value) + "%");
+        } else if ("ends".equals(op) && isPhoneColumn(column)) {
+            String reversed = new StringBuilder(value).reverse().toString();
+            filter.and(ContactSearchColumns.reversedPhone(con, column) + " LIKE ?", escapeLike(reversed) + "%");
+        } else {
+            addCandidateIds(con, filter, column, value, timing);
+            filter.and(column + " LIKE ?", "%" + escapeLike(value) + "%");
+        }
+    }
+
+    // User text is matched literally: % and _ are not wildcards here
+    public static String escapeLike(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // ====== HELPERS ======
+
+    private static void addCandidateIds(Connection con, ContactFilter filter, String column, String value,
+                                        IndexTiming timing) throws SQLException {
+        ContactSearchIndex index = ContactSearchIndex.shared();
+        if (!ContactSearchIndex.isIndexed(column)) {
+            return;
+        }
+
+        ContactDeltaSync sync = ContactDeltaSync.shared();
+        sync.syncIfDue(con);   // changes of other sessions since the last search
+        if (!sync.isTracking()) {
+            return;   // other sessions' writes would be missed: plain LIKE scan
+        }
+
+        if (!index.isLoaded()) {
+            System.out.println(LoginScreen.YELLOW + "Building search index (first contains search only)..."
+                    + LoginScreen.RESET);
+        }
+
+        long start = System.nanoTime();
+        int[] ids = index.candidates(con, column, value);
+        if (ids == null) {
+            return;   // term too short for trigrams -> plain LIKE scan
+        }
+        if (timing != null) {
+            timing.nanos += System.nanoTime() - start;
+            timing.candidates = (timing.candidates < 0) ? ids.length : Math.min(timing.candidates, ids.length);
+        }
+
+        // No candidates: the index may just not know a row yet, so the LIKE decides.
+        // Too many: an id list would cost more than the scan.
+        if (ids.length == 0 || ids.length > MAX_INDEX_CANDIDATES) {
+            return;
+        }
+        int bucket = 0;
+        while (ID_LIST_SIZES[bucket] < ids.length) bucket++;
+        Object[] values = new Object[ID_LIST_SIZES[bucket]];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ids[Math.min(i, ids.length - 1)];
+        }
+        filter.and(ID_LIST_SQL[bucket], values);
+    }
+
+    private static String trimOrEmpty(String s) {
+        return (s == null) ? "" : s.trim();
+    }
+}
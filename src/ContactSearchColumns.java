@@ -0,0 +1,71 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generated search columns of the contacts table (see cmpe343_project2.sql):
+ *   phone_primary_rev, phone_secondary_rev   reversed phones, "ends with" as a prefix search
+ *   birth_md                                 month*100 + day, birthday and month filters
+ *
+ * Databases created before these columns get them from
+ * migrations/002_phone_suffix_columns.sql and migrations/003_birth_md_column.sql.
+ * Adding a STORED column copies the whole table, so that is never done from
+ * a search. Until then the searches use the same expressions per row: same
+ * results, without the index. Checked once per JVM.
+ */
+public class ContactSearchColumns {
+
+    private static final String BIRTH_MD_EXPR = "(MONTH(birth_date) * 100 + DAYOFMONTH(birth_date))";
+
+    private static final String EXISTING_SQL =
+            "SELECT column_name FROM information_schema.columns WHERE table_schema = DATABASE()"
+            + " AND table_name = 'contacts'"
+            + " AND column_name IN ('phone_primary_rev', 'phone_secondary_rev', 'birth_md')";
+
+    private static volatile boolean checked;
+    private static volatile Set<String> available = Set.of();
+
+    // ====== SQL EXPRESSIONS ======
+
+    /** Reversed phone for "ends with": phone_*_rev, or REVERSE(column) without it. */
+    public static String reversedPhone(Connection con, String phoneColumn) {
+        ensure(con);
+        String generated = phoneColumn + "_rev";
+        return available.contains(generated) ? generated : "REVERSE(" + phoneColumn + ")";
+    }
+
+    /** Birthday as month*100 + day: birth_md, or the same expression on birth_date. */
+    public static String birthMonthDay(Connection con) {
+        ensure(con);
+        return available.contains("birth_md") ? "birth_md" : BIRTH_MD_EXPR;
+    }
+
+    // ====== SCHEMA ======
+
+    // Read-only check on the caller's connection; any failure means "no columns"
+    private static void ensure(Connection con) {
+        if (checked) return;
+        synchronized (ContactSearchColumns.class) {
+            if (checked) return;
+            Set<String> found = new HashSet<>();
+            try (PreparedStatement ps = con.prepareStatement(EXISTING_SQL);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    found.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                }
+            } catch (SQLException e) {
+                found.clear();
+            }
+            if (found.size() < 3) {
+                System.out.println(LoginScreen.YELLOW + "Search columns missing (older database, see migrations/);"
+                        + " phone 'ends with' and birthday filters run without their indexes." + LoginScreen.RESET);
+            }
+            available = Set.copyOf(found);
+            checked = true;
+        }
+    }
+}
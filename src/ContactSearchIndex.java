@@ -0,0 +1,283 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process trigram (3-gram) inverted index for "contains" searches.
+ *
+ * LIKE '%term%' can never use a B-tree index, so instead every 3-character
+ * window of the searchable columns is mapped to a sorted list of contact ids.
+ * A search term is split into its trigrams and their posting lists are
+ * intersected; the result is a superset of the real matches which the caller
+ * still checks with LIKE, restricted to these ids.
+ *
+ * Text is folded the way utf8mb4_general_ci compares it (lower case, accents
+ * and Turkish letters mapped to their base letter), so the index never misses
+ * a row the database would match. Phone numbers are indexed as digit trigrams,
+ * which covers "contains" on the middle of a number; suffixes use the
+ * phone_*_rev columns instead.
+ *
+ * The index is built lazily on first use and kept up to date by the
+ * add / update / delete / undo / import paths of this process and by
+ * ContactDeltaSync. Polls can miss late commits of other clients, so a search
+ * after MAX_AGE_MS rebuilds it from the table (-Dcmpe343.index.maxAgeMs).
+ */
+public class ContactSearchIndex {
+
+    public static final int GRAM = 3;
+
+    // -Dcmpe343.index.maxAgeMs=... ile değiştirilebilir
+    private static final long MAX_AGE_MS = Long.getLong("cmpe343.index.maxAgeMs", 60_000L);
+
+    // Columns covered by the index; position = field number inside the posting key
+    private static final String[] COLUMNS = {
+            "first_name", "last_name", "nickname", "email", "phone_primary", "phone_secondary" };
+
+    private static final ContactSearchIndex SHARED = new ContactSearchIndex();
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String[]> docs = new HashMap<>();   // contact_id -> folded values
+    private boolean loaded;
+    private long loadedAt;
+
+    public static ContactSearchIndex shared() {
+        return SHARED;
+    }
+
+    public static boolean isIndexed(String column) {
+        return fieldOf(column) >= 0;
+    }
+
+    // ====== LOOKUP ======
+
+    /**
+     * Candidate contact ids (sorted) whose column may contain term, or null when
+     * the index cannot answer (column not indexed, or term shorter than 3 chars).
+     */
+    public synchronized int[] candidates(Connection con, String column, String term) throws SQLException {
+        int field = fieldOf(column);
+        String folded = fold(term);
+        if (field < 0 || folded.length() < GRAM) {
+            return null;
+        }
+        ensureLoaded(con);
+
+        // Distinct trigrams of the term, shortest posting list first
+        int n = folded.length() - GRAM + 1;
+        PostingList[] lists = new PostingList[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            PostingList pl = postings.get(key(field, folded, i));
+            if (pl == null) {
+                return new int[0];   // one trigram never occurs -> no match at all
+            }
+            boolean seen = false;
+            for (int j = 0; j < count; j++) {
+                if (lists[j] == pl) { seen = true; break; }
+            }
+            if (!seen) lists[count++] = pl;
+        }
+        Arrays.sort(lists, 0, count, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < count && size > 0; i++) {
+            size = intersect(result, size, lists[i]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // ====== MAINTENANCE (called by the write paths) ======
+
+    public synchronized void put(int contactId, String firstName, String lastName, String nickname,
+                                 String email, String phonePrimary, String phoneSecondary) {
+        if (!loaded) return;   // built from the table on first use anyway
+        remove(contactId);
+        String[] values = { fold(firstName), fold(lastName), fold(nickname), fold(email),
+                            fold(phonePrimary), fold(phoneSecondary) };
+        docs.put(contactId, values);
+        for (int f = 0; f < values.length; f++) {
+            addGrams(f, values[f], contactId);
+        }
+    }
+
+    public synchronized void updateField(int contactId, String column, String value) {
+        int field = fieldOf(column);
+        if (!loaded || field < 0) return;
+        String[] values = docs.get(contactId);
+        if (values == null) return;
+        removeGrams(field, values[field], contactId);
+        values[field] = fold(value);
+        addGrams(field, values[field], contactId);
+    }
+
+    public synchronized void remove(int contactId) {
+        if (!loaded) return;
+        String[] values = docs.remove(contactId);
+        if (values == null) return;
+        for (int f = 0; f < values.length; f++) {
+            removeGrams(f, values[f], contactId);
+        }
+    }
+
+    /** Drops everything; the next search rebuilds from the table. */
+    public synchronized void invalidate() {
+        postings.clear();
+        docs.clear();
+        loaded = false;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // Empty index that counts as loaded, so put() fills it without a database (unit tests)
+    synchronized void loadEmpty() {
+        invalidate();
+        loaded = true;
+        loadedAt = System.nanoTime();
+    }
+
+    // ====== BUILD ======
+
+    private void ensureLoaded(Connection con) throws SQLException {
+        long start = System.nanoTime();
+        if (loaded && start - loadedAt <= MAX_AGE_MS * 1_000_000L) return;
+        if (loaded) {
+            invalidate();   // too old: rows missed by the delta polls are picked up again
+        }
+
+        String sql = "SELECT contact_id, first_name, last_name, nickname, email, phone_primary, phone_secondary "
+                + "FROM contacts ORDER BY contact_id";
+        try (PreparedStatement stmt = dB_Connection.prepareStreaming(con, sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                String[] values = new String[COLUMNS.length];
+                for (int f = 0; f < values.length; f++) {
+                    values[f] = fold(rs.getString(f + 2));
+                }
+                docs.put(id, values);
+                for (int f = 0; f < values.length; f++) {
+                    addGrams(f, values[f], id);   // ids arrive in order -> appends only
+                }
+            }
+        } catch (SQLException e) {
+            postings.clear();
+            docs.clear();
+            throw e;
+        }
+        loaded = true;
+        loadedAt = start;
+    }
+
+    // ====== INTERNAL HELPERS ======
+
+    private void addGrams(int field, String value, int id) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            postings.computeIfAbsent(key(field, value, i), k -> new PostingList()).add(id);
+        }
+    }
+
+    private void removeGrams(int field, String value, int id) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            long k = key(field, value, i);
+            PostingList pl = postings.get(k);
+            if (pl != null && pl.remove(id) && pl.size == 0) {
+                postings.remove(k);
+            }
+        }
+    }
+
+    // Keeps only the ids of a[0..size) that are also in list; returns the new size
+    private static int intersect(int[] a, int size, PostingList list) {
+        int out = 0, i = 0, j = 0;
+        int[] b = list.ids;
+        while (i < size && j < list.size) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                a[out++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private static long key(int field, String s, int i) {
+        return ((long) field << 48) | ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static int fieldOf(String column) {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMNS[i].equals(column)) return i;
+        }
+        return -1;
+    }
+
+    // Lower case without accents, roughly the equivalence classes of utf8mb4_general_ci
+    static String fold(String s) {
+        if (s == null || s.isEmpty()) return "";
+
+        boolean ascii = true;
+        for (int i = 0; i < s.length() && ascii; i++) {
+            ascii = s.charAt(i) < 128;
+        }
+        if (!ascii) {
+            s = Normalizer.normalize(s, Normalizer.Form.NFD);
+        }
+
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!ascii && Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;   // combining accent left over from NFD (ş -> s + cedilla)
+            }
+            c = Character.toLowerCase(c);
+            if (c == 'ı') c = 'i';
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // Sorted, growable int array of contact ids
+    private static final class PostingList {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) return;
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int pos, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Copy of one contacts row (or a new contact before it has an id).
+ * Used for undo, batch insert/delete and statistics deltas.
+ */
+class ContactSnapshot {
+    int contact_id;
+    String first_name, middle_name, last_name, nickname;
+    String phone_primary, phone_secondary, email, linkedin_url, birth_date;
+
+    ContactSnapshot(int id) { this.contact_id = id; }
+
+    ContactSnapshot(int id, String f, String m, String l, String n,
+                    String p1, String p2, String e, String li, String bd) {
+        contact_id = id;
+        first_name = f; middle_name = m; last_name = l; nickname = n;
+        phone_primary = p1; phone_secondary = p2; email = e; linkedin_url = li;
+        birth_date = bd;
+    }
+
+    static ContactSnapshot of(Contact c) {
+        return new ContactSnapshot(c.contactId(), c.firstName(), c.middleName(), c.lastName(),
+                c.nickname(), c.phonePrimary(), c.phoneSecondary(), c.email(), c.linkedinUrl(),
+                c.birthDate());
+    }
+
+    /** null if the contact does not exist. */
+    static ContactSnapshot load(Connection con, int id) throws SQLException {
+        Contact c = ContactRepository.findById(con, id);
+        return c == null ? null : of(c);
+    }
+
+    /** Like load, with the row locked until the transaction ends. */
+    static ContactSnapshot loadForUpdate(Connection con, int id) throws SQLException {
+        Contact c = ContactRepository.findByIdForUpdate(con, id);
+        return c == null ? null : of(c);
+    }
+
+    /** Statistics delta of this row appearing (+1) or disappearing (-1). */
+    ContactStatistics statsDelta(int sign) {
+        ContactStatistics delta = new ContactStatistics();
+        addTo(delta, sign);
+        return delta;
+    }
+
+    /** Adds (+1) or removes (-1) this row in stats; for deltas of many rows at once. */
+    void addTo(ContactStatistics stats, int sign) {
+        LocalDate birth = ContactStatistics.parseDate(birth_date);
+        if (sign > 0) {
+            stats.add(first_name, last_name, email, linkedin_url, birth);
+        } else {
+            stats.remove(first_name, last_name, email, linkedin_url, birth);
+        }
+    }
+
+    void putInSearchIndex() {
+        ContactSearchIndex.shared().put(contact_id, first_name, last_name, nickname,
+                email, phone_primary, phone_secondary);
+    }
+}
@@ -0,0 +1,384 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All contact statistics of the manager screen, computed in ONE streaming pass
+ * over the contacts table (instead of one aggregate query per metric).
+ *
+ * Every metric is a counter that supports add() and remove(), so the same
+ * object can also be kept up to date with deltas when contacts change.
+ * New statistics = one more counter here plus one line in add()/remove().
+ *
+ * Text keys are grouped like the database groups them (utf8mb4_general_ci:
+ * case and accents ignored); the first spelling seen is the one displayed.
+ *
+ * A ContactStatistics built from only the changed rows is a delta; that is
+ * what ContactStatsStore writes into the contact_stats table.
+ */
+public class ContactStatistics {
+
+    // stat_kind values of the contact_stats table
+    public static final String KIND_TOTAL = "total";
+    public static final String KIND_FIRST_NAME = "first_name";
+    public static final String KIND_LAST_NAME = "last_name";
+    public static final String KIND_EMAIL_DOMAIN = "email_domain";
+    public static final String KIND_LINKEDIN = "linkedin";
+    public static final String KIND_BIRTH_DATE = "birth_date";
+
+    private final StringCounter firstNames = new StringCounter();
+    private final StringCounter lastNames = new StringCounter();
+    private final StringCounter emailProviders = new StringCounter();
+    private final IntCounter birthDays = new IntCounter();   // epoch day -> contacts born that day
+
+    private long total;
+    private long withLinkedin;
+
+    // ====== BUILD ======
+
+    /** One pass over the table; rows are streamed, not buffered. */
+    public static ContactStatistics scan(Connection con) throws SQLException {
+        ContactStatistics stats = new ContactStatistics();
+        String sql = "SELECT first_name, last_name, email, linkedin_url, birth_date FROM contacts";
+
+        try (PreparedStatement ps = dB_Connection.prepareStreaming(con, sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Date birth = rs.getDate(5);
+                stats.add(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        birth == null ? null : birth.toLocalDate());
+            }
+        }
+        return stats;
+    }
+
+    public void add(String firstName, String lastName, String email, String linkedinUrl, LocalDate birthDate) {
+        apply(firstName, lastName, email, linkedinUrl, birthDate, +1);
+    }
+
+    public void remove(String firstName, String lastName, String email, String linkedinUrl, LocalDate birthDate) {
+        apply(firstName, lastName, email, linkedinUrl, birthDate, -1);
+    }
+
+    private void apply(String firstName, String lastName, String email, String linkedinUrl,
+                       LocalDate birthDate, int delta) {
+        total += delta;
+        firstNames.add(firstName, delta);
+        lastNames.add(lastName, delta);
+        emailProviders.add(emailProvider(email), delta);
+        if (!isEmpty(linkedinUrl)) {
+            withLinkedin += delta;
+        }
+        if (birthDate != null) {
+            birthDays.add((int) birthDate.toEpochDay(), delta);
+        }
+    }
+
+    /** Delta of a single-column UPDATE; columns that no statistic uses are ignored. */
+    public void replaceField(String column, String oldValue, String newValue) {
+        switch (column) {
+            case "first_name":
+                firstNames.add(oldValue, -1);
+                firstNames.add(newValue, +1);
+                break;
+            case "last_name":
+                lastNames.add(oldValue, -1);
+                lastNames.add(newValue, +1);
+                break;
+            case "email":
+                emailProviders.add(emailProvider(oldValue), -1);
+                emailProviders.add(emailProvider(newValue), +1);
+                break;
+            case "linkedin_url":
+                withLinkedin += (isEmpty(newValue) ? 0 : 1) - (isEmpty(oldValue) ? 0 : 1);
+                break;
+            case "birth_date":
+                LocalDate oldDate = parseDate(oldValue);
+                LocalDate newDate = parseDate(newValue);
+                if (oldDate != null) birthDays.add((int) oldDate.toEpochDay(), -1);
+                if (newDate != null) birthDays.add((int) newDate.toEpochDay(), +1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** "yyyy-MM-dd" as stored in the snapshots; null/blank means no birth date. */
+    public static LocalDate parseDate(String text) {
+        return isEmpty(text) ? null : LocalDate.parse(text.trim());
+    }
+
+    private static boolean isEmpty(String s) {
+        return s == null || s.isEmpty();
+    }
+
+    // Part after the last '@', like SUBSTRING_INDEX(email, '@', -1). null (not counted) if
+    // there is no '@': the old provider query skipped those rows with WHERE email LIKE '%@%'
+    static String emailProvider(String email) {
+        if (email == null) return null;
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1);
+    }
+
+    // ====== RESULTS ======
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getWithLinkedin() {
+        return withLinkedin;
+    }
+
+    public long getWithoutLinkedin() {
+        return total - withLinkedin;
+    }
+
+    public List<Entry> topFirstNames(int n) {
+        return firstNames.top(n);
+    }
+
+    public List<Entry> topLastNames(int n) {
+        return lastNames.top(n);
+    }
+
+    public List<Entry> topEmailProviders(int n) {
+        return emailProviders.top(n);
+    }
+
+    public long getBirthDateCount() {
+        return birthDays.sum();
+    }
+
+    /** null when no contact has a birth date. */
+    public LocalDate getOldestBirthDate() {
+        int day = birthDays.minKey();
+        return day == Integer.MAX_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public LocalDate getYoungestBirthDate() {
+        int day = birthDays.maxKey();
+        return day == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /** Average of the full years of age (like AVG(TIMESTAMPDIFF(YEAR, birth_date, today))). */
+    public double getAverageAge(LocalDate today) {
+        long count = 0;
+        long years = 0;
+        for (int i = 0; i < birthDays.keys.length; i++) {
+            int cnt = birthDays.counts[i];
+            if (birthDays.used[i] && cnt > 0) {
+                count += cnt;
+                years += (long) cnt * ChronoUnit.YEARS.between(LocalDate.ofEpochDay(birthDays.keys[i]), today);
+            }
+        }
+        return count == 0 ? 0.0 : (double) years / count;
+    }
+
+    // ====== EXPORT ======
+
+    /** Receives one (kind, key, count) triple per non-zero counter. */
+    public interface CountVisitor {
+        void visit(String kind, String key, long count) throws SQLException;
+    }
+
+    /** Visits every non-zero counter (negative counts too, for deltas). */
+    public void forEachCount(CountVisitor visitor) throws SQLException {
+        if (total != 0) visitor.visit(KIND_TOTAL, "", total);
+        if (withLinkedin != 0) visitor.visit(KIND_LINKEDIN, "with", withLinkedin);
+        firstNames.forEach(KIND_FIRST_NAME, visitor);
+        lastNames.forEach(KIND_LAST_NAME, visitor);
+        emailProviders.forEach(KIND_EMAIL_DOMAIN, visitor);
+        for (int i = 0; i < birthDays.keys.length; i++) {
+            if (birthDays.used[i] && birthDays.counts[i] != 0) {
+                visitor.visit(KIND_BIRTH_DATE, LocalDate.ofEpochDay(birthDays.keys[i]).toString(), birthDays.counts[i]);
+            }
+        }
+    }
+
+    // ====== COUNTERS ======
+
+    /** One row of a top-N list. */
+    public static final class Entry {
+        public final String label;
+        public final int count;
+
+        Entry(String label, int count) {
+            this.label = label;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Open-addressing hash map String -> int (no boxing, no entry objects).
+     * Keys are folded with ContactSearchIndex.fold; null/blank values are ignored.
+     */
+    static final class StringCounter {
+        private String[] keys = new String[64];
+        private String[] labels = new String[64];
+        private int[] counts = new int[64];
+        private int size;
+
+        void add(String value, int delta) {
+            if (value == null) return;
+            value = value.trim();
+            if (value.isEmpty()) return;
+
+            String key = ContactSearchIndex.fold(value);
+            int slot = slotOf(key);
+            if (keys[slot] == null) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = slotOf(key);
+                }
+                keys[slot] = key;
+                labels[slot] = value;
+                size++;
+            }
+            counts[slot] += delta;
+        }
+
+        private int slotOf(String key) {
+            int mask = keys.length - 1;
+            int h = key.hashCode() * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mask;
+            while (keys[i] != null && !keys[i].equals(key)) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            String[] oldKeys = keys;
+            String[] oldLabels = labels;
+            int[] oldCounts = counts;
+            keys = new String[oldKeys.length * 2];
+            labels = new String[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    labels[slot] = oldLabels[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        void forEach(String kind, CountVisitor visitor) throws SQLException {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && counts[i] != 0) {
+                    visitor.visit(kind, labels[i], counts[i]);
+                }
+            }
+        }
+
+        /** n largest counts, ties by label; a single pass with a small sorted buffer. */
+        List<Entry> top(int n) {
+            int[] best = new int[n];   // slot indexes, best first
+            int found = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || counts[i] <= 0) continue;
+                int pos = found;
+                while (pos > 0 && better(i, best[pos - 1])) {
+                    pos--;
+                }
+                if (pos >= n) continue;
+                int end = Math.min(found, n - 1);
+                System.arraycopy(best, pos, best, pos + 1, end - pos);
+                best[pos] = i;
+                if (found < n) found++;
+            }
+
+            List<Entry> result = new ArrayList<>(found);
+            for (int k = 0; k < found; k++) {
+                result.add(new Entry(labels[best[k]], counts[best[k]]));
+            }
+            return result;
+        }
+
+        private boolean better(int a, int b) {
+            if (counts[a] != counts[b]) return counts[a] > counts[b];
+            return labels[a].compareTo(labels[b]) < 0;
+        }
+    }
+
+    /** Open-addressing hash map int -> int. */
+    static final class IntCounter {
+        private int[] keys = new int[64];
+        private int[] counts = new int[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        void add(int key, int delta) {
+            int slot = slotOf(key);
+            if (!used[slot]) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = slotOf(key);
+                }
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot] += delta;
+        }
+
+        private int slotOf(int key) {
+            int mask = keys.length - 1;
+            int h = key * 0x9E3779B9;
+            int i = (h ^ (h >>> 16)) & mask;
+            while (used[i] && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            boolean[] oldUsed = used;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slotOf(oldKeys[i]);
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        long sum() {
+            long s = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && counts[i] > 0) s += counts[i];
+            }
+            return s;
+        }
+
+        int minKey() {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && counts[i] > 0 && keys[i] < min) min = keys[i];
+            }
+            return min;
+        }
+
+        int maxKey() {
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i] && counts[i] > 0 && keys[i] > max) max = keys[i];
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized contact statistics in the contact_stats table.
+ *
+ * Write paths call applyDelta() on the same connection / transaction as their
+ * INSERT, UPDATE or DELETE, so the counters never drift from the contacts.
+ * The manager screen then reads a few small indexed ranges (top-k per kind)
+ * instead of scanning the contacts table.
+ *
+ * Birth dates are stored as per-day counts, not as a precomputed average age:
+ * ages change every day, per-day counts do not.
+ *
+ * A ('meta', 'built') row marks a complete table. When it is missing (new
+ * database, or the table was just created) the read side rebuilds everything
+ * with one ContactStatistics pass.
+ *
+ * The table comes from cmpe343_project2.sql (older databases:
+ * migrations/004_contact_stats.sql); nothing is created at runtime. Without it
+ * the write paths skip their delta, so a contact write never fails because of
+ * statistics, and summary() falls back to one ContactStatistics.scan.
+ */
+public class ContactStatsStore {
+
+    private static final String KIND_META = "meta";
+
+    private static final String TABLE_EXISTS_SQL =
+            "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE()"
+            + " AND table_name = 'contact_stats'";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO contact_stats (stat_kind, stat_key, cnt) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt)";
+
+    private static volatile boolean tableChecked;
+    private static volatile boolean tableAvailable;
+
+    // ====== WRITE SIDE ======
+
+    /**
+     * Adds the delta's counters to the table. Call it inside the transaction of
+     * the contact change so both commit (or roll back) together.
+     */
+    public static void applyDelta(Connection con, ContactStatistics delta) throws SQLException {
+        if (!isAvailable(con)) return;   // no contact_stats: summary() scans instead
+        try (PreparedStatement ps = con.prepareStatement(UPSERT_SQL)) {
+            delta.forEachCount((kind, key, count) -> {
+                ps.setString(1, kind);
+                ps.setString(2, key);
+                ps.setLong(3, count);
+                ps.addBatch();
+            });
+            ps.executeBatch();
+        }
+    }
+
+    // ====== READ SIDE ======
+
+    /**
+     * Everything the statistics screens show, with the k most frequent keys
+     * per kind: read from contact_stats (built first if needed), or from one
+     * pass over contacts when the table does not exist.
+     */
+    public static Summary summary(Connection con, int k) throws SQLException {
+        if (!isAvailable(con)) {
+            ContactStatistics s = ContactStatistics.scan(con);
+            BirthSummary birth = new BirthSummary(s.getBirthDateCount(), s.getOldestBirthDate(),
+                    s.getYoungestBirthDate(), s.getAverageAge(LocalDate.now()));
+            return new Summary(Summary.Source.SCAN, s.getTotal(), s.getWithLinkedin(),
+                    s.topFirstNames(k), s.topLastNames(k), s.topEmailProviders(k), birth);
+        }
+        boolean rebuilt = ensureBuilt(con);
+        return new Summary(rebuilt ? Summary.Source.REBUILT : Summary.Source.TABLE,
+                count(con, ContactStatistics.KIND_TOTAL, ""),
+                count(con, ContactStatistics.KIND_LINKEDIN, "with"),
+                top(con, ContactStatistics.KIND_FIRST_NAME, k),
+                top(con, ContactStatistics.KIND_LAST_NAME, k),
+                top(con, ContactStatistics.KIND_EMAIL_DOMAIN, k),
+                birthSummary(con));
+    }
+
+    /** Rebuilds the table from contacts if it was never built. Returns true if it rebuilt. */
+    public static boolean ensureBuilt(Connection con) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT 1 FROM contact_stats WHERE stat_kind = ? AND stat_key = 'built'")) {
+            ps.setString(1, KIND_META);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return false;
+            }
+        }
+        rebuild(con);
+        return true;
+    }
+
+    /** Recomputes every counter with one pass over contacts, in one transaction. */
+    public static void rebuild(Connection con) throws SQLException {
+        boolean oldAutoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("DELETE FROM contact_stats");
+            }
+            applyDelta(con, ContactStatistics.scan(con));
+            try (PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO contact_stats (stat_kind, stat_key, cnt) VALUES (?, 'built', 1)")) {
+                ps.setString(1, KIND_META);
+                ps.executeUpdate();
+            }
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(oldAutoCommit);
+        }
+    }
+
+    public static long count(Connection con, String kind, String key) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT cnt FROM contact_stats WHERE stat_kind = ? AND stat_key = ?")) {
+            ps.setString(1, kind);
+            ps.setString(2, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /** k most frequent keys of a kind (index range on (stat_kind, cnt)). */
+    public static List<ContactStatistics.Entry> top(Connection con, String kind, int k) throws SQLException {
+        List<ContactStatistics.Entry> result = new ArrayList<>(k);
+        try (PreparedStatement ps = con.prepareStatement(
+                "SELECT stat_key, cnt FROM contact_stats WHERE stat_kind = ? AND cnt > 0 "
+                + "ORDER BY cnt DESC, stat_key ASC LIMIT ?")) {
+            ps.setString(1, kind);
+            ps.setInt(2, k);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new ContactStatistics.Entry(rs.getString(1), rs.getInt(2)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Birth date summary; O(distinct birth dates), not O(contacts). */
+    public static BirthSummary birthSummary(Connection con) throws SQLException {
+        String sql = "SELECT SUM(cnt), MIN(stat_key), MAX(stat_key), "
+                + "SUM(cnt * TIMESTAMPDIFF(YEAR, stat_key, CURDATE())) "
+                + "FROM contact_stats WHERE stat_kind = ? AND cnt > 0";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setString(1, ContactStatistics.KIND_BIRTH_DATE);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getLong(1) == 0) {
+                    return new BirthSummary(0, null, null, 0.0);
+                }
+                long total = rs.getLong(1);
+                return new BirthSummary(total,
+                        LocalDate.parse(rs.getString(2)),
+                        LocalDate.parse(rs.getString(3)),
+                        rs.getDouble(4) / total);
+            }
+        }
+    }
+
+    public static final class BirthSummary {
+        public final long count;
+        public final LocalDate oldest;
+        public final LocalDate youngest;
+        public final double averageAge;
+
+        BirthSummary(long count, LocalDate oldest, LocalDate youngest, double averageAge) {
+            this.count = count;
+            this.oldest = oldest;
+            this.youngest = youngest;
+            this.averageAge = averageAge;
+        }
+    }
+
+    public static final class Summary {
+        public enum Source { TABLE, REBUILT, SCAN }
+
+        public final Source source;
+        public final long total;
+        public final long withLinkedin;
+        public final List<ContactStatistics.Entry> topFirstNames;
+        public final List<ContactStatistics.Entry> topLastNames;
+        public final List<ContactStatistics.Entry> topEmailProviders;
+        public final BirthSummary birth;
+
+        Summary(Source source, long total, long withLinkedin, List<ContactStatistics.Entry> topFirstNames,
+                List<ContactStatistics.Entry> topLastNames, List<ContactStatistics.Entry> topEmailProviders,
+                BirthSummary birth) {
+            this.source = source;
+            this.total = total;
+            this.withLinkedin = withLinkedin;
+            this.topFirstNames = topFirstNames;
+            this.topLastNames = topLastNames;
+            this.topEmailProviders = topEmailProviders;
+            this.birth = birth;
+        }
+    }
+
+    // ====== HELPERS ======
+
+    /**
+     * true when contact_stats exists. Checked once per JVM with a plain
+     * information_schema read on the caller's connection, so it is safe
+     * inside the caller's transaction.
+     */
+    public static boolean isAvailable(Connection con) throws SQLException {
+        if (tableChecked) return tableAvailable;
+        synchronized (ContactStatsStore.class) {
+            if (tableChecked) return tableAvailable;
+            boolean available;
+            try (PreparedStatement ps = con.prepareStatement(TABLE_EXISTS_SQL);
+                 ResultSet rs = ps.executeQuery()) {
+                available = rs.next();
+            }
+            if (!available) {
+                System.out.println(LoginScreen.YELLOW + "contact_stats table not found (older database, see "
+                        + "migrations/004_contact_stats.sql); statistics are computed with a full scan."
+                        + LoginScreen.RESET);
+            }
+            tableAvailable = available;
+            tableChecked = true;
+            return available;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import java.io.PrintStream;
+
+/**
+ * Builds the contact table (same layout as the old CONTACT_ROW_FORMAT printf)
+ * in one reused StringBuilder and writes it out in one print per page.
+ *
+ * printf per row meant parsing the format string, boxing nine arguments and,
+ * with the autoflush UTF-8 System.out of AppMain, one flush per row. Here a
+ * row (a Contact from ContactRepository) is only appends and padding; the
+ * terminal sees one write per flush().
+ *
+ * Compact mode drops the LinkedIn / Created At / Updated At columns; rows for
+ * it can be read with projection() (ContactRepository.Projection.COMPACT), so
+ * those wide columns are not fetched at all.
+ *
+ * Not thread-safe; every menu has its own instance.
+ */
+public class ContactTableRenderer {
+
+    // Column widths of ID, Full Name, Nickname, Phones, Email, LinkedIn, Birth Date, Created At, Updated At
+    static final int[] WIDTHS = { 4, 25, 15, 22, 28, 28, 12, 19, 19 };
+
+    private static final String[] TITLES = {
+            "ID", "Full Name", "Nickname", "Phones", "Email",
+            "LinkedIn", "Birth Date", "Created At", "Updated At" };
+
+    // flushIfFull() writes once the buffer holds this many chars (long streamed listings)
+    private static final int FLUSH_CHARS = 32 * 1024;
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    // Columns left out in compact mode
+    private static final int LINKEDIN = 5;
+    private static final int CREATED_AT = 7;
+    private static final int UPDATED_AT = 8;
+
+    private final StringBuilder buf = new StringBuilder(FLUSH_CHARS + 1024);
+
+    private boolean compact;
+
+    // ====== COLUMN SET ======
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /** Columns to read for the rows of this table. */
+    public ContactRepository.Projection projection() {
+        return compact ? ContactRepository.Projection.COMPACT : ContactRepository.Projection.FULL;
+    }
+
+    // ====== BUILDING ======
+
+    /** Column titles and the dashed line under them. */
+    public ContactTableRenderer header() {
+        for (int i = 0; i < TITLES.length; i++) {
+            if (!shown(i)) continue;
+            int start = buf.length();
+            buf.append(TITLES[i]);
+            endCell(start, i);
+        }
+        for (int i = 0; i < WIDTHS.length; i++) {
+            if (!shown(i)) continue;
+            int start = buf.length();
+            for (int k = 0; k < WIDTHS[i]; k++) buf.append('-');
+            endCell(start, i);
+        }
+        return this;
+    }
+
+    /** One contact row. */
+    public ContactTableRenderer row(Contact c) {
+        int start = buf.length();
+        buf.append(c.contactId());
+        endCell(start, 0);
+
+        // Full name: "first middle last" or "first last"
+        start = buf.length();
+        buf.append(trimOrEmpty(c.firstName()));
+        String middle = trimOrEmpty(c.middleName());
+        if (!middle.isEmpty()) buf.append(' ').append(middle);
+        buf.append(' ').append(trimOrEmpty(c.lastName()));
+        endCell(start, 1);
+
+        cell(c.nickname(), 2);
+
+        // Phones: "primary / secondary"
+        start = buf.length();
+        String p1 = trimOrEmpty(c.phonePrimary());
+        String p2 = trimOrEmpty(c.phoneSecondary());
+        buf.append(p1);
+        if (!p2.isEmpty()) {
+            if (!p1.isEmpty()) buf.append(" / ");
+            buf.append(p2);
+        }
+        endCell(start, 3);
+
+        cell(c.email(), 4);
+        if (!compact) cell(c.linkedinUrl(), LINKEDIN);
+        cell(c.birthDate(), 6);
+        if (!compact) {
+            cell(c.createdAt(), CREATED_AT);
+            cell(c.updatedAt(), UPDATED_AT);
+        }
+        return this;
+    }
+
+    // ====== OUTPUT ======
+
+    /** Writes everything built so far with a single print and empties the buffer. */
+    public void flush(PrintStream out) {
+        if (buf.length() == 0) return;
+        out.print(buf);
+        buf.setLength(0);
+    }
+
+    /** flush() only when the buffer is big; for listings that stream many rows. */
+    public void flushIfFull(PrintStream out) {
+        if (buf.length() >= FLUSH_CHARS) {
+            flush(out);
+        }
+    }
+
+    public int bufferedChars() {
+        return buf.length();
+    }
+
+    // ====== HELPERS ======
+
+    private void cell(String value, int column) {
+        int start = buf.length();
+        buf.append(trimOrEmpty(value));
+        endCell(start, column);
+    }
+
+    // Pads like "%-Ns" (longer values are not cut), then the separator or line end
+    private void endCell(int start, int column) {
+        for (int pad = WIDTHS[column] - (buf.length() - start); pad > 0; pad--) {
+            buf.append(' ');
+        }
+        if (column == lastColumn()) {
+            buf.append(NEWLINE);
+        } else {
+            buf.append(' ');
+        }
+    }
+
+    private boolean shown(int column) {
+        return !compact || (column != LINKEDIN && column != CREATED_AT && column != UPDATED_AT);
+    }
+
+    private int lastColumn() {
+        return compact ? 6 : WIDTHS.length - 1;
+    }
+
+    private static String trimOrEmpty(String s) {
+        return s == null ? "" : s.trim();
+    }
+}
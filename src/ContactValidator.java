@@ -0,0 +1,369 @@
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * Field rules of the contact forms, search screens, ContactImporter and
+ * PasswordUtils, written as character scanners: no regex is compiled and
+ * nothing is allocated per call (String.matches / replaceAll used to compile
+ * a Pattern every time).
+ *
+ * The single-value checks expect trimmed input; TesterMenu's isValidXxx
+ * wrappers trim first. For many values at once:
+ *  - validateRows: every rule of the "Add new contact" form over a block of
+ *    import rows, with today's date read once per block
+ *  - invalid: one Rule over a column of values, as a BitSet of rejected indexes
+ *
+ * ValidatorBenchmark / ContactValidatorBenchmark measure both against the
+ * former regex versions.
+ */
+public class ContactValidator {
+
+    // Column sizes of the contacts table
+    static final int MAX_NAME_LEN = 50;
+    static final int MAX_EMAIL_LEN = 100;
+    static final int MAX_LINKEDIN_LEN = 255;
+    static final int PHONE_LEN = 10;
+
+    static final String LINKEDIN_PREFIX = "linkedin.com/in/";
+
+    // Same set as the old findForbiddenEmailChar string
+    private static final String FORBIDDEN_EMAIL_CHARS = "!?%^&*()=+{}[]|\"'<>,";
+
+    private static final String[] EMAIL_DOMAINS = { "gmail.com", "outlook.com", "hotmail.com", "yahoo.com" };
+
+    /** Column rules for invalid(). */
+    public enum Rule {
+        NAME, NICKNAME, DIGITS, PHONE, EMAIL, DATE;
+
+        public boolean test(String value) {
+            switch (this) {
+                case NAME:     return isName(value);
+                case NICKNAME: return isNickname(value);
+                case DIGITS:   return isDigits(value);
+                case PHONE:    return isTenDigits(value);
+                case EMAIL:    return isAllowedEmail(value);
+                default:       return isPastOrTodayDate(value, todayKey());
+            }
+        }
+    }
+
+    // ====== CHARACTER CLASSES ======
+
+    // [A-Za-zÇĞİÖŞÜçğıöşü]
+    static boolean isTurkishLetter(char c) {
+        if (c < 128) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+        switch (c) {
+            case 'Ç': case 'Ğ': case 'İ': case 'Ö': case 'Ş': case 'Ü':
+            case 'ç': case 'ğ': case 'ı': case 'ö': case 'ş': case 'ü':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // \s of java.util.regex (no UNICODE_CHARACTER_CLASS)
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    // ====== SINGLE VALUES ======
+
+    /** Name / surname: only Turkish letters, no space, digit or symbol. */
+    public static boolean isName(String s) {
+        int n = s.length();
+        if (n == 0) return false;
+        for (int i = 0; i < n; i++) {
+            if (!isTurkishLetter(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Nickname / username: Turkish letters, digits, underscore and dot. */
+    public static boolean isNickname(String s) {
+        int n = s.length();
+        if (n == 0) return false;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (!isTurkishLetter(c) && !isAsciiDigit(c) && c != '_' && c != '.') return false;
+        }
+        return true;
+    }
+
+    /** One or more ASCII digits (what "\\d+" matched). */
+    public static boolean isDigits(String s) {
+        int n = s.length();
+        if (n == 0) return false;
+        for (int i = 0; i < n; i++) {
+            if (!isAsciiDigit(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Exactly PHONE_LEN digits, nothing else (the add form and the importer). */
+    public static boolean isTenDigits(String s) {
+        return s.length() == PHONE_LEN && isDigits(s);
+    }
+
+    /** Digits of a phone number ("0532 123-45-67" -> "05321234567"); s itself when it is digits only. */
+    public static String digitsOnly(String s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n && isAsciiDigit(s.charAt(i))) i++;
+        if (i == n) return s;
+
+        StringBuilder sb = new StringBuilder(n);
+        sb.append(s, 0, i);
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (isAsciiDigit(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /** Number of digits in s, i.e. digitsOnly(s).length() without building it. */
+    public static int countDigits(String s) {
+        int count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (isAsciiDigit(s.charAt(i))) count++;
+        }
+        return count;
+    }
+
+    /** First character of FORBIDDEN_EMAIL_CHARS in s, or 0. */
+    public static char forbiddenEmailChar(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 128 && FORBIDDEN_EMAIL_CHARS.indexOf(c) >= 0) return c;
+        }
+        return 0;
+    }
+
+    /**
+     * Same as "^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$": one '@' that is not the first
+     * character, no whitespace, and a dot in the domain with text on both sides.
+     */
+    public static boolean isEmailShape(String s) {
+        int n = s.length();
+        int at = -1;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (isRegexSpace(c)) return false;
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+            }
+        }
+        if (at <= 0) return false;
+        // dot at domain index 1 .. length-2
+        for (int i = at + 2; i < n - 1; i++) {
+            if (s.charAt(i) == '.') return true;
+        }
+        return false;
+    }
+
+    /** Email shape plus one of the supported domains (case-insensitive). */
+    public static boolean isAllowedEmail(String s) {
+        if (!isEmailShape(s)) return false;
+        int domainStart = s.lastIndexOf('@') + 1;
+        for (String domain : EMAIL_DOMAINS) {
+            if (s.length() - domainStart == domain.length() && asciiEqualsIgnoreCase(s, domainStart, domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** "\\d{4}-\\d{2}-\\d{2}" */
+    public static boolean isIsoDateShape(String s) {
+        if (s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return false;
+        for (int i = 0; i < 10; i++) {
+            if (i != 4 && i != 7 && !isAsciiDigit(s.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * A real calendar date in YYYY-MM-DD form (2023-02-30 is rejected) that is
+     * not after today. todayKey comes from todayKey(), so a bulk check reads
+     * the clock once.
+     */
+    public static boolean isPastOrTodayDate(String s, int todayKey) {
+        if (!isIsoDateShape(s)) return false;
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) return false;
+        return year * 10_000 + month * 100 + day <= todayKey;
+    }
+
+    /** Today as yyyymmdd, for isPastOrTodayDate. */
+    public static int todayKey() {
+        LocalDate today = LocalDate.now();
+        return today.getYear() * 10_000 + today.getMonthValue() * 100 + today.getDayOfMonth();
+    }
+
+    /** "ahmet", "linkedin.com/in/ahmet" or "https://www.linkedin.com/in/ahmet" -> "ahmet"; null if invalid */
+    public static String linkedinUser(String value) {
+        String v = value;
+        String lower = v.toLowerCase(Locale.ROOT);
+        for (String prefix : new String[] { "https://", "http://" }) {
+            if (lower.startsWith(prefix)) {
+                v = v.substring(prefix.length());
+                lower = lower.substring(prefix.length());
+            }
+        }
+        if (lower.startsWith("www.")) {
+            v = v.substring(4);
+            lower = lower.substring(4);
+        }
+        if (lower.startsWith(LINKEDIN_PREFIX)) {
+            v = v.substring(LINKEDIN_PREFIX.length());
+        }
+        if (v.endsWith("/")) {
+            v = v.substring(0, v.length() - 1);
+        }
+        if (v.isEmpty() || v.contains(" ") || v.contains("/")) {
+            return null;
+        }
+        return v;
+    }
+
+    // ====== PASSWORDS ======
+
+    public static final int PASSWORD_LETTER = 1;   // [A-Za-z]
+    public static final int PASSWORD_DIGIT = 2;    // [0-9]
+    public static final int PASSWORD_SYMBOL = 4;   // anything else
+
+    /** PASSWORD_LETTER | PASSWORD_DIGIT | PASSWORD_SYMBOL bits of the characters in s. */
+    public static int passwordCharKinds(String s) {
+        int kinds = 0;
+        for (int i = 0; i < s.length() && kinds != 7; i++) {
+            char c = s.charAt(i);
+            if (isAsciiLetter(c)) kinds |= PASSWORD_LETTER;
+            else if (isAsciiDigit(c)) kinds |= PASSWORD_DIGIT;
+            else kinds |= PASSWORD_SYMBOL;
+        }
+        return kinds;
+    }
+
+    // ====== BULK ======
+
+    /**
+     * Checks a block of contact rows with the "Add new contact" rules.
+     * rows[i] holds trimmed values in ContactImporter's column order
+     * (first, middle, last, nickname, phone1, phone2, email, linkedin, birth).
+     * reasons[i] is set to null for a valid row, otherwise to the first broken
+     * rule. Returns the number of invalid rows.
+     */
+    public static int validateRows(String[][] rows, int count, String[] reasons) {
+        int today = todayKey();
+        int invalid = 0;
+        for (int i = 0; i < count; i++) {
+            String reason = rowError(rows[i], today);
+            reasons[i] = reason;
+            if (reason != null) invalid++;
+        }
+        return invalid;
+    }
+
+    /** Indexes of values[0 .. count) that fail the rule. */
+    public static BitSet invalid(Rule rule, String[] values, int count) {
+        BitSet out = new BitSet(count);
+        if (rule == Rule.DATE) {
+            int today = todayKey();
+            for (int i = 0; i < count; i++) {
+                if (!isPastOrTodayDate(values[i], today)) out.set(i);
+            }
+            return out;
+        }
+        for (int i = 0; i < count; i++) {
+            if (!rule.test(values[i])) out.set(i);
+        }
+        return out;
+    }
+
+    /** null if the row is valid, otherwise the reason. */
+    static String rowError(String[] v, int todayKey) {
+        String first = v[0], middle = v[1], last = v[2], nick = v[3];
+        String phone1 = v[4], phone2 = v[5], email = v[6], linkedin = v[7], birth = v[8];
+
+        if (first.isEmpty()) return "first_name is required";
+        if (first.length() > MAX_NAME_LEN || !isName(first)) return "invalid first_name";
+        if (!middle.isEmpty()) {
+            if (middle.length() > MAX_NAME_LEN || !isName(middle)) return "invalid middle_name";
+            if (middle.equalsIgnoreCase(first)) return "middle_name is the same as first_name";
+        }
+        if (last.isEmpty()) return "last_name is required";
+        if (last.length() > MAX_NAME_LEN || !isName(last)) return "invalid last_name";
+        if (!nick.isEmpty() && (nick.length() > MAX_NAME_LEN || !isNickname(nick))) {
+            return "invalid nickname";
+        }
+
+        // The form accepts digits only (normalizePhone would also drop spaces and dashes)
+        if (phone1.isEmpty()) return "phone_primary is required";
+        if (!isTenDigits(phone1)) return "phone_primary must be exactly 10 digits";
+        if (!phone2.isEmpty()) {
+            if (!isTenDigits(phone2)) return "phone_secondary must be exactly 10 digits";
+            if (phone2.equals(phone1)) return "phone_secondary is the same as phone_primary";
+        }
+
+        if (email.isEmpty()) return "email is required";
+        if (email.length() > MAX_EMAIL_LEN || forbiddenEmailChar(email) != 0 || !isAllowedEmail(email)) {
+            return "invalid email or unsupported domain";
+        }
+
+        if (!linkedin.isEmpty()) {
+            String user = linkedinUser(linkedin);
+            if (user == null) return "invalid linkedin_url";
+            if (LINKEDIN_PREFIX.length() + user.length() > MAX_LINKEDIN_LEN) return "linkedin_url is too long";
+        }
+
+        if (birth.isEmpty()) return "birth_date is required";
+        if (!isPastOrTodayDate(birth, todayKey)) return "invalid birth_date (YYYY-MM-DD, not in the future)";
+
+        return null;
+    }
+
+    // ====== HELPERS ======
+
+    // s[from .. from+expected.length()) equals expected, ASCII letters compared case-insensitively
+    private static boolean asciiEqualsIgnoreCase(String s, int from, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            char a = s.charAt(from + i);
+            if (a >= 'A' && a <= 'Z') a = (char) (a + ('a' - 'A'));
+            if (a != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4: case 6: case 9: case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
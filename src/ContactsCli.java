@@ -0,0 +1,391 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Non-interactive command line over the contact operations, for scripts.
+ *
+ *   java ContactsCli [--user NAME] [--password PASS] COMMAND [options]
+ *
+ *   search --field COLUMN --op equals|starts|ends|contains --value TEXT
+ *          COLUMN: first_name, last_name, nickname, email, phone_primary, phone_secondary
+ *          (Tester, Junior Developer, Senior Developer)
+ *   delete ID[,ID,FROM-TO...]                         (Senior Developer, no undo)
+ *   stats                                             (Manager)
+ *   batch  reads one command per line from stdin and runs them all with
+ *          one login and one database connection ('#' lines are comments)
+ *
+ * Credentials come from --user / --password or CONTACTS_USER / CONTACTS_PASSWORD.
+ * CONTACTS_PASSWORD is the supported way for the password: a --password
+ * argument is visible to every local user in the process list (ps), so it
+ * only prints a warning and is kept for quick manual tests.
+ * The same rules as the menus apply: role of the user, search value checks,
+ * transactional delete with statistics and search index updates.
+ *
+ * Output is JSON Lines on stdout; anything else (warnings, index build
+ * messages) goes to stderr. search prints one line per contact (same fields as
+ * the JSON Lines export); every command ends with one status line that has
+ * "command" and "ok" (and "error" when ok is false).
+ * Exit code: 0 all commands ok, 1 a command failed, 2 usage or login error.
+ */
+public class ContactsCli {
+
+    private final UserPrincipal principal;
+    private final Connection con;
+    private final PrintStream out;
+
+    ContactsCli(UserPrincipal principal, Connection con, PrintStream out) {
+        this.principal = principal;
+        this.con = con;
+        this.out = out;
+    }
+
+    // ====== ENTRY POINT ======
+
+    public static void main(String[] args) {
+        PrintStream out = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+                false, StandardCharsets.UTF_8);
+        // Messages printed by shared code (index build, login errors) go to stderr,
+        // stdout only carries the JSON lines
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8));
+
+        int exit;
+        try {
+            exit = run(args, out);
+        } finally {
+            out.flush();
+            dB_Connection.shutdownPool();
+        }
+        System.exit(exit);
+    }
+
+    static int run(String[] args, PrintStream out) {
+        String user = System.getenv("CONTACTS_USER");
+        String password = System.getenv("CONTACTS_PASSWORD");
+
+        int i = 0;
+        while (i < args.length && args[i].startsWith("--")) {
+            if (args[i].equals("--user") && i + 1 < args.length) {
+                user = args[i + 1];
+                i += 2;
+            } else if (args[i].equals("--password") && i + 1 < args.length) {
+                System.err.println("Warning: --password is visible in the process list; "
+                        + "set CONTACTS_PASSWORD instead.");
+                password = args[i + 1];
+                i += 2;
+            } else {
+                break;
+            }
+        }
+
+        if (i >= args.length) {
+            printUsage();
+            return 2;
+        }
+        if (user == null || user.isBlank() || password == null) {
+            out.println(status("login", false).error("Missing credentials (--user/--password or CONTACTS_USER/CONTACTS_PASSWORD).").end());
+            return 2;
+        }
+
+        Connection con = new dB_Connection().connect();
+        if (con == null) {
+            out.println(status("login", false).error("Database connection failed.").end());
+            return 2;
+        }
+
+        try {
+            UserPrincipal principal = LoginScreen.authenticate(user.trim(), password);
+            if (principal == null) {
+                out.println(status("login", false).error("Incorrect username or password.").end());
+                return 2;
+            }
+
+            ContactsCli cli = new ContactsCli(principal, con, out);
+            List<String> command = new ArrayList<>();
+            for (int k = i; k < args.length; k++) command.add(args[k]);
+
+            if (command.get(0).equals("batch")) {
+                return cli.runBatch();
+            }
+            return cli.execute(command) ? 0 : 1;
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java ContactsCli [--user NAME] [--password PASS] COMMAND [options]");
+        System.err.println("  search --field COLUMN --op equals|starts|ends|contains --value TEXT");
+        System.err.println("  delete ID[,ID,FROM-TO...]");
+        System.err.println("  stats");
+        System.err.println("  batch   (one command per line on stdin)");
+        System.err.println("Credentials: CONTACTS_USER/CONTACTS_PASSWORD (or --user; --password shows up in ps)");
+    }
+
+    // ====== BATCH ======
+
+    private int runBatch() {
+        boolean allOk = true;
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                List<String> command = tokenize(line);
+                if (command.get(0).equals("batch")) {
+                    out.println(status("batch", false).error("batch cannot be nested.").end());
+                    allOk = false;
+                } else if (!execute(command)) {
+                    allOk = false;
+                }
+                out.flush();   // a script reading our output sees every result right away
+            }
+        } catch (IOException e) {
+            out.println(status("batch", false).error("Could not read stdin: " + e.getMessage()).end());
+            return 1;
+        }
+        return allOk ? 0 : 1;
+    }
+
+    // Splits on spaces; "double quoted" parts may contain spaces
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken) {
+                    tokens.add(cur.toString());
+                    cur.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                cur.append(c);
+                inToken = true;
+            }
+        }
+        if (inToken) tokens.add(cur.toString());
+        return tokens;
+    }
+
+    // ====== COMMANDS ======
+
+    /** Runs one command and prints its output; false if it failed. */
+    boolean execute(List<String> command) {
+        String name = command.get(0);
+        try {
+            switch (name) {
+                case "search":
+                    requireRole(name, ContactSearch.ROLE_TESTER, ContactSearch.ROLE_JUNIOR,
+                            ContactSearch.ROLE_SENIOR);
+                    return search(command);
+                case "delete":
+                    requireRole(name, ContactSearch.ROLE_SENIOR);
+                    return delete(command);
+                case "stats":
+                    requireRole(name, ContactSearch.ROLE_MANAGER);
+                    return stats();
+                default:
+                    out.println(status(name, false).error("Unknown command.").end());
+                    return false;
+            }
+        } catch (IllegalArgumentException e) {
+            out.println(status(name, false).error(e.getMessage()).end());
+            return false;
+        } catch (SQLException | IOException e) {
+            out.println(status(name, false).error("Database error: " + e.getMessage()).end());
+            return false;
+        }
+    }
+
+    private void requireRole(String command, String... roles) {
+        if (ContactSearch.hasRole(principal, roles)) return;
+        throw new IllegalArgumentException("Role '" + principal.getRole() + "' cannot run " + command + ".");
+    }
+
+    private boolean search(List<String> command) throws SQLException, IOException {
+        String column = option(command, "--field");
+        String op = option(command, "--op");
+        String value = option(command, "--value");
+
+        if (column == null || op == null || value == null) {
+            throw new IllegalArgumentException("search needs --field, --op and --value.");
+        }
+        if (!ContactSearch.isTextColumn(column)) {
+            throw new IllegalArgumentException("Unknown field '" + column + "'.");
+        }
+        boolean isPhone = ContactSearch.isPhoneColumn(column);
+        if (!ContactSearch.isOperatorAllowed(column, op)) {
+            throw new IllegalArgumentException("Operator '" + op + "' is not allowed for " + column + ".");
+        }
+
+        value = value.trim();
+        String invalid = ContactSearch.searchValueError(column, op, value);
+        if (invalid != null) {
+            throw new IllegalArgumentException(invalid);
+        }
+
+        ContactFilter filter = new ContactFilter();
+        ContactSearch.addTextCondition(con, filter, column, op,
+                isPhone ? ContactSearch.normalizePhone(value) : value, null);
+
+        ContactExporter exporter = new ContactExporter(ContactExporter.Format.JSONL);
+        exporter.setProgress(false);
+        out.flush();
+        exporter.export(con, filter, Channels.newChannel(out));
+        out.flush();
+
+        out.println(status("search", true)
+                .field("count", exporter.getRows())
+                .field("millis", Math.round(exporter.getSeconds() * 1000))
+                .end());
+        return true;
+    }
+
+    private boolean delete(List<String> command) throws SQLException {
+        if (command.size() < 2) {
+            throw new IllegalArgumentException("delete needs a list of IDs, e.g. delete 10,12,20-25");
+        }
+        StringBuilder list = new StringBuilder();
+        for (int i = 1; i < command.size(); i++) list.append(command.get(i)).append(',');
+        int[] ids = parseIds(list.toString());
+
+        List<ContactSnapshot> deleted = ContactBatchOps.deleteAll(con, ids);
+
+        StringBuilder idsJson = new StringBuilder("[");
+        for (int i = 0; i < deleted.size(); i++) {
+            if (i > 0) idsJson.append(',');
+            idsJson.append(deleted.get(i).contact_id);
+        }
+        idsJson.append(']');
+
+        out.println(status("delete", true)
+                .field("requested", ids.length)
+                .field("deleted", deleted.size())
+                .field("not_found", ids.length - deleted.size())
+                .raw("deleted_ids", idsJson.toString())
+                .end());
+        return true;
+    }
+
+    // Same ID list as the senior menu, but strict: any bad part fails the command
+    static int[] parseIds(String text) {
+        ContactBatchOps.IdList parsed = ContactBatchOps.parseIdList(text);
+        if (!parsed.invalid.isEmpty()) {
+            throw new IllegalArgumentException("Invalid ID or range: " + parsed.invalid.get(0));
+        }
+        if (parsed.truncated) {
+            throw new IllegalArgumentException("At most " + ContactBatchOps.MAX_DELETE_IDS + " IDs per delete.");
+        }
+        if (parsed.ids.length == 0) {
+            throw new IllegalArgumentException("No IDs given.");
+        }
+        return parsed.ids;
+    }
+
+    private boolean stats() throws SQLException {
+        ContactStatsStore.Summary stats = ContactStatsStore.summary(con, 5);
+        ContactStatsStore.BirthSummary birth = stats.birth;
+
+        Json s = status("stats", true)
+                .field("total", stats.total)
+                .field("with_linkedin", stats.withLinkedin)
+                .field("without_linkedin", stats.total - stats.withLinkedin)
+                .raw("top_first_names", entries(stats.topFirstNames))
+                .raw("top_last_names", entries(stats.topLastNames))
+                .raw("top_email_providers", entries(stats.topEmailProviders))
+                .field("birth_dates", birth.count);
+        if (birth.count > 0) {
+            s.field("oldest_birth_date", birth.oldest.toString())
+             .field("youngest_birth_date", birth.youngest.toString())
+             .raw("average_age", String.format(Locale.ROOT, "%.1f", birth.averageAge));
+        }
+        out.println(s.end());
+        return true;
+    }
+
+    private static String entries(List<ContactStatistics.Entry> list) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"label\":");
+            ContactExporter.appendJsonString(sb, list.get(i).label);
+            sb.append(",\"count\":").append(list.get(i).count).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    // ====== HELPERS ======
+
+    // Value after --name, or null
+    private static String option(List<String> command, String name) {
+        for (int i = 1; i < command.size() - 1; i++) {
+            if (command.get(i).equals(name)) return command.get(i + 1);
+        }
+        return null;
+    }
+
+    private static Json status(String command, boolean ok) {
+        return new Json().field("command", command).raw("ok", String.valueOf(ok));
+    }
+
+    /** Tiny one-line JSON object builder for the status lines. */
+    static final class Json {
+        private final StringBuilder sb = new StringBuilder("{");
+
+        Json field(String name, String value) {
+            key(name);
+            if (value == null) {
+                sb.append("null");
+            } else {
+                ContactExporter.appendJsonString(sb, value);
+            }
+            return this;
+        }
+
+        Json field(String name, long value) {
+            key(name);
+            sb.append(value);
+            return this;
+        }
+
+        Json raw(String name, String json) {
+            key(name);
+            sb.append(json);
+            return this;
+        }
+
+        Json error(String message) {
+            return field("error", message);
+        }
+
+        String end() {
+            return sb.append('}').toString();
+        }
+
+        private void key(String name) {
+            if (sb.length() > 1) sb.append(',');
+            ContactExporter.appendJsonString(sb, name);
+            sb.append(':');
+        }
+    }
+}
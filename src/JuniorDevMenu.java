@@ -1,6 +1,4 @@
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Scanner;
 import java.util.Stack;
@@ -20,6 +18,11 @@ public class JuniorDevMenu extends TesterMenu {
         this.undoStack = new Stack<>();
     }
 
+    public JuniorDevMenu(UserPrincipal principal, Scanner scanner, String passwordStrength) {
+        super(principal, scanner, passwordStrength);
+        this.undoStack = new Stack<>();
+    }
+
     @Override
     public void showMenu() {
         while (true) {
@@ -225,7 +228,7 @@ public class JuniorDevMenu extends TesterMenu {
 
                     if (!hasError && columnName.contains("phone")) {
                         if (!newValue.isEmpty()) {
-                            if (!newValue.matches("\\d+")) {
+                            if (!ContactValidator.isDigits(newValue)) {
                                 System.out.println(RED + ">> Error: Phone must contain digits only." + RESET);
                                 hasError = true;
                             } else if (newValue.length() != PHONE_LEN) {
@@ -288,49 +291,31 @@ public class JuniorDevMenu extends TesterMenu {
                 boolean updateSuccess = false;
 
                 try {
-                    String selectSql = "SELECT " + columnName + " FROM contacts WHERE contact_id = ?";
-                    String oldValue = "";
-                    boolean idExists = false;
-
-                    try (PreparedStatement selectStmt = con.prepareStatement(selectSql)) {
-                        selectStmt.setInt(1, contactId);
-                        ResultSet rs = selectStmt.executeQuery();
-                        if (rs.next()) {
-                            oldValue = rs.getString(columnName);
-                            if (oldValue == null) oldValue = ""; 
-                            idExists = true;
-                        }
-                    }
+                    con.setAutoCommit(false);   // update + statistics commit together
+                    String oldValue = ContactRepository.readFieldForUpdate(con, contactId, columnName);
 
-                    if (!idExists) {
+                    if (oldValue == null) {
                         System.out.println(RED + "Contact ID not found." + RESET);
                         waitForEnter();
                         continue outerLoop; 
                     }
 
-                    String updateSql = "UPDATE contacts SET " + columnName + " = ? WHERE contact_id = ?";
-                    try (PreparedStatement updateStmt = con.prepareStatement(updateSql)) {
-                        if (newValue.isEmpty() && columnName.equals("birth_date")) {
-                             updateStmt.setNull(1, java.sql.Types.DATE);
-                        } else {
-                             updateStmt.setString(1, newValue);
-                        }
-                        
-                        updateStmt.setInt(2, contactId);
-
-                        int rows = updateStmt.executeUpdate();
-                        if (rows > 0) {
-                            System.out.println(GREEN + "Contact updated successfully!" + RESET);
-                            undoStack.push(new UndoAction(contactId, columnName, oldValue));
-                            
-                            System.out.println("Updated Row:");
-                            printSingleContact(con, contactId);
-                            
-                            updateSuccess = true;
-                        } else {
-                            System.out.println(YELLOW + "No changes applied." + RESET);
-                            updateSuccess = false;
-                        }
+                    int rows = ContactRepository.updateField(con, contactId, columnName, newValue);
+                    if (rows > 0) {
+                        ContactStatsStore.applyDelta(con, fieldDelta(columnName, oldValue, newValue));
+                        con.commit();
+                        System.out.println(GREEN + "Contact updated successfully!" + RESET);
+                        undoStack.push(new UndoAction(contactId, columnName, oldValue));
+                        ContactSearchIndex.shared().updateField(contactId, columnName, newValue);
+                        ContactRepository.refreshCache(con, contactId);
+
+                        System.out.println("Updated Row:");
+                        printSingleContact(con, contactId);
+
+                        updateSuccess = true;
+                    } else {
+                        System.out.println(YELLOW + "No changes applied." + RESET);
+                        updateSuccess = false;
                     }
 
                 } catch (SQLException e) {
@@ -389,23 +374,16 @@ public class JuniorDevMenu extends TesterMenu {
             return;
         }
 
-        String sql = "UPDATE contacts SET " + lastAction.columnName + " = ? WHERE contact_id = ?";
+        try {
+            con.setAutoCommit(false);
+            String currentValue = ContactRepository.readFieldForUpdate(con, lastAction.contactId, lastAction.columnName);
 
-        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
-            if (lastAction.oldValue == null || lastAction.oldValue.isEmpty()) {
-                if (lastAction.columnName.equals("birth_date")) {
-                    pstmt.setNull(1, java.sql.Types.DATE);
-                } else {
-                    pstmt.setString(1, "");
-                }
-            } else {
-                pstmt.setString(1, lastAction.oldValue);
-            }
-
-            pstmt.setInt(2, lastAction.contactId);
-
-            int rows = pstmt.executeUpdate();
+            int rows = ContactRepository.updateField(con, lastAction.contactId, lastAction.columnName, lastAction.oldValue);
             if (rows > 0) {
+                ContactStatsStore.applyDelta(con, fieldDelta(lastAction.columnName, currentValue, lastAction.oldValue));
+                con.commit();
+                ContactSearchIndex.shared().updateField(lastAction.contactId, lastAction.columnName, lastAction.oldValue);
+                ContactRepository.refreshCache(con, lastAction.contactId);
                 System.out.println(GREEN + "Undo successful!" + RESET);
                 System.out.println(
                         "Reverted field '" + lastAction.columnName + "' for ID " + lastAction.contactId);
@@ -426,18 +404,33 @@ public class JuniorDevMenu extends TesterMenu {
         waitForEnter();
     }
 
+    // Statistics delta of a single-column update (ignored for columns without statistics)
+    protected static ContactStatistics fieldDelta(String columnName, String oldValue, String newValue) {
+        ContactStatistics delta = new ContactStatistics();
+        delta.replaceField(columnName, oldValue, newValue);
+        return delta;
+    }
+
+    // ID picker list of update / delete: compact table (printSingleContact shows
+    // the full row). Served from ContactCache when it holds the whole table.
     protected void handleListContactsForUpdate() {
         Connection con = getConnection();
         if (con == null)
             return;
-        try (PreparedStatement stmt = con.prepareStatement("SELECT * FROM contacts");
-                ResultSet rs = stmt.executeQuery()) {
-            printContactHeader();
-            while (rs.next()) {
-                printContactRow(rs);
-            }
+        boolean wasCompact = table.isCompact();
+        try {
+            table.setCompact(true);
+            table.header();
+            ContactRepository.forEach(con, table.projection(), (contact, sortKey) -> {
+                table.row(contact);
+                table.flushIfFull(System.out);
+                return true;
+            });
         } catch (Exception ignored) {
         } finally {
+            table.flush(System.out);
+            table.setCompact(wasCompact);
+            System.out.println(CYAN + ContactCache.shared().describe() + RESET);
             try {
                 con.close();
             } catch (Exception ignored) {
@@ -446,12 +439,11 @@ public class JuniorDevMenu extends TesterMenu {
     }
 
     protected void printSingleContact(Connection con, int id) {
-        try (PreparedStatement stmt = con.prepareStatement("SELECT * FROM contacts WHERE contact_id = ?")) {
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
+        try {
+            Contact contact = ContactRepository.findById(con, id);
+            if (contact != null) {
                 printContactHeader();
-                printContactRow(rs);
+                printContactRow(contact);
             }
         } catch (Exception ignored) {
         }
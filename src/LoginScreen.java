@@ -1,8 +1,6 @@
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Scanner;
 import java.util.Random;
@@ -46,6 +44,7 @@ public class LoginScreen {
 
     // 1) First screen: CMPE343 ASCII + names + "Press ENTER to continue"
     public static void showInitialSplash(Scanner scanner) {
+        if (UiMode.isFast()) return;   // no splash and no "Press ENTER" in fast mode
         clearScreen();
 
         System.out.println(BLUE + "========================================================================" + RESET);
@@ -84,6 +83,8 @@ public class LoginScreen {
      * Each phase clears the screen, so previous tip/bar is not visible anymore.
      */
     private static void showLoadingBarScreen(String title) {
+        if (UiMode.isFast()) return;
+
         int barWidth = 30;
         int stepsPerPhase = 10;   // 10 frames per phase
         int delayMs = 120;        // 120ms per frame  → ~3.6s total + small pause
@@ -205,39 +206,43 @@ public class LoginScreen {
 
     /* ===================== AUTH / PASSWORD METHODS ===================== */
 
-    public static boolean authenticate(String username, String password) {
+    // Checks the password and loads the profile in the same query.
+    // Returns null when the username / password pair does not match.
+    // An old-format or cheaper hash is replaced with a new one (PasswordUtils.needsRehash).
+    public static UserPrincipal authenticate(String username, String password) {
         if (username == null || password == null) {
-            return false;
+            return null;
         }
 
         // ORTAK UTIL KULLANIMI
         lastPasswordStrengthAtLogin = PasswordUtils.evaluatePasswordStrength(password);
         lastUsername = username;
 
-        String hashed = PasswordUtils.hashPassword(password);
-        if (hashed.isEmpty()) {
-            return false;
-        }
-
         dB_Connection db = new dB_Connection();
         Connection con = db.connect();
         if (con == null) {
             System.out.println(RED + "Connection failed." + RESET);
-            return false;
+            return null;
         }
 
-        String sql = "SELECT name, surname, role FROM users WHERE username = ? AND password_hash = ?";
-
-        try (PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, username);
-            ps.setString(2, hashed);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next(); // true if user + password_hash match
+        try {
+            UserAccount user = UserRepository.findByUsername(con, username);
+            if (user == null) {
+                // Same PBKDF2 work as a wrong password, so the response time
+                // does not tell which usernames exist
+                PasswordUtils.verifyPassword(password, DummyHash.HASH);
+                return null;
+            }
+            if (!PasswordUtils.verifyPassword(password, user.passwordHash())) {
+                return null; // user + password_hash do not match
+            }
+            if (PasswordUtils.needsRehash(user.passwordHash())) {
+                rehash(con, user, password);
             }
+            return user.toPrincipal();
         } catch (SQLException e) {
             System.out.println(RED + "Database error." + RESET);
-            return false;
+            return null;
         } finally {
             try {
                 con.close();
@@ -246,9 +251,27 @@ public class LoginScreen {
         }
     }
 
+    // The login already succeeded; a failed upgrade is retried on the next login
+    private static void rehash(Connection con, UserAccount user, String password) {
+        String newHash = PasswordUtils.hashPassword(password);
+        if (newHash.isEmpty()) return;
+        try {
+            // 0 rows: the password was changed meanwhile, the new hash already has the current format
+            UserRepository.replacePasswordHash(con, user.userId(), user.passwordHash(), newHash);
+        } catch (SQLException e) {
+            System.out.println(RED + "Database error while upgrading the password hash." + RESET);
+        }
+    }
+
+    // Hash of no real password at the configured cost, built on the first unknown username
+    private static final class DummyHash {
+        static final String HASH = PasswordUtils.hashPassword("no-such-user");
+    }
+
     /* ===================== UTILS ===================== */
 
     public static void clearScreen() {
+        if (UiMode.isFast()) return;
         System.out.print("\u001b[H\u001b[2J");
         System.out.flush();
     }
@@ -1,7 +1,6 @@
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Stack;
 
@@ -19,9 +18,21 @@ public class ManagerMenu extends TesterMenu {
         this.undoUserStack = new Stack<>();
     }
 
+    public ManagerMenu(UserPrincipal principal, Scanner scanner, String passwordStrengthAtLogin) {
+        super(principal, scanner, passwordStrengthAtLogin);
+        this.undoUserStack = new Stack<>();
+    }
+
     @Override
     public void showMenu() {
         while (true) {
+            if (!"Manager".equalsIgnoreCase(role)) {
+                // Own role changed by an update / undo: the other menus need a new login
+                System.out.println(YELLOW + "Your role is now " + role + ". Please log in again." + RESET);
+                waitForEnter();
+                return;
+            }
+
             clearScreen();
             String realFullName = loadRealFullName();
 
@@ -106,7 +117,7 @@ public class ManagerMenu extends TesterMenu {
         if (text.contains(" "))
             return false;
         // letters (with Turkish), digits, underscore, dot
-        return text.matches("[A-Za-zÇĞİÖŞÜçğıöşü0-9_.]+");
+        return ContactValidator.isNickname(text);
     }
 
     // Name / surname: only letters (Turkish), no space, no digit, no symbol
@@ -118,7 +129,17 @@ public class ManagerMenu extends TesterMenu {
             return false;
         if (text.length() > maxLen)
             return false;
-        return text.matches("[A-Za-zÇĞİÖŞÜçğıöşü]+");
+        return ContactValidator.isName(text);
+    }
+
+    // The menu uses the profile loaded at login; reload all of it (username
+    // and role too) when the manager edits their own record.
+    private void refreshOwnProfile(Connection con, int userId) throws SQLException {
+        if (principal == null || principal.getUserId() != userId) return;
+        UserAccount own = UserRepository.findById(con, userId);
+        if (own != null) {
+            setPrincipal(own.toPrincipal());
+        }
     }
 
     // Kullanıcıya "retry mi back mi?" soran helper
@@ -150,25 +171,22 @@ public class ManagerMenu extends TesterMenu {
             return;
         }
 
-        String sql = "SELECT user_id, username, name, surname, role, created_at FROM users ORDER BY user_id";
-
-        try (PreparedStatement stmt = con.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
+        try {
+            List<UserAccount> users = UserRepository.findAll(con);
 
             System.out.printf("%-4s %-15s %-22s %-18s %-20s%n",
                     "ID", "Username", "Full Name", "Role", "Created At");
             System.out.printf("%-4s %-15s %-22s %-18s %-20s%n",
                     "----", "---------------", "----------------------", "----------------", "-------------------");
 
-            boolean empty = true;
-            while (rs.next()) {
-                empty = false;
-                int id = rs.getInt("user_id");
-                String uname = rs.getString("username");
-                String name = rs.getString("name");
-                String surname = rs.getString("surname");
-                String r = rs.getString("role");
-                String created = rs.getString("created_at");
+            boolean empty = users.isEmpty();
+            for (UserAccount u : users) {
+                int id = u.userId();
+                String uname = u.username();
+                String name = u.name();
+                String surname = u.surname();
+                String r = u.role();
+                String created = u.createdAt();
 
                 if (uname == null)
                     uname = "";
@@ -364,25 +382,12 @@ public class ManagerMenu extends TesterMenu {
             return;
         }
 
-        String sql = "INSERT INTO users (username, password_hash, name, surname, role) VALUES (?,?,?,?,?)";
-
         boolean added = false;
         int newUserId = -1;
 
-        try (PreparedStatement ps = con.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, newUsername);
-            ps.setString(2, hash);
-            ps.setString(3, name);
-            ps.setString(4, surname);
-            ps.setString(5, roleStr);
-
-            int rows = ps.executeUpdate();
-            if (rows > 0) {
-                try (ResultSet keys = ps.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        newUserId = keys.getInt(1);
-                    }
-                }
+        try {
+            newUserId = UserRepository.insert(con, newUsername, hash, name, surname, roleStr);
+            if (newUserId > 0) {
                 System.out.println(GREEN + "User added successfully. (ID = " + newUserId + ")" + RESET);
                 added = true;
 
@@ -469,31 +474,27 @@ public class ManagerMenu extends TesterMenu {
                 }
             }
 
-            String selectSql = "SELECT username, name, surname, role, password_hash FROM users WHERE user_id = ?";
-
             String currentUsername = null;
             String currentName = null;
             String currentSurname = null;
             String currentRole = null;
             String currentHash = null;
 
-            try (PreparedStatement ps = con.prepareStatement(selectSql)) {
-                ps.setInt(1, userId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (!rs.next()) {
-                        System.out.println(RED + "User ID not found." + RESET);
-                        if (askRetry()) {
-                            continue;
-                        } else {
-                            return;
-                        }
+            try {
+                UserAccount current = UserRepository.findById(con, userId);
+                if (current == null) {
+                    System.out.println(RED + "User ID not found." + RESET);
+                    if (askRetry()) {
+                        continue;
+                    } else {
+                        return;
                     }
-                    currentUsername = rs.getString("username");
-                    currentName = rs.getString("name");
-                    currentSurname = rs.getString("surname");
-                    currentRole = rs.getString("role");
-                    currentHash = rs.getString("password_hash");
                 }
+                currentUsername = current.username();
+                currentName = current.name();
+                currentSurname = current.surname();
+                currentRole = current.role();
+                currentHash = current.passwordHash();
 
                 if (currentUsername == null)
                     currentUsername = "";
@@ -558,33 +559,25 @@ public class ManagerMenu extends TesterMenu {
                     }
                 }
 
-                String updateSql = "UPDATE users SET username=?, name=?, surname=?, role=? WHERE user_id=?";
                 boolean updateSuccess = false;
 
-                try (PreparedStatement updatePs = con.prepareStatement(updateSql)) {
-                    updatePs.setString(1, newUsername);
-                    updatePs.setString(2, newName);
-                    updatePs.setString(3, newSurname);
-                    updatePs.setString(4, newRole);
-                    updatePs.setInt(5, userId);
-
-                    int rows = updatePs.executeUpdate();
-                    if (rows > 0) {
-                        System.out.println(GREEN + "User updated successfully." + RESET);
-                        updateSuccess = true;
-
-                        undoUserStack.push(new UserSnapshot(
-                                "UPDATE",
-                                userId,
-                                currentUsername,
-                                currentHash,
-                                currentName,
-                                currentSurname,
-                                currentRole));
-                    } else {
-                        System.out.println(YELLOW + "No changes applied." + RESET);
-                        updateSuccess = false;
-                    }
+                int rows = UserRepository.updateProfile(con, userId, newUsername, newName, newSurname, newRole);
+                if (rows > 0) {
+                    System.out.println(GREEN + "User updated successfully." + RESET);
+                    updateSuccess = true;
+
+                    undoUserStack.push(new UserSnapshot(
+                            "UPDATE",
+                            userId,
+                            currentUsername,
+                            currentHash,
+                            currentName,
+                            currentSurname,
+                            currentRole));
+                    refreshOwnProfile(con, userId);
+                } else {
+                    System.out.println(YELLOW + "No changes applied." + RESET);
+                    updateSuccess = false;
                 }
 
                 if (updateSuccess) {
@@ -672,12 +665,8 @@ public class ManagerMenu extends TesterMenu {
             return;
         }
 
-        String sql = "UPDATE users SET password_hash=? WHERE user_id=?";
-
-        try (PreparedStatement ps = outerCon.prepareStatement(sql)) {
-            ps.setString(1, hash);
-            ps.setInt(2, userId);
-            ps.executeUpdate();
+        try {
+            UserRepository.updatePasswordHash(outerCon, userId, hash);
             System.out.println(GREEN + "Password reset successfully." + RESET);
         } catch (SQLException e) {
             System.out.println(RED + "Error: " + e.getMessage() + RESET);
@@ -728,64 +717,53 @@ public class ManagerMenu extends TesterMenu {
             boolean deleteSuccess = false;
 
             try {
-                String selectSql = "SELECT * FROM users WHERE user_id = ?";
-                try (PreparedStatement ps = con.prepareStatement(selectSql)) {
-                    ps.setInt(1, userId);
-                    try (ResultSet rs = ps.executeQuery()) {
-                        if (!rs.next()) {
-                            System.out.println(RED + "User ID not found." + RESET);
-                            if (askRetry()) {
-                                continue;
-                            } else {
-                                return;
-                            }
-                        }
-
-                        String uname = rs.getString("username");
-                        if (uname != null && uname.equals(username)) {
-                            System.out.println(RED + "You cannot delete yourself." + RESET);
-                            if (askRetry()) {
-                                continue;
-                            } else {
-                                return;
-                            }
-                        }
-
-                        backup = new UserSnapshot(
-                                "DELETE",
-                                rs.getInt("user_id"),
-                                rs.getString("username"),
-                                rs.getString("password_hash"),
-                                rs.getString("name"),
-                                rs.getString("surname"),
-                                rs.getString("role"));
-
-                        System.out.println("User to delete: " + uname + " (" + rs.getString("role") + ")");
-                        System.out.print("Are you sure? (y/n): ");
-                        String ans = scanner.nextLine().trim().toLowerCase();
-                        if (!(ans.equals("y") || ans.equals("yes"))) {
-                            System.out.println(YELLOW + "Delete cancelled." + RESET);
-                            waitForEnter();
-                            continue;
-                        }
+                UserAccount target = UserRepository.findById(con, userId);
+                if (target == null) {
+                    System.out.println(RED + "User ID not found." + RESET);
+                    if (askRetry()) {
+                        continue;
+                    } else {
+                        return;
                     }
                 }
 
-                String deleteSql = "DELETE FROM users WHERE user_id = ?";
-                try (PreparedStatement delPs = con.prepareStatement(deleteSql)) {
-                    delPs.setInt(1, userId);
-                    int rows = delPs.executeUpdate();
-                    if (rows > 0) {
-                        System.out.println(GREEN + "User deleted successfully." + RESET);
-                        if (backup != null) {
-                            undoUserStack.push(backup);
-                        }
-                        deleteSuccess = true;
+                String uname = target.username();
+                if (uname != null && uname.equals(username)) {
+                    System.out.println(RED + "You cannot delete yourself." + RESET);
+                    if (askRetry()) {
+                        continue;
                     } else {
-                        System.out.println(RED + "No user deleted." + RESET);
+                        return;
                     }
                 }
 
+                backup = new UserSnapshot(
+                        "DELETE",
+                        target.userId(),
+                        target.username(),
+                        target.passwordHash(),
+                        target.name(),
+                        target.surname(),
+                        target.role());
+
+                System.out.println("User to delete: " + uname + " (" + target.role() + ")");
+                System.out.print("Are you sure? (y/n): ");
+                String ans = scanner.nextLine().trim().toLowerCase();
+                if (!(ans.equals("y") || ans.equals("yes"))) {
+                    System.out.println(YELLOW + "Delete cancelled." + RESET);
+                    waitForEnter();
+                    continue;
+                }
+
+                int rows = UserRepository.deleteById(con, userId);
+                if (rows > 0) {
+                    System.out.println(GREEN + "User deleted successfully." + RESET);
+                    undoUserStack.push(backup);
+                    deleteSuccess = true;
+                } else {
+                    System.out.println(RED + "No user deleted." + RESET);
+                }
+
             } catch (SQLException e) {
                 System.out.println(RED + "Error: " + e.getMessage() + RESET);
             } finally {
@@ -842,41 +820,20 @@ public class ManagerMenu extends TesterMenu {
 
         try {
             if ("DELETE".equals(snap.actionType)) {
-                String sql = "INSERT INTO users (user_id, username, password_hash, name, surname, role) VALUES (?,?,?,?,?,?)";
-                try (PreparedStatement ps = con.prepareStatement(sql)) {
-                    ps.setInt(1, snap.user_id);
-                    ps.setString(2, snap.username);
-                    ps.setString(3, snap.password_hash);
-                    ps.setString(4, snap.name);
-                    ps.setString(5, snap.surname);
-                    ps.setString(6, snap.role);
-                    ps.executeUpdate();
-                    System.out.println(GREEN + "Undo successful. User '" + snap.username + "' restored." + RESET);
-                }
+                UserRepository.restore(con, snap.account());
+                System.out.println(GREEN + "Undo successful. User '" + snap.username + "' restored." + RESET);
             } else if ("UPDATE".equals(snap.actionType)) {
-                String sql = "UPDATE users SET username=?, password_hash=?, name=?, surname=?, role=? WHERE user_id=?";
-                try (PreparedStatement ps = con.prepareStatement(sql)) {
-                    ps.setString(1, snap.username);
-                    ps.setString(2, snap.password_hash);
-                    ps.setString(3, snap.name);
-                    ps.setString(4, snap.surname);
-                    ps.setString(5, snap.role);
-                    ps.setInt(6, snap.user_id);
-                    ps.executeUpdate();
-                    System.out.println(GREEN + "Undo successful. User '" + snap.username
-                            + "' reverted to previous state." + RESET);
-                }
+                UserRepository.updateAll(con, snap.account());
+                refreshOwnProfile(con, snap.user_id);
+                System.out.println(GREEN + "Undo successful. User '" + snap.username
+                        + "' reverted to previous state." + RESET);
             } else if ("ADD".equals(snap.actionType)) {
-                String sql = "DELETE FROM users WHERE user_id=?";
-                try (PreparedStatement ps = con.prepareStatement(sql)) {
-                    ps.setInt(1, snap.user_id);
-                    int rows = ps.executeUpdate();
-                    if (rows > 0) {
-                        System.out
-                                .println(GREEN + "Undo ADD successful. User '" + snap.username + "' removed." + RESET);
-                    } else {
-                        System.out.println(YELLOW + "Nothing removed. User may have been deleted already." + RESET);
-                    }
+                int rows = UserRepository.deleteById(con, snap.user_id);
+                if (rows > 0) {
+                    System.out
+                            .println(GREEN + "Undo ADD successful. User '" + snap.username + "' removed." + RESET);
+                } else {
+                    System.out.println(YELLOW + "Nothing removed. User may have been deleted already." + RESET);
                 }
             }
         } catch (SQLException e) {
@@ -905,108 +862,46 @@ public class ManagerMenu extends TesterMenu {
         }
 
         try {
-            System.out.println(YELLOW + "\nTop 5 First Names (Most Frequent):" + RESET);
-            String nameSql = "SELECT first_name, COUNT(*) AS cnt " +
-                    "FROM contacts GROUP BY first_name " +
-                    "HAVING first_name IS NOT NULL AND first_name <> '' " +
-                    "ORDER BY cnt DESC, first_name ASC LIMIT 5";
-            try (PreparedStatement ps = con.prepareStatement(nameSql);
-                    ResultSet rs = ps.executeQuery()) {
-
-                boolean any = false;
-                while (rs.next()) {
-                    any = true;
-                    String fn = rs.getString("first_name");
-                    int cnt = rs.getInt("cnt");
-                    if (fn == null)
-                        fn = "(NULL)";
-                    System.out.printf("  %-15s : %d%n", fn, cnt);
-                }
-                if (!any) {
-                    System.out.println("  (no data)");
-                }
+            // Counters are kept up to date by the contact write paths (contact_stats),
+            // so this screen only reads a few small index ranges
+            long startNanos = System.nanoTime();
+            ContactStatsStore.Summary stats = ContactStatsStore.summary(con, 5);
+            if (stats.source == ContactStatsStore.Summary.Source.REBUILT) {
+                System.out.println(YELLOW + "Statistics table was empty, built it from all contacts." + RESET);
             }
 
+            System.out.println(YELLOW + "\nTop 5 First Names (Most Frequent):" + RESET);
+            printTopEntries(stats.topFirstNames, 15);
+
             System.out.println(YELLOW + "\nTop 5 Surnames (Most Frequent):" + RESET);
-            String surnameSql = "SELECT last_name, COUNT(*) AS cnt " +
-                    "FROM contacts GROUP BY last_name " +
-                    "HAVING last_name IS NOT NULL AND last_name <> '' " +
-                    "ORDER BY cnt DESC, last_name ASC LIMIT 5";
-            try (PreparedStatement ps = con.prepareStatement(surnameSql);
-                    ResultSet rs = ps.executeQuery()) {
-
-                boolean any = false;
-                while (rs.next()) {
-                    any = true;
-                    String ln = rs.getString("last_name");
-                    int cnt = rs.getInt("cnt");
-                    if (ln == null)
-                        ln = "(NULL)";
-                    System.out.printf("  %-15s : %d%n", ln, cnt);
-                }
-                if (!any) {
-                    System.out.println("  (no data)");
-                }
-            }
+            printTopEntries(stats.topLastNames, 15);
 
             System.out.println(YELLOW + "\nEmail Provider Statistics:" + RESET);
-            String emailSql = "SELECT SUBSTRING_INDEX(email, '@', -1) as provider, COUNT(*) as cnt " +
-                    "FROM contacts WHERE email LIKE '%@%' " +
-                    "GROUP BY provider ORDER BY cnt DESC LIMIT 5";
-            try (PreparedStatement ps = con.prepareStatement(emailSql);
-                    ResultSet rs = ps.executeQuery()) {
-                boolean any = false;
-                while (rs.next()) {
-                    any = true;
-                    System.out.printf("  %-20s : %d%n", rs.getString("provider"), rs.getInt("cnt"));
-                }
-                if (!any)
-                    System.out.println("  (no data)");
-            }
+            printTopEntries(stats.topEmailProviders, 20);
 
             System.out.println(YELLOW + "\nLinkedIn URL Statistics:" + RESET);
-            String linkedinSql = "SELECT " +
-                    "SUM(CASE WHEN linkedin_url IS NOT NULL AND linkedin_url <> '' THEN 1 ELSE 0 END) AS with_linkedin, "
-                    +
-                    "SUM(CASE WHEN linkedin_url IS NULL OR linkedin_url = '' THEN 1 ELSE 0 END) AS without_linkedin " +
-                    "FROM contacts";
-            try (PreparedStatement ps = con.prepareStatement(linkedinSql);
-                    ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int withL = rs.getInt("with_linkedin");
-                    int withoutL = rs.getInt("without_linkedin");
-                    System.out.println("  With LinkedIn   : " + withL);
-                    System.out.println("  Without LinkedIn: " + withoutL);
-                } else {
-                    System.out.println("  (no data)");
-                }
+            long total = stats.total;
+            if (total > 0) {
+                System.out.println("  With LinkedIn   : " + stats.withLinkedin);
+                System.out.println("  Without LinkedIn: " + (total - stats.withLinkedin));
+            } else {
+                System.out.println("  (no data)");
             }
 
             System.out.println(YELLOW + "\nAge Statistics (based on birth_date):" + RESET);
-            String ageSql = "SELECT " +
-                    "MIN(birth_date) AS oldest_date, " +
-                    "MAX(birth_date) AS youngest_date, " +
-                    "AVG(TIMESTAMPDIFF(YEAR, birth_date, CURDATE())) AS avg_age, " +
-                    "COUNT(*) as total_birth_dates " +
-                    "FROM contacts WHERE birth_date IS NOT NULL";
-            try (PreparedStatement ps = con.prepareStatement(ageSql);
-                    ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int total = rs.getInt("total_birth_dates");
-                    if (total > 0) {
-                        String oldest = rs.getString("oldest_date");
-                        String youngest = rs.getString("youngest_date");
-                        double avgAge = rs.getDouble("avg_age");
-
-                        System.out.println("  Oldest birth date  : " + oldest);
-                        System.out.println("  Youngest birth date: " + youngest);
-                        System.out.printf("  Average age        : %.1f years%n", avgAge);
-                    } else {
-                        System.out.println("  No birth date data available.");
-                    }
-                }
+            ContactStatsStore.BirthSummary birth = stats.birth;
+            if (birth.count > 0) {
+                System.out.println("  Oldest birth date  : " + birth.oldest);
+                System.out.println("  Youngest birth date: " + birth.youngest);
+                System.out.printf("  Average age        : %.1f years%n", birth.averageAge);
+            } else {
+                System.out.println("  No birth date data available.");
             }
 
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            System.out.println();
+            System.out.println(CYAN + "Statistics of " + total + " contact(s) read in " + elapsedMs + " ms." + RESET);
+
         } catch (SQLException e) {
             System.out.println(RED + "Error while calculating statistics: " + e.getMessage() + RESET);
         } finally {
@@ -1022,6 +917,16 @@ public class ManagerMenu extends TesterMenu {
 
     // ============================= ROLE SELECTION =============================
 
+    private void printTopEntries(List<ContactStatistics.Entry> entries, int width) {
+        if (entries.isEmpty()) {
+            System.out.println("  (no data)");
+            return;
+        }
+        for (ContactStatistics.Entry e : entries) {
+            System.out.printf("  %-" + width + "s : %d%n", e.label, e.count);
+        }
+    }
+
     private String selectRole() {
         while (true) {
             System.out.println();
@@ -1070,5 +975,10 @@ public class ManagerMenu extends TesterMenu {
             this.surname = surname;
             this.role = role;
         }
+
+        // The row as UserRepository writes it back (restore / updateAll)
+        UserAccount account() {
+            return new UserAccount(user_id, username, password_hash, name, surname, role, null);
+        }
     }
 }
\ No newline at end of file
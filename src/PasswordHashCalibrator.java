@@ -0,0 +1,83 @@
+import java.util.Arrays;
+
+/**
+ * Picks the PBKDF2 cost (PasswordUtils) for this host.
+ *
+ *   java PasswordHashCalibrator [TARGET_MS]        default 50
+ *   ant calibrate-password-hash -Dhash.target.ms=50
+ *
+ * Times one password hash on one core after a warm-up and prints the
+ * iteration count for TARGET_MS per login, with the -D option to start the
+ * application with. Logins are hashed on the caller's thread, so the
+ * printed logins/s per core is the ceiling for a login storm on this host.
+ * Existing users are moved to the new cost on their next login
+ * (PasswordUtils.needsRehash).
+ */
+public class PasswordHashCalibrator {
+
+    private static final long DEFAULT_TARGET_MS = 50;
+    private static final int PROBE_ITERATIONS = 50_000;
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int SAMPLES = 5;
+
+    private static final String SAMPLE_PASSWORD = "correct-Horse-battery-9";
+
+    public static void main(String[] args) {
+        long targetMs = DEFAULT_TARGET_MS;
+        if (args.length > 0) {
+            try {
+                targetMs = Long.parseLong(args[0].trim());
+            } catch (NumberFormatException e) {
+                targetMs = -1;
+            }
+            if (targetMs <= 0) {
+                System.err.println("Usage: java PasswordHashCalibrator [TARGET_MS]   (a positive number of milliseconds)");
+                System.exit(2);
+            }
+        }
+
+        if (PasswordUtils.pbkdf2(SAMPLE_PASSWORD, new byte[16], PasswordUtils.MIN_ITERATIONS) == null) {
+            System.err.println("PBKDF2WithHmacSHA256 is not available in this JDK.");
+            System.exit(1);
+        }
+
+        System.out.println("Warming up...");
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            PasswordUtils.pbkdf2(SAMPLE_PASSWORD, new byte[16], PROBE_ITERATIONS / 5);
+        }
+
+        double nanosPerIteration = (double) medianNanos(PROBE_ITERATIONS) / PROBE_ITERATIONS;
+        int iterations = (int) Math.min(Integer.MAX_VALUE, Math.round(targetMs * 1e6 / nanosPerIteration));
+        iterations = Math.max(PasswordUtils.MIN_ITERATIONS, (iterations + 500) / 1000 * 1000);
+
+        double hashMs = medianNanos(iterations) / 1e6;
+
+        System.out.printf("Target:           %d ms per login%n", targetMs);
+        System.out.printf("Measured:         %.1f ns per iteration%n", nanosPerIteration);
+        System.out.printf("Iterations:       %,d (%.1f ms per hash, about %.0f logins/s per core)%n",
+                iterations, hashMs, 1000 / hashMs);
+        System.out.printf("Current setting:  %,d iterations%n", PasswordUtils.iterations());
+        if (iterations < PasswordUtils.DEFAULT_ITERATIONS) {
+            System.out.printf("Note: below the default of %,d; a higher target protects leaked hashes better.%n",
+                    PasswordUtils.DEFAULT_ITERATIONS);
+        }
+        System.out.println();
+        System.out.println("Start the application with:");
+        System.out.println("  -Dcmpe343.pbkdf2.iterations=" + iterations);
+    }
+
+    // Median time of SAMPLES hashes with a fresh salt each
+    private static long medianNanos(int iterations) {
+        long[] times = new long[SAMPLES];
+        byte[] salt = new byte[16];
+        for (int i = 0; i < SAMPLES; i++) {
+            salt[0] = (byte) i;
+            long start = System.nanoTime();
+            PasswordUtils.pbkdf2(SAMPLE_PASSWORD, salt, iterations);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[SAMPLES / 2];
+    }
+}
@@ -1,27 +1,181 @@
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Password hashes of the users table (password_hash column).
+ *
+ * Stored formats:
+ *   pbkdf2_sha256$<iterations>$<salt>$<hash>   PBKDF2-HMAC-SHA256, 16 byte random
+ *                                              salt, 32 byte hash, both Base64
+ *   64 lowercase hex chars                     old unsalted SHA-256 (legacySha256Hex)
+ *
+ * hashPassword always writes the first one; verifyPassword accepts both.
+ * needsRehash is true for the old format and for fewer iterations than the
+ * current cost, and LoginScreen.authenticate then stores a new hash. So old
+ * users and a raised cost are upgraded on each user's next login.
+ *
+ * Cost: -Dcmpe343.pbkdf2.iterations=... (see PasswordHashCalibrator, which
+ * picks it for a target login time on this host).
+ */
 public class PasswordUtils {
 
-    // Ortak hash fonksiyonu
+    static final String PBKDF2_PREFIX = "pbkdf2_sha256$";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    // OWASP 2021 figure for PBKDF2-HMAC-SHA256; -Dcmpe343.pbkdf2.iterations=... ile değiştirilebilir
+    static final int DEFAULT_ITERATIONS = 210_000;
+    static final int MIN_ITERATIONS = 10_000;
+    private static final int ITERATIONS =
+            Math.max(MIN_ITERATIONS, Integer.getInteger("cmpe343.pbkdf2.iterations", DEFAULT_ITERATIONS));
+
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder B64 = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getDecoder();
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int SHA256_BYTES = 32;
+
+    // MessageDigest is not thread safe: one digest and its buffers per thread,
+    // reused by every legacySha256Hex call of that thread
+    private static final ThreadLocal<HashBuffers> BUFFERS = ThreadLocal.withInitial(HashBuffers::new);
+
+    // ====== HASH / VERIFY ======
+
+    // Ortak hash fonksiyonu: new salted hash to store in users.password_hash ("" if PBKDF2 is unavailable)
     public static String hashPassword(String password) {
+        return hashPassword(password, ITERATIONS);
+    }
+
+    static String hashPassword(String password, int iterations) {
         if (password == null) {
             return "";
         }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+        if (hash == null) {
+            return "";
+        }
+        return PBKDF2_PREFIX + iterations + "$" + B64.encodeToString(salt) + "$" + B64.encodeToString(hash);
+    }
+
+    /** true if password matches a stored hash of either format; false for null / unknown formats. */
+    public static boolean verifyPassword(String password, String storedHash) {
+        if (password == null || storedHash == null) {
+            return false;
+        }
+
+        if (storedHash.startsWith(PBKDF2_PREFIX)) {
+            String[] parts = storedHash.split("\\$");
+            if (parts.length != 4) return false;
+            try {
+                int iterations = Integer.parseInt(parts[1]);
+                byte[] salt = B64_DECODER.decode(parts[2]);
+                byte[] expected = B64_DECODER.decode(parts[3]);
+                if (iterations <= 0 || expected.length == 0) return false;
+                byte[] actual = pbkdf2(password, salt, iterations, expected.length);
+                return actual != null && MessageDigest.isEqual(actual, expected);
+            } catch (IllegalArgumentException e) {   // bad number or Base64
+                return false;
+            }
+        }
+
+        if (isLegacyHash(storedHash)) {
+            String hex = legacySha256Hex(password);
+            return !hex.isEmpty() && MessageDigest.isEqual(hex.getBytes(StandardCharsets.US_ASCII),
+                    storedHash.getBytes(StandardCharsets.US_ASCII));
+        }
+        return false;
+    }
 
+    /** The stored hash should be replaced: old SHA-256 format or a lower cost than the current one. */
+    public static boolean needsRehash(String storedHash) {
+        if (storedHash == null) return false;
+        if (isLegacyHash(storedHash)) return true;
+        if (!storedHash.startsWith(PBKDF2_PREFIX)) return false;
+        int end = storedHash.indexOf('$', PBKDF2_PREFIX.length());
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(password.getBytes());
-            StringBuilder sb = new StringBuilder();
+            return end < 0 || Integer.parseInt(storedHash.substring(PBKDF2_PREFIX.length(), end)) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
 
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
+    public static int iterations() {
+        return ITERATIONS;
+    }
+
+    // ====== LEGACY SHA-256 ======
+
+    /**
+     * Unsalted SHA-256 of the UTF-8 bytes as 64 lowercase hex chars: the format
+     * password_hash had before PBKDF2, kept to verify (and upgrade) those rows.
+     */
+    static String legacySha256Hex(String password) {
+        if (password == null) {
+            return "";
+        }
 
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
+        HashBuffers buf = BUFFERS.get();
+        if (buf.sha256 == null) {
+            return "";
+        }
+
+        try {
+            int length = buf.encodeUtf8(password);
+            buf.sha256.update(buf.input, 0, length);
+            buf.sha256.digest(buf.digest, 0, SHA256_BYTES);
+        } catch (DigestException e) {
+            buf.sha256.reset();
             return "";
         }
+
+        char[] hex = buf.hex;
+        for (int i = 0; i < SHA256_BYTES; i++) {
+            int b = buf.digest[i] & 0xff;
+            hex[2 * i] = HEX[b >>> 4];
+            hex[2 * i + 1] = HEX[b & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    static boolean isLegacyHash(String storedHash) {
+        if (storedHash.length() != 2 * SHA256_BYTES) return false;
+        for (int i = 0; i < storedHash.length(); i++) {
+            char c = storedHash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    // ====== PBKDF2 ======
+
+    static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        return pbkdf2(password, salt, iterations, HASH_BYTES);
+    }
+
+    // null if the JDK has no PBKDF2WithHmacSHA256 (every supported JDK has it)
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int bytes) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bytes * 8);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            return null;
+        } finally {
+            spec.clearPassword();
+        }
     }
 
     // Ortak şifre güç değerlendirme fonksiyonu
@@ -31,9 +185,10 @@ public class PasswordUtils {
         }
 
         int length = password.length();
-        boolean hasLetter = password.matches(".*[A-Za-z].*");
-        boolean hasDigit  = password.matches(".*[0-9].*");
-        boolean hasSymbol = password.matches(".*[^A-Za-z0-9].*");
+        int kinds = ContactValidator.passwordCharKinds(password);
+        boolean hasLetter = (kinds & ContactValidator.PASSWORD_LETTER) != 0;
+        boolean hasDigit  = (kinds & ContactValidator.PASSWORD_DIGIT) != 0;
+        boolean hasSymbol = (kinds & ContactValidator.PASSWORD_SYMBOL) != 0;
 
         if (length < 4) {
             return "very_weak";
@@ -54,4 +209,53 @@ public class PasswordUtils {
 
         return "medium";
     }
+
+    private static final class HashBuffers {
+        final MessageDigest sha256;
+        final byte[] digest = new byte[SHA256_BYTES];
+        final char[] hex = new char[2 * SHA256_BYTES];
+        byte[] input = new byte[64];
+
+        HashBuffers() {
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                md = null;
+            }
+            this.sha256 = md;
+        }
+
+        // Same bytes as s.getBytes(UTF_8) (unpaired surrogates become '?'), written into input
+        int encodeUtf8(String s) {
+            int n = s.length();
+            if (input.length < 3 * n) {
+                input = new byte[Math.max(3 * n, 2 * input.length)];
+            }
+            byte[] out = input;
+            int pos = 0;
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    out[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[pos++] = (byte) (0xc0 | (c >> 6));
+                    out[pos++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    out[pos++] = (byte) (0xf0 | (cp >> 18));
+                    out[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    out[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    out[pos++] = (byte) (0x80 | (cp & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    out[pos++] = '?';
+                } else {
+                    out[pos++] = (byte) (0xe0 | (c >> 12));
+                    out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    out[pos++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return pos;
+        }
+    }
 }
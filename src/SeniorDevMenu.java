@@ -1,4 +1,7 @@
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Stack;
 
@@ -9,11 +12,19 @@ public class SeniorDevMenu extends JuniorDevMenu {
     // Maksimum alan uzunluğu (tüm text inputlar için)
     private static final int MAX_FIELD_LEN = 100;
 
+    // Upper limit for "Add multiple contacts" (all rows go into one transaction)
+    private static final int MAX_BATCH_CONTACTS = 1000;
+
     public SeniorDevMenu(String username, String fullName, String role, Scanner scanner, String passwordStrength) {
         super(username, fullName, role, scanner, passwordStrength);
         this.seniorUndoStack = new Stack<>();
     }
 
+    public SeniorDevMenu(UserPrincipal principal, Scanner scanner, String passwordStrength) {
+        super(principal, scanner, passwordStrength);
+        this.seniorUndoStack = new Stack<>();
+    }
+
     @Override
     public void showMenu() {
         while (true) {
@@ -41,8 +52,9 @@ public class SeniorDevMenu extends JuniorDevMenu {
             System.out.println(GREEN + "8)"  + RESET + " Delete contact");
             System.out.println(GREEN + "9)"  + RESET + " Delete multiple contacts");
             System.out.println(GREEN + "10)" + RESET + " Undo last action");
-            System.out.println(GREEN + "11)" + RESET + " Logout");
-            System.out.print(YELLOW + "Select (1-11): " + RESET);
+            System.out.println(GREEN + "11)" + RESET + " Import contacts from CSV/TSV file");
+            System.out.println(GREEN + "12)" + RESET + " Logout");
+            System.out.print(YELLOW + "Select (1-12): " + RESET);
 
             String input = readTrimmed();
             int choice;
@@ -50,7 +62,7 @@ public class SeniorDevMenu extends JuniorDevMenu {
             try {
                 choice = Integer.parseInt(input);
             } catch (Exception e) {
-                System.out.println(RED + "Please enter a number between 1 and 11." + RESET);
+                System.out.println(RED + "Please enter a number between 1 and 12." + RESET);
                 waitForEnter();
                 continue;
             }
@@ -67,7 +79,8 @@ public class SeniorDevMenu extends JuniorDevMenu {
                     case 8:  handleDeleteContact();           break;
                     case 9:  handleDeleteMultipleContacts();  break;
                     case 10: handleUndoSenior();              break;
-                    case 11:
+                    case 11: handleImportContacts();          break;
+                    case 12:
                         System.out.println(YELLOW + "Logging out..." + RESET);
                         return;
                     default:
@@ -105,7 +118,7 @@ public class SeniorDevMenu extends JuniorDevMenu {
     }
 
     /** Türkçe locale ile ilk harfi büyük, kalanı küçük yap. */
-    private String capitalizeNameTr(String text) {
+    static String capitalizeNameTr(String text) {
         text = trimOrEmpty(text);
         if (text.isEmpty()) return text;
         java.util.Locale tr = new java.util.Locale("tr", "TR");
@@ -144,16 +157,77 @@ public class SeniorDevMenu extends JuniorDevMenu {
     private void handleAddContact() {
         clearScreen();
         System.out.println(CYAN + "=== ADD NEW CONTACT ===" + RESET);
+        printAddContactRules();
+
+        // Tahmini sonraki ID (sadece göster, kullanıcı değiştiremiyor)
+        Integer nextId = peekNextContactId();
+        if (nextId != null) {
+            System.out.println(YELLOW + "Next contact ID (auto): " + GREEN + nextId + RESET);
+            System.out.println(YELLOW + "This ID is assigned by the system and cannot be changed." + RESET);
+            System.out.println();
+        }
+
+        ContactSnapshot draft = readContactForm();
+        if (draft == null) {
+            return;   // cancelled inside the form
+        }
+
+        // ---- Kaydetmeden önce özet + onay ----
+        clearScreen();
+        System.out.println(CYAN + "=== NEW CONTACT PREVIEW ===" + RESET);
+        printDraftPreview(draft);
+        System.out.println();
+
+        while (true) {
+            System.out.print(YELLOW + "Do you want to save this contact (y/n, q = cancel): " + RESET);
+            String ans = readTrimmed().toLowerCase();
+            if (ans.equals("y") || ans.equals("yes")) {
+                break; // kaydetmeye geç
+            } else if (ans.equals("n") || ans.equals("no") || isCancelKeyword(ans)) {
+                System.out.println(YELLOW + "Contact creation cancelled. Nothing was saved." + RESET);
+                waitForEnter();
+                return;
+            } else {
+                System.out.println(YELLOW + "Please answer with y or n (or q to cancel)." + RESET);
+            }
+        }
+
+        if (saveDrafts(Collections.singletonList(draft))) {
+            System.out.println();
+            System.out.println(GREEN + "Contact added successfully (ID = " + draft.contact_id + ")." + RESET);
+            seniorUndoStack.push(new SeniorUndoAction("ADD", new ContactSnapshot(draft.contact_id)));
+        }
+
+        waitForEnter();
+    }
+
+    private void printAddContactRules() {
         System.out.println(YELLOW + "You can type 'q' at any point to cancel and go back to the SENIOR menu." + RESET);
         System.out.println(YELLOW + "You can type 'b' to go back to the previous field." + RESET);
         System.out.println(YELLOW + "All fields are required, except Email." + RESET);
         System.out.println(YELLOW + "Email is optional if this person does not use gmail/outlook/hotmail/yahoo yet." + RESET);
         System.out.println(YELLOW + "Maximum length for any text field is " + MAX_FIELD_LEN + " characters." + RESET);
         System.out.println();
+    }
 
-        dB_Connection db = new dB_Connection();
-        Connection con = null;
+    /** SELECT MAX(contact_id) + 1, only shown as a hint; null if the DB is not reachable. */
+    private Integer peekNextContactId() {
+        Connection con = new dB_Connection().connect();
+        if (con == null) return null;
+        try {
+            return ContactRepository.maxId(con) + 1;
+        } catch (SQLException ignored) {
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+        return null;
+    }
 
+    /**
+     * Step-by-step contact form (validation, 'b' = back, 'q' = cancel).
+     * Does not touch the database; returns the validated contact, or null if cancelled.
+     */
+    private ContactSnapshot readContactForm() {
         // Kullanıcının girdiği ham değerler (henüz capitalize edilmemiş)
         String firstRaw  = "";
         String middleRaw = "";
@@ -165,517 +239,447 @@ public class SeniorDevMenu extends JuniorDevMenu {
         String linkedin  = "";
         String bday      = "";
 
-        try {
-            con = db.connect();
-            if (con == null) {
-                System.out.println(RED + "Database connection failed." + RESET);
-                waitForEnter();
-                return;
+        // Adım sayacı: 0 = first, 1 = middle, 2 = last, 3 = nick, 4 = phone1,
+        // 5 = phone2, 6 = email, 7 = linkedin, 8 = bday
+        int step = 0;
+
+        while (true) {
+            if (step == 9) {
+                // Tüm alanlar toplandı, preview & kaydet'e geçeceğiz
+                break;
             }
 
-            // Tahmini sonraki ID (sadece göster, kullanıcı değiştiremiyor)
-            Integer nextId = null;
-            try (PreparedStatement ps = con.prepareStatement("SELECT MAX(contact_id) AS max_id FROM contacts");
-                 ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    int maxId = rs.getInt("max_id");
-                    if (!rs.wasNull()) {
-                        nextId = maxId + 1;
-                    } else {
-                        nextId = 1;
+            switch (step) {
+
+                // ================== STEP 0: FIRST NAME ==================
+                case 0: {
+                    System.out.println(CYAN + "First Name format:" + RESET + " Ahmet, Ece, Ali");
+                    System.out.println(YELLOW + "Rules:" + RESET + " only letters are allowed (Turkish supported). No spaces, no digits, no symbols.");
+                    System.out.print("First name (q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        System.out.println(YELLOW + "You are at the first field, cannot go back." + RESET);
+                        break;
                     }
-                }
-            } catch (Exception ignored) {}
 
-            if (nextId != null) {
-                System.out.println(YELLOW + "Next contact ID (auto): " + GREEN + nextId + RESET);
-                System.out.println(YELLOW + "This ID is assigned by the system and cannot be changed." + RESET);
-                System.out.println();
-            }
+                    if (!isValidName(tmp)) {
+                        System.out.println(RED + "Invalid first name format." + RESET);
+                        break;
+                    }
 
-            // Adım sayacı: 0 = first, 1 = middle, 2 = last, 3 = nick, 4 = phone1,
-            // 5 = phone2, 6 = email, 7 = linkedin, 8 = bday
-            int step = 0;
+                    if (!confirmShortName("First name", tmp)) {
+                        // tekrar iste
+                        break;
+                    }
 
-            while (true) {
-                if (step == 9) {
-                    // Tüm alanlar toplandı, preview & kaydet'e geçeceğiz
+                    firstRaw = tmp;
+                    step++;  // sonraki alana geç
                     break;
                 }
 
-                switch (step) {
-
-                    // ================== STEP 0: FIRST NAME ==================
-                    case 0: {
-                        System.out.println(CYAN + "First Name format:" + RESET + " Ahmet, Ece, Ali");
-                        System.out.println(YELLOW + "Rules:" + RESET + " only letters are allowed (Turkish supported). No spaces, no digits, no symbols.");
-                        System.out.print("First name (q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            System.out.println(YELLOW + "You are at the first field, cannot go back." + RESET);
-                            break;
-                        }
-
-                        if (!isValidName(tmp)) {
-                            System.out.println(RED + "Invalid first name format." + RESET);
-                            break;
-                        }
-
-                        if (!confirmShortName("First name", tmp)) {
-                            // tekrar iste
-                            break;
-                        }
-
-                        firstRaw = tmp;
-                        step++;  // sonraki alana geç
+                // ================== STEP 1: MIDDLE NAME (OPTIONAL) ==================
+                case 1: {
+                    System.out.println();
+                    System.out.println(CYAN + "Middle Name (optional)" + RESET);
+                    System.out.print("Middle name (b = back, q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        step--;   // first name'e dön
                         break;
                     }
 
-                    // ================== STEP 1: MIDDLE NAME (OPTIONAL) ==================
-                    case 1: {
-                        System.out.println();
-                        System.out.println(CYAN + "Middle Name (optional)" + RESET);
-                        System.out.print("Middle name (b = back, q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            step--;   // first name'e dön
-                            break;
-                        }
-
-                        if (tmp.isEmpty()) {
-                            middleRaw = "";
-                            step++;
-                            break;
-                        }
-
-                        middleRaw = tmp;
-                        if (!isValidName(middleRaw)) {
-                            System.out.println(RED + "Invalid middle name format." + RESET);
-                            break;
-                        }
-
-                        if (tmp.equalsIgnoreCase(firstRaw)) {
-                            System.out.println(RED + "Middle name cannot be the same as first name." + RESET);
-                            break;
-                            }
+                    if (tmp.isEmpty()) {
+                        middleRaw = "";
                         step++;
                         break;
                     }
 
-                    // ================== STEP 2: LAST NAME (REQUIRED) ==================
-                    case 2: {
-                        System.out.println();
-                        System.out.println(CYAN + "Last Name format:" + RESET + " Yilmaz, Demir");
-                        System.out.println(YELLOW + "Rules:" + RESET + " only letters are allowed (Turkish supported). No spaces, no digits, no symbols.");
-                        System.out.print("Last name (b = back, q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            step--;   // middle name'e dön
-                            break;
-                        }
+                    middleRaw = tmp;
+                    if (!isValidName(middleRaw)) {
+                        System.out.println(RED + "Invalid middle name format." + RESET);
+                        break;
+                    }
 
-                        if (tmp.isEmpty()) {
-                            System.out.println(RED + "Last name is required." + RESET);
-                            break;
+                    if (tmp.equalsIgnoreCase(firstRaw)) {
+                        System.out.println(RED + "Middle name cannot be the same as first name." + RESET);
+                        break;
                         }
+                    step++;
+                    break;
+                }
 
-                        if (!isValidName(tmp)) {
-                            System.out.println(RED + "Invalid last name format." + RESET);
-                            break;
-                        }
-                        if (!confirmShortName("Last name", tmp)) {
-                            break;
-                        }
+                // ================== STEP 2: LAST NAME (REQUIRED) ==================
+                case 2: {
+                    System.out.println();
+                    System.out.println(CYAN + "Last Name format:" + RESET + " Yilmaz, Demir");
+                    System.out.println(YELLOW + "Rules:" + RESET + " only letters are allowed (Turkish supported). No spaces, no digits, no symbols.");
+                    System.out.print("Last name (b = back, q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        step--;   // middle name'e dön
+                        break;
+                    }
 
-                        lastRaw = tmp;
-                        step++;
+                    if (tmp.isEmpty()) {
+                        System.out.println(RED + "Last name is required." + RESET);
                         break;
                     }
 
-                    // ================== STEP 3: NICKNAME (optional) ==================
-                    case 3: {
-                        System.out.println();
-                        System.out.println(CYAN + "Nickname (optional) format:" + RESET + " ali_k, user.123");
-                        System.out.println(YELLOW + "Rules:" + RESET + " letters, digits, underscore and dot are allowed. No spaces.");
-                        System.out.print("Nickname (b = back, q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            step--;   // last name'e dön
-                            break;
-                        }
+                    if (!isValidName(tmp)) {
+                        System.out.println(RED + "Invalid last name format." + RESET);
+                        break;
+                    }
+                    if (!confirmShortName("Last name", tmp)) {
+                        break;
+                    }
 
-                        if (tmp.isEmpty()) {
-                            nick = "";
-                            step++;
-                            break;
-                        }
+                    lastRaw = tmp;
+                    step++;
+                    break;
+                }
 
-                        if (!isValidNickname(tmp)) {
-                            System.out.println(RED + "Invalid nickname format." + RESET);
-                            break;
-                        }
+                // ================== STEP 3: NICKNAME (optional) ==================
+                case 3: {
+                    System.out.println();
+                    System.out.println(CYAN + "Nickname (optional) format:" + RESET + " ali_k, user.123");
+                    System.out.println(YELLOW + "Rules:" + RESET + " letters, digits, underscore and dot are allowed. No spaces.");
+                    System.out.print("Nickname (b = back, q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        step--;   // last name'e dön
+                        break;
+                    }
 
-                        nick = tmp;
+                    if (tmp.isEmpty()) {
+                        nick = "";
                         step++;
                         break;
                     }
 
-                    // ================== STEP 4: PRIMARY PHONE (REQUIRED) ==================
-                    case 4: {
-                        System.out.println();
-                        System.out.println(CYAN + "Primary Phone format:" + RESET + " 5321112233");
-                        System.out.println(YELLOW + "Rules:" + RESET + " must contain exactly 10 digits. Only numbers 0-9 are allowed, no spaces, no symbols.");
-                        System.out.print("Primary phone (b = back, q = cancel): ");
-                        String raw = readLimitedLine();
-                        if (raw == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(raw)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(raw)) {
-                            step--;   // nick'e dön
-                            break;
-                        }
+                    if (!isValidNickname(tmp)) {
+                        System.out.println(RED + "Invalid nickname format." + RESET);
+                        break;
+                    }
 
-                        if (raw.isEmpty()) {
-                            System.out.println(RED + "Primary phone is required." + RESET);
-                            break;
-                        }
+                    nick = tmp;
+                    step++;
+                    break;
+                }
 
-                        if (!raw.matches("\\d+")) {
-                            System.out.println(RED + "Phone number must contain digits only." + RESET);
-                            break;
-                        }
-                        if (raw.length() != 10) {
-                            System.out.println(RED + "Phone number must be exactly 10 digits." + RESET);
-                            break;
-                        }
+                // ================== STEP 4: PRIMARY PHONE (REQUIRED) ==================
+                case 4: {
+                    System.out.println();
+                    System.out.println(CYAN + "Primary Phone format:" + RESET + " 5321112233");
+                    System.out.println(YELLOW + "Rules:" + RESET + " must contain exactly 10 digits. Only numbers 0-9 are allowed, no spaces, no symbols.");
+                    System.out.print("Primary phone (b = back, q = cancel): ");
+                    String raw = readLimitedLine();
+                    if (raw == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(raw)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(raw)) {
+                        step--;   // nick'e dön
+                        break;
+                    }
 
-                        phone1 = raw;
-                        step++;
+                    if (raw.isEmpty()) {
+                        System.out.println(RED + "Primary phone is required." + RESET);
                         break;
                     }
 
-                    // ================== STEP 5: SECONDARY PHONE (OPTIONAL) ==================
-                    case 5: {
-                        System.out.println();
-                        System.out.println(CYAN + "Secondary Phone (optional)" + RESET);
-                        System.out.print("Secondary phone (b = back, q = cancel): ");
-                        String raw = readLimitedLine();
-                        if (raw == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(raw)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(raw)) {
-                            step--;   // primary phone'a dön
-                            break;
-                        }
+                    if (!ContactValidator.isDigits(raw)) {
+                        System.out.println(RED + "Phone number must contain digits only." + RESET);
+                        break;
+                    }
+                    if (raw.length() != 10) {
+                        System.out.println(RED + "Phone number must be exactly 10 digits." + RESET);
+                        break;
+                    }
 
-                        if (raw.isEmpty()) {
-                            phone2 = "";
-                            step++;
-                            break;
-                        }
+                    phone1 = raw;
+                    step++;
+                    break;
+                }
 
-                        if (!raw.matches("\\d+")) {
-                            System.out.println(RED + "Phone number must contain digits only." + RESET);
-                            break;
-                        }
-                        if (raw.length() != 10) {
-                            System.out.println(RED + "Phone number must be exactly 10 digits." + RESET);
-                            break;
-                        }
+                // ================== STEP 5: SECONDARY PHONE (OPTIONAL) ==================
+                case 5: {
+                    System.out.println();
+                    System.out.println(CYAN + "Secondary Phone (optional)" + RESET);
+                    System.out.print("Secondary phone (b = back, q = cancel): ");
+                    String raw = readLimitedLine();
+                    if (raw == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(raw)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(raw)) {
+                        step--;   // primary phone'a dön
+                        break;
+                    }
 
-                        if (raw.equals(phone1)) {
-                            System.out.println(RED + "Secondary phone cannot be the same as primary phone." + RESET);
-                            break;
-                        }
-                        
-                        phone2 = raw;
+                    if (raw.isEmpty()) {
+                        phone2 = "";
                         step++;
                         break;
                     }
 
-                    // ================== STEP 6: EMAIL (Required) ==================
-                    case 6: {
-                        System.out.println();
-                        System.out.println(CYAN + "Email (required)" + RESET);
-                        System.out.println("Supported providers: gmail.com, outlook.com, hotmail.com, yahoo.com");
-                        System.out.println(YELLOW + "Rules:" + RESET + " if you enter email, it must be valid and from a supported provider. No spaces.");
-                        System.out.println(YELLOW + "Forbidden characters:" + RESET + " ! ? % ^ & * ( ) = + { } [ ] | ' \" < > ,");
-                        System.out.print("Email (ENTER = no email, b = back, q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            step--;   // secondary phone'a dön
-                            break;
-                        }
-
-                        if (tmp.isEmpty()) {
-                            email = "";
-                            System.out.println(RED + "Email is required" + RESET);
-                            break;
-                        }
+                    if (!ContactValidator.isDigits(raw)) {
+                        System.out.println(RED + "Phone number must contain digits only." + RESET);
+                        break;
+                    }
+                    if (raw.length() != 10) {
+                        System.out.println(RED + "Phone number must be exactly 10 digits." + RESET);
+                        break;
+                    }
 
-                        email = tmp;
-                        char bad = findForbiddenEmailChar(email);
-                        if (bad != 0) {
-                            System.out.println(RED + "You cannot use the character '" + bad + "' in email." + RESET);
-                            break;
-                        }
-                        if (!isValidEmailForEquals(email)) {
-                            System.out.println(RED + "Invalid email format or unsupported domain." + RESET);
-                            System.out.println(YELLOW + "Supported domains: gmail.com, outlook.com, hotmail.com, yahoo.com" + RESET);
-                            break;
-                        }
+                    if (raw.equals(phone1)) {
+                        System.out.println(RED + "Secondary phone cannot be the same as primary phone." + RESET);
+                        break;
+                    }
+                    
+                    phone2 = raw;
+                    step++;
+                    break;
+                }
 
-                        step++;
+                // ================== STEP 6: EMAIL (Required) ==================
+                case 6: {
+                    System.out.println();
+                    System.out.println(CYAN + "Email (required)" + RESET);
+                    System.out.println("Supported providers: gmail.com, outlook.com, hotmail.com, yahoo.com");
+                    System.out.println(YELLOW + "Rules:" + RESET + " if you enter email, it must be valid and from a supported provider. No spaces.");
+                    System.out.println(YELLOW + "Forbidden characters:" + RESET + " ! ? % ^ & * ( ) = + { } [ ] | ' \" < > ,");
+                    System.out.print("Email (ENTER = no email, b = back, q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        step--;   // secondary phone'a dön
                         break;
                     }
 
-                    // ================== STEP 7: LINKEDIN USERNAME (OPTIONAL) ==================
-                    case 7: {
-                        System.out.println();
-                        System.out.println(CYAN + "LinkedIn (optional)" + RESET);
-                        System.out.println(YELLOW + "Enter ONLY the username, NOT the full URL." + RESET);
-                        System.out.println(YELLOW + "Example username:" + RESET + " ahmet, ali-demir, example.user");
-                        System.out.println(YELLOW + "Saved as:" + RESET + " linkedin.com/in/" + GREEN + "<username>" + RESET);
-                        System.out.print("LinkedIn username (ENTER = skip, b = back, q = cancel): ");
-
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
+                    if (tmp.isEmpty()) {
+                        email = "";
+                        System.out.println(RED + "Email is required" + RESET);
+                        break;
+                    }
 
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
+                    email = tmp;
+                    char bad = findForbiddenEmailChar(email);
+                    if (bad != 0) {
+                        System.out.println(RED + "You cannot use the character '" + bad + "' in email." + RESET);
+                        break;
+                    }
+                    if (!isValidEmailForEquals(email)) {
+                        System.out.println(RED + "Invalid email format or unsupported domain." + RESET);
+                        System.out.println(YELLOW + "Supported domains: gmail.com, outlook.com, hotmail.com, yahoo.com" + RESET);
+                        break;
+                    }
 
-                        if (isBackCommand(tmp)) {
-                            step--;   // email'e dön
-                            break;
-                        }
+                    step++;
+                    break;
+                }
 
-                        tmp = trimOrEmpty(tmp);
+                // ================== STEP 7: LINKEDIN USERNAME (OPTIONAL) ==================
+                case 7: {
+                    System.out.println();
+                    System.out.println(CYAN + "LinkedIn (optional)" + RESET);
+                    System.out.println(YELLOW + "Enter ONLY the username, NOT the full URL." + RESET);
+                    System.out.println(YELLOW + "Example username:" + RESET + " ahmet, ali-demir, example.user");
+                    System.out.println(YELLOW + "Saved as:" + RESET + " linkedin.com/in/" + GREEN + "<username>" + RESET);
+                    System.out.print("LinkedIn username (ENTER = skip, b = back, q = cancel): ");
+
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
 
-                        // Kullanıcı boş bıraktı — optional
-                        if (tmp.isEmpty()) {
-                            linkedin = "";
-                            step++;
-                            break;
-                        }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
 
-                        // Kullanıcı yanlışlıkla URL yazdıysa engelle
-                        if (tmp.startsWith("http://") || tmp.startsWith("https://") || tmp.startsWith("www.")) {
-                            System.out.println(RED + "Do NOT type the full URL. Only username is required." + RESET);
-                            System.out.println(YELLOW + "Correct example: " + RESET + " ahmet");
-                            break;
-                        }
+                    if (isBackCommand(tmp)) {
+                        step--;   // email'e dön
+                        break;
+                    }
 
-                        // Boşluk içeremez
-                        if (tmp.contains(" ")) {
-                            System.out.println(RED + "Username cannot contain spaces." + RESET);
-                            break;
-                        }
+                    tmp = trimOrEmpty(tmp);
 
-                        // Final format (sadece bu!)
-                        linkedin = "linkedin.com/in/" + tmp;
+                    // Kullanıcı boş bıraktı — optional
+                    if (tmp.isEmpty()) {
+                        linkedin = "";
                         step++;
                         break;
                     }
-                    // ================== STEP 8: BIRTH DATE (REQUIRED) ==================
-                    case 8: {
-                        System.out.println();
-                        System.out.println(CYAN + "Birth Date (required)" + RESET);
-                        System.out.println(YELLOW + "Format:" + RESET + " YYYY-MM-DD  (example: 1999-11-23)");
-                        System.out.print("Birth date (b = back, q = cancel): ");
-                        String tmp = readLimitedLine();
-                        if (tmp == null) {
-                            System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
-                            break;
-                        }
-                        if (isCancelKeyword(tmp)) {
-                            System.out.println(YELLOW + "Add contact cancelled." + RESET);
-                            waitForEnter();
-                            return;
-                        }
-                        if (isBackCommand(tmp)) {
-                            step--;   // linkedin'e dön
-                            break;
-                        }
 
-                        if (tmp.isEmpty()) {
-                            System.out.println(RED + "Birth date is required." + RESET);
-                            break;
-                        }
-
-                        bday = tmp;
-                        if (!isValidExactDate(bday)) {
-                            System.out.println(RED + "Invalid date format or out of range." + RESET);
-                            break;
-                        }
-
-                        step++;
+                    // Kullanıcı yanlışlıkla URL yazdıysa engelle
+                    if (tmp.startsWith("http://") || tmp.startsWith("https://") || tmp.startsWith("www.")) {
+                        System.out.println(RED + "Do NOT type the full URL. Only username is required." + RESET);
+                        System.out.println(YELLOW + "Correct example: " + RESET + " ahmet");
                         break;
                     }
 
-                    default:
-                        step = 9;
+                    // Boşluk içeremez
+                    if (tmp.contains(" ")) {
+                        System.out.println(RED + "Username cannot contain spaces." + RESET);
                         break;
+                    }
+
+                    // Final format (sadece bu!)
+                    linkedin = "linkedin.com/in/" + tmp;
+                    step++;
+                    break;
                 }
-            }
+                // ================== STEP 8: BIRTH DATE (REQUIRED) ==================
+                case 8: {
+                    System.out.println();
+                    System.out.println(CYAN + "Birth Date (required)" + RESET);
+                    System.out.println(YELLOW + "Format:" + RESET + " YYYY-MM-DD  (example: 1999-11-23)");
+                    System.out.print("Birth date (b = back, q = cancel): ");
+                    String tmp = readLimitedLine();
+                    if (tmp == null) {
+                        System.out.println(RED + "Input is too long. Maximum " + MAX_FIELD_LEN + " characters." + RESET);
+                        break;
+                    }
+                    if (isCancelKeyword(tmp)) {
+                        System.out.println(YELLOW + "Add contact cancelled." + RESET);
+                        waitForEnter();
+                        return null;
+                    }
+                    if (isBackCommand(tmp)) {
+                        step--;   // linkedin'e dön
+                        break;
+                    }
 
-            // ---- İsimleri DB'ye girmeden önce normalize et (ilk harf büyük, geri kalanı küçük) ----
-            String first  = capitalizeNameTr(firstRaw);
-            String middle = capitalizeNameTr(middleRaw);
-            String last   = capitalizeNameTr(lastRaw);
+                    if (tmp.isEmpty()) {
+                        System.out.println(RED + "Birth date is required." + RESET);
+                        break;
+                    }
 
-            // ---- Kaydetmeden önce özet + onay ----
-            clearScreen();
-            System.out.println(CYAN + "=== NEW CONTACT PREVIEW ===" + RESET);
-            System.out.println("First Name : " + first);
-            System.out.println("Middle Name: " + middle);
-            System.out.println("Last Name  : " + last);
-            System.out.println("Nickname   : " + nick);
-            System.out.println("Phone 1    : " + phone1);
-            System.out.println("Phone 2    : " + phone2);
-            System.out.println("Email      : " + (email.isEmpty() ? "(none)" : email));
-            System.out.println("LinkedIn   : " + linkedin);
-            System.out.println("Birth Date : " + bday);
-            System.out.println();
+                    bday = tmp;
+                    if (!isValidExactDate(bday)) {
+                        System.out.println(RED + "Invalid date format or out of range." + RESET);
+                        break;
+                    }
 
-            while (true) {
-                System.out.print(YELLOW + "Do you want to save this contact (y/n, q = cancel): " + RESET);
-                String ans = readTrimmed().toLowerCase();
-                if (ans.equals("y") || ans.equals("yes")) {
-                    break; // kaydetmeye geç
-                } else if (ans.equals("n") || ans.equals("no") || isCancelKeyword(ans)) {
-                    System.out.println(YELLOW + "Contact creation cancelled. Nothing was saved." + RESET);
-                    waitForEnter();
-                    return;
-                } else {
-                    System.out.println(YELLOW + "Please answer with y or n (or q to cancel)." + RESET);
+                    step++;
+                    break;
                 }
-            }
 
-            // ===== INSERT INTO DB =====
-            String sql = "INSERT INTO contacts " +
-                    "(first_name, middle_name, last_name, nickname, phone_primary, phone_secondary, email, linkedin_url, birth_date) " +
-                    "VALUES (?,?,?,?,?,?,?,?,?)";
-
-            try (PreparedStatement pstmt = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-                pstmt.setString(1, first);
-                pstmt.setString(2, middle);
-                pstmt.setString(3, last);
-                pstmt.setString(4, nick);
-                pstmt.setString(5, phone1);
-                pstmt.setString(6, phone2);
+                default:
+                    step = 9;
+                    break;
+            }
+        }
 
-                if (email.isEmpty()) {
-                    pstmt.setNull(7, Types.VARCHAR);
-                } else {
-                    pstmt.setString(7, email);
-                }
+        // ---- İsimleri DB'ye girmeden önce normalize et (ilk harf büyük, geri kalanı küçük) ----
+        String first  = capitalizeNameTr(firstRaw);
+        String middle = capitalizeNameTr(middleRaw);
+        String last   = capitalizeNameTr(lastRaw);
 
-                pstmt.setString(8, linkedin);
-                pstmt.setString(9, bday);
+        return new ContactSnapshot(0, first, middle, last, nick, phone1, phone2, email, linkedin, bday);
+    }
 
-                int affected = pstmt.executeUpdate();
-                if (affected > 0) {
-                    try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                        int newId = -1;
-                        if (rs.next()) {
-                            newId = rs.getInt(1);
-                        }
-                        System.out.println();
-                        System.out.println(GREEN + "Contact added successfully (ID = " + newId + ")." + RESET);
-                        seniorUndoStack.push(new SeniorUndoAction("ADD", new ContactSnapshot(newId)));
-                    }
-                } else {
-                    System.out.println(RED + "Contact could not be added." + RESET);
-                }
-            }
+    private void printDraftPreview(ContactSnapshot d) {
+        System.out.println("First Name : " + d.first_name);
+        System.out.println("Middle Name: " + d.middle_name);
+        System.out.println("Last Name  : " + d.last_name);
+        System.out.println("Nickname   : " + d.nickname);
+        System.out.println("Phone 1    : " + d.phone_primary);
+        System.out.println("Phone 2    : " + d.phone_secondary);
+        System.out.println("Email      : " + (d.email.isEmpty() ? "(none)" : d.email));
+        System.out.println("LinkedIn   : " + d.linkedin_url);
+        System.out.println("Birth Date : " + d.birth_date);
+    }
 
-        } catch (Exception e) {
+    /** Writes the drafts in one transaction (ContactBatchOps); prints the error and returns false on failure. */
+    private boolean saveDrafts(List<ContactSnapshot> drafts) {
+        Connection con = new dB_Connection().connect();
+        if (con == null) {
+            System.out.println(RED + "Database connection failed." + RESET);
+            return false;
+        }
+        try {
+            ContactBatchOps.insertAll(con, drafts);
+            return true;
+        } catch (SQLException e) {
             System.out.println(RED + "SQL Error: " + e.getMessage() + RESET);
+            System.out.println(YELLOW + "Nothing was saved." + RESET);
+            return false;
         } finally {
-            if (con != null) {
-                try { con.close(); } catch (SQLException ignored) {}
-            }
+            try { con.close(); } catch (SQLException ignored) {}
         }
-
-        waitForEnter();
     }
 
+    // Batch entry: all contacts are collected first, then written together in
+    // one transaction; undo removes the whole batch.
     private void handleAddMultipleContacts() {
 
         clearScreen();
         System.out.println(CYAN + "=== ADD MULTIPLE CONTACTS ===" + RESET);
         System.out.println(YELLOW + "You can type 'q' at any time to cancel." + RESET);
-        System.out.println(YELLOW + "You can type 'b' to go back to the previous contact." + RESET);
+        System.out.println(YELLOW + "Contacts are saved together at the end, in one step." + RESET);
         System.out.println();
 
         int total = 0;
 
         while (true) {
-            System.out.print("How many contacts? (1-10): ");
+            System.out.print("How many contacts? (1-" + MAX_BATCH_CONTACTS + "): ");
             String in = readTrimmed();
 
             if (isCancelKeyword(in)) {
@@ -687,56 +691,139 @@ public class SeniorDevMenu extends JuniorDevMenu {
             try {
                 total = Integer.parseInt(in);
             } catch (Exception e) {
-                System.out.println(RED + "Please enter a valid number 1-10." + RESET);
+                System.out.println(RED + "Please enter a valid number 1-" + MAX_BATCH_CONTACTS + "." + RESET);
                 continue;
             }
 
-            if (total < 1 || total > 10) {
-                System.out.println(RED + "Number must be between 1 and 10." + RESET);
+            if (total < 1 || total > MAX_BATCH_CONTACTS) {
+                System.out.println(RED + "Number must be between 1 and " + MAX_BATCH_CONTACTS + "." + RESET);
                 continue;
             }
 
             break;
         }
 
-        int index = 1;
+        List<ContactSnapshot> drafts = new ArrayList<>(total);
 
-        while (index <= total) {
+        while (drafts.size() < total) {
 
             clearScreen();
             System.out.println(CYAN + "=== ADD MULTIPLE CONTACTS ===" + RESET);
-            System.out.println(YELLOW + "Contact " + index + " of " + total + RESET);
-            System.out.println(YELLOW + "(Inside form: 'b' to go back, 'q' to cancel)" + RESET);
-            System.out.println();
+            System.out.println(YELLOW + "Contact " + (drafts.size() + 1) + " of " + total + RESET);
+            printAddContactRules();
 
-            handleAddContact();  
+            ContactSnapshot draft = readContactForm();
+            if (draft == null) {
+                break;   // 'q' inside the form: stop collecting
+            }
 
-            System.out.println(GREEN + "Contact " + index + " completed." + RESET);
             System.out.println();
-
-            System.out.print("Press ENTER to continue, 'b' to redo this contact, 'q' to quit: ");
+            printDraftPreview(draft);
+            System.out.println();
+            System.out.print("Press ENTER to keep this contact, 'b' to redo it, 'q' to stop here: ");
             String next = readTrimmed();
 
-            if (isCancelKeyword(next)) {
-                System.out.println(YELLOW + "Stopped early by user." + RESET);
-                waitForEnter();
-                return;
-            }
-
             if (isBackCommand(next)) {
-                System.out.println(YELLOW + "Redoing contact " + index + "..." + RESET);
+                System.out.println(YELLOW + "Redoing contact " + (drafts.size() + 1) + "..." + RESET);
                 continue; // Aynı kişiyi tekrar gir
             }
 
-            index++; // Sonraki kişiye geç
+            drafts.add(draft);
+
+            if (isCancelKeyword(next)) {
+                break;
+            }
+        }
+
+        if (drafts.isEmpty()) {
+            System.out.println(YELLOW + "No contacts entered. Nothing was saved." + RESET);
+            waitForEnter();
+            return;
         }
 
-        System.out.println(GREEN + "All contacts added successfully." + RESET);
+        while (true) {
+            System.out.print(YELLOW + "Save " + drafts.size() + " contact(s) now (y/n): " + RESET);
+            String ans = readTrimmed().toLowerCase();
+            if (ans.equals("y") || ans.equals("yes")) {
+                break;
+            } else if (ans.equals("n") || ans.equals("no") || isCancelKeyword(ans)) {
+                System.out.println(YELLOW + "Nothing was saved." + RESET);
+                waitForEnter();
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        if (saveDrafts(drafts)) {
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(GREEN + "Added " + drafts.size() + " contact(s) in one transaction (" + ms + " ms)." + RESET);
+            System.out.println("IDs: " + drafts.get(0).contact_id + (drafts.size() > 1
+                    ? " ... " + drafts.get(drafts.size() - 1).contact_id : ""));
+            seniorUndoStack.push(new SeniorUndoAction("ADD_BATCH", drafts));
+        }
         waitForEnter();
     }
 
 
 
+    // ============================= IMPORT ===============================
+
+    private void handleImportContacts() {
+        clearScreen();
+        System.out.println(CYAN + "=== IMPORT CONTACTS FROM FILE ===" + RESET);
+        System.out.println(YELLOW + "CSV (comma) or TSV (tab) file, UTF-8, first line is a header with these column names:" + RESET);
+        System.out.println("  first_name, middle_name, last_name, nickname, phone_primary,");
+        System.out.println("  phone_secondary, email, linkedin_url, birth_date");
+        System.out.println(YELLOW + "Rows are checked with the same rules as 'Add new contact'." + RESET);
+        System.out.println(YELLOW + "Invalid rows are written to <file>.rejects.csv. An import cannot be undone." + RESET);
+        System.out.println();
+        System.out.print("File path (q = cancel): ");
+        String in = readTrimmed();
+
+        if (in.isEmpty() || isCancelKeyword(in)) {
+            System.out.println(YELLOW + "Import cancelled." + RESET);
+            waitForEnter();
+            return;
+        }
+
+        java.nio.file.Path input = java.nio.file.Paths.get(in);
+        if (!java.nio.file.Files.isRegularFile(input)) {
+            System.out.println(RED + "File not found: " + input + RESET);
+            waitForEnter();
+            return;
+        }
+        java.nio.file.Path rejectFile = ContactImporter.rejectFileFor(input);
+
+        Connection con = new dB_Connection().connect();
+        if (con == null) {
+            System.out.println(RED + "Database connection failed." + RESET);
+            waitForEnter();
+            return;
+        }
+
+        ContactImporter importer = new ContactImporter();
+        long start = System.nanoTime();
+        try {
+            System.out.println(CYAN + "Importing " + input + " ..." + RESET);
+            importer.importFile(con, input, rejectFile);
+        } catch (Exception e) {
+            System.out.println(RED + "Import stopped: " + e.getMessage() + RESET);
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println();
+        System.out.println(GREEN + "Imported contacts: " + importer.getImported() + RESET);
+        System.out.println((importer.getRejected() > 0 ? YELLOW : GREEN)
+                + "Rejected rows    : " + importer.getRejected() + RESET);
+        if (importer.getRejected() > 0) {
+            System.out.println("Reject file      : " + rejectFile);
+        }
+        System.out.printf("Total time       : %.1f s (%,.0f rows/s)%n", seconds, importer.getImported() / Math.max(seconds, 1e-9));
+        waitForEnter();
+    }
+
     // ============================= DELETE ===============================
 
     private void handleDeleteContact() {
@@ -796,6 +883,8 @@ public class SeniorDevMenu extends JuniorDevMenu {
         }
     }
 
+    // Set-based: the whole ID list is snapshotted and deleted in one transaction
+    // (ContactBatchOps.deleteAll, chunks of IN (...)), and undone as one unit.
     private void handleDeleteMultipleContacts() {
         while (true) {
             clearScreen();
@@ -805,6 +894,7 @@ public class SeniorDevMenu extends JuniorDevMenu {
 
             System.out.println();
             System.out.println(YELLOW + "Type 'q' to return to SENIOR menu." + RESET);
+            System.out.println(YELLOW + "Ranges are allowed too, e.g. 10-20." + RESET);
             System.out.print("Enter IDs comma-separated (e.g. 10,12,15) or q to cancel: ");
             String line = readTrimmed();
 
@@ -820,27 +910,52 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 continue;
             }
 
-            String[] arr = line.split(",");
-            int successCount = 0;
+            ContactBatchOps.IdList parsed = ContactBatchOps.parseIdList(line);
+            for (String bad : parsed.invalid) {
+                System.out.println(RED + "Invalid ID skipped: " + bad + RESET);
+            }
+            if (parsed.truncated) {
+                System.out.println(YELLOW + "Only the first " + ContactBatchOps.MAX_DELETE_IDS + " IDs are used." + RESET);
+            }
+            int[] ids = parsed.ids;
+            if (ids.length == 0) {
+                System.out.println(RED + "No valid IDs entered." + RESET);
+                waitForEnter();
+                continue;
+            }
 
-            for (String s : arr) {
-                try {
-                    int id = Integer.parseInt(s.trim());
-                    boolean deleted = deleteSingle(id);
-                    if (deleted) {
-                        successCount++;
-                    }
-                } catch (Exception e) {
-                    System.out.println(RED + "Invalid ID skipped: " + s + RESET);
-                }
+            List<ContactSnapshot> deleted;
+            Connection con = new dB_Connection().connect();
+            if (con == null) {
+                System.out.println(RED + "Database connection failed." + RESET);
+                waitForEnter();
+                return;
+            }
+            try {
+                deleted = ContactBatchOps.deleteAll(con, ids);
+            } catch (SQLException e) {
+                System.out.println(RED + "Delete error: " + e.getMessage() + RESET);
+                System.out.println(YELLOW + "Nothing was deleted." + RESET);
+                waitForEnter();
+                continue;
+            } finally {
+                try { con.close(); } catch (SQLException ignored) {}
             }
 
+            if (deleted.size() < ids.length) {
+                System.out.println(YELLOW + (ids.length - deleted.size()) + " ID(s) were not found and skipped." + RESET);
+            }
+
+            int successCount = deleted.size();
+
             if (successCount > 0) {
+                seniorUndoStack.push(new SeniorUndoAction("DELETE_BATCH", deleted));
+
                 System.out.println();
                 System.out.println(GREEN + "Successfully deleted " + successCount + " contacts." + RESET);
                 System.out.println(CYAN + "What would you like to do next?" + RESET);
                 System.out.println(GREEN + "1)" + RESET + " Delete more contacts");
-                System.out.println(GREEN + "2)" + RESET + " Undo last deletion (restores the LAST deleted contact)");
+                System.out.println(GREEN + "2)" + RESET + " Undo this deletion (restores all " + successCount + " contacts)");
                 System.out.println(GREEN + "3)" + RESET + " Return to SENIOR menu");
                 System.out.print(YELLOW + "Select (1-3, q = back): " + RESET);
 
@@ -856,7 +971,6 @@ public class SeniorDevMenu extends JuniorDevMenu {
                     continue;
                 } else if (nextAction.equals("2")) {
                     handleUndoSenior();
-                    waitForEnter();
                     continue;
                 } else {
                     return;
@@ -878,18 +992,20 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 return false;
             }
 
-            ContactSnapshot snap = getContactSnapshot(con, id);
+            con.setAutoCommit(false);
+            ContactSnapshot snap = ContactSnapshot.loadForUpdate(con, id);
             if (snap == null) {
                 System.out.println(RED + "Contact ID not found: " + id + RESET);
                 return false;
             }
 
-            PreparedStatement del = con.prepareStatement("DELETE FROM contacts WHERE contact_id=?");
-            del.setInt(1, id);
-
-            if (del.executeUpdate() > 0) {
+            if (ContactRepository.deleteById(con, id) > 0) {
+                ContactStatsStore.applyDelta(con, snap.statsDelta(-1));
+                con.commit();
                 System.out.println(GREEN + "Deleted ID: " + id + RESET);
                 seniorUndoStack.push(new SeniorUndoAction("DELETE", snap));
+                ContactSearchIndex.shared().remove(id);
+                ContactCache.shared().remove(id);
                 return true;
             }
 
@@ -915,6 +1031,12 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 case "ADD":
                     undoAdd(ua.snap);
                     break;
+                case "ADD_BATCH":
+                    undoAddBatch(ua.batch);
+                    break;
+                case "DELETE_BATCH":
+                    undoDeleteBatch(ua.batch);
+                    break;
                 case "DELETE":
                     undoDelete(ua.snap);
                     break;
@@ -944,9 +1066,15 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 System.out.println(RED + "Database connection failed." + RESET);
                 return;
             }
-            PreparedStatement ps = con.prepareStatement("DELETE FROM contacts WHERE contact_id=?");
-            ps.setInt(1, snap.contact_id);
-            ps.executeUpdate();
+            con.setAutoCommit(false);
+            ContactSnapshot current = ContactSnapshot.loadForUpdate(con, snap.contact_id);   // ADD snapshots hold only the id
+
+            if (ContactRepository.deleteById(con, snap.contact_id) > 0 && current != null) {
+                ContactStatsStore.applyDelta(con, current.statsDelta(-1));
+            }
+            con.commit();
+            ContactSearchIndex.shared().remove(snap.contact_id);
+            ContactCache.shared().remove(snap.contact_id);
             System.out.println(GREEN + "Undo ADD successful. (Deleted ID: " + snap.contact_id + ")" + RESET);
         } catch (Exception e) {
             System.out.println(RED + "Undo ADD failed." + RESET);
@@ -957,6 +1085,46 @@ public class SeniorDevMenu extends JuniorDevMenu {
         }
     }
 
+    private void undoAddBatch(List<ContactSnapshot> batch) {
+        Connection con = new dB_Connection().connect();
+        if (con == null) {
+            System.out.println(RED + "Database connection failed." + RESET);
+            seniorUndoStack.push(new SeniorUndoAction("ADD_BATCH", batch));
+            return;
+        }
+        try {
+            int[] ids = new int[batch.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = batch.get(i).contact_id;
+            }
+            int deleted = ContactBatchOps.deleteAll(con, ids).size();
+            System.out.println(GREEN + "Undo ADD successful. (Deleted " + deleted + " of " + ids.length + " added contacts)" + RESET);
+        } catch (SQLException e) {
+            System.out.println(RED + "Undo ADD failed: " + e.getMessage() + RESET);
+            seniorUndoStack.push(new SeniorUndoAction("ADD_BATCH", batch));
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+    }
+
+    private void undoDeleteBatch(List<ContactSnapshot> batch) {
+        Connection con = new dB_Connection().connect();
+        if (con == null) {
+            System.out.println(RED + "Database connection failed." + RESET);
+            seniorUndoStack.push(new SeniorUndoAction("DELETE_BATCH", batch));
+            return;
+        }
+        try {
+            ContactBatchOps.restoreAll(con, batch);
+            System.out.println(GREEN + "Undo DELETE successful. (Restored " + batch.size() + " contacts)" + RESET);
+        } catch (SQLException e) {
+            System.out.println(RED + "Undo DELETE failed: " + e.getMessage() + RESET);
+            seniorUndoStack.push(new SeniorUndoAction("DELETE_BATCH", batch));
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+    }
+
     private void undoDelete(ContactSnapshot snap) {
         dB_Connection db = new dB_Connection();
         Connection con = null;
@@ -967,23 +1135,13 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 return;
             }
 
-            String sql = "INSERT INTO contacts " +
-                    "(contact_id, first_name, middle_name, last_name, nickname, phone_primary, phone_secondary, email, linkedin_url, birth_date) " +
-                    "VALUES (?,?,?,?,?,?,?,?,?,?)";
-            PreparedStatement ps = con.prepareStatement(sql);
-
-            ps.setInt(1, snap.contact_id);
-            ps.setString(2, snap.first_name);
-            ps.setString(3, snap.middle_name);
-            ps.setString(4, snap.last_name);
-            ps.setString(5, snap.nickname);
-            ps.setString(6, snap.phone_primary);
-            ps.setString(7, snap.phone_secondary);
-            ps.setString(8, snap.email);
-            ps.setString(9, snap.linkedin_url);
-            ps.setString(10, snap.birth_date);
-
-            ps.executeUpdate();
+            con.setAutoCommit(false);
+            ContactRepository.restore(con, snap);
+            ContactStatsStore.applyDelta(con, snap.statsDelta(+1));
+            con.commit();
+            ContactSearchIndex.shared().put(snap.contact_id, snap.first_name, snap.last_name, snap.nickname,
+                    snap.email, snap.phone_primary, snap.phone_secondary);
+            ContactRepository.refreshCache(con, snap.contact_id);
             System.out.println(GREEN + "Undo DELETE successful. (Restored ID: " + snap.contact_id + ")" + RESET);
 
         } catch (Exception e) {
@@ -1005,22 +1163,17 @@ public class SeniorDevMenu extends JuniorDevMenu {
                 return;
             }
 
-            String sql = "UPDATE contacts SET first_name=?, middle_name=?, last_name=?, nickname=?, " +
-                    "phone_primary=?, phone_secondary=?, email=?, linkedin_url=?, birth_date=? WHERE contact_id=?";
-            PreparedStatement ps = con.prepareStatement(sql);
-
-            ps.setString(1, snap.first_name);
-            ps.setString(2, snap.middle_name);
-            ps.setString(3, snap.last_name);
-            ps.setString(4, snap.nickname);
-            ps.setString(5, snap.phone_primary);
-            ps.setString(6, snap.phone_secondary);
-            ps.setString(7, snap.email);
-            ps.setString(8, snap.linkedin_url);
-            ps.setString(9, snap.birth_date);
-            ps.setInt(10, snap.contact_id);
-
-            ps.executeUpdate();
+            con.setAutoCommit(false);
+            ContactSnapshot current = ContactSnapshot.loadForUpdate(con, snap.contact_id);
+
+            if (ContactRepository.updateAll(con, snap) > 0 && current != null) {
+                ContactStatsStore.applyDelta(con, current.statsDelta(-1));
+                ContactStatsStore.applyDelta(con, snap.statsDelta(+1));
+            }
+            con.commit();
+            ContactSearchIndex.shared().put(snap.contact_id, snap.first_name, snap.last_name, snap.nickname,
+                    snap.email, snap.phone_primary, snap.phone_secondary);
+            ContactRepository.refreshCache(con, snap.contact_id);
             System.out.println(GREEN + "Undo UPDATE successful." + RESET);
 
         } catch (Exception e) {
@@ -1034,47 +1187,15 @@ public class SeniorDevMenu extends JuniorDevMenu {
 
     // ============================= SNAPSHOT HELPERS ===============================
 
-    private ContactSnapshot getContactSnapshot(Connection con, int id) throws Exception {
-        PreparedStatement ps = con.prepareStatement("SELECT * FROM contacts WHERE contact_id=?");
-        ps.setInt(1, id);
-        ResultSet rs = ps.executeQuery();
-        if (!rs.next()) return null;
-
-        return new ContactSnapshot(
-                rs.getInt("contact_id"),
-                rs.getString("first_name"),
-                rs.getString("middle_name"),
-                rs.getString("last_name"),
-                rs.getString("nickname"),
-                rs.getString("phone_primary"),
-                rs.getString("phone_secondary"),
-                rs.getString("email"),
-                rs.getString("linkedin_url"),
-                rs.getString("birth_date")
-        );
-    }
-
-    private static class ContactSnapshot {
-        int contact_id;
-        String first_name, middle_name, last_name, nickname;
-        String phone_primary, phone_secondary, email, linkedin_url, birth_date;
-
-        ContactSnapshot(int id) { this.contact_id = id; }
-
-        ContactSnapshot(int id, String f, String m, String l, String n,
-                        String p1, String p2, String e, String li, String bd) {
-            contact_id = id;
-            first_name = f; middle_name = m; last_name = l; nickname = n;
-            phone_primary = p1; phone_secondary = p2; email = e; linkedin_url = li;
-            birth_date = bd;
-        }
-    }
-
     private static class SeniorUndoAction {
         String type;
         ContactSnapshot snap;
+        List<ContactSnapshot> batch;   // ADD_BATCH / DELETE_BATCH: every contact of the batch
         SeniorUndoAction(String type, ContactSnapshot snap) {
             this.type = type; this.snap = snap;
         }
+        SeniorUndoAction(String type, List<ContactSnapshot> batch) {
+            this.type = type; this.batch = batch;
+        }
     }
 }
\ No newline at end of file
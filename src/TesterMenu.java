@@ -1,14 +1,11 @@
 import java.util.Scanner;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 
 public class TesterMenu {
 
@@ -20,20 +17,38 @@ public class TesterMenu {
     protected static final String CYAN   = "\u001B[36m";
 
     // Search input maximum length
-    protected static final int MAX_SEARCH_LEN = 100;
+    protected static final int MAX_SEARCH_LEN = ContactSearch.MAX_SEARCH_LEN;
+
+    // Rows per page on list / search / sort screens
+    protected static final int PAGE_SIZE = 20;
+
+    // Window of the "upcoming birthdays" quick filter
+    protected static final int UPCOMING_BIRTHDAY_DAYS = 30;
 
-    // One format for the whole contact table
-    protected static final String CONTACT_ROW_FORMAT =
-            "%-4s %-25s %-15s %-22s %-28s %-28s %-12s %-19s %-19s%n";
 
     // ====== FIELDS ======
-    protected final String username;
+    protected String username;
     protected final String fullName;
-    protected final String role;
+    protected String role;
     protected final Scanner scanner;
 
     protected final String passwordStrengthAtLogin;
 
+    // Loaded at login together with the password check; null when the menu
+    // is created with the plain username / name constructor.
+    protected UserPrincipal principal;
+
+    // Timing of the last search, shown under the results
+    protected long lastQueryNanos;
+    protected final ContactSearch.IndexTiming indexTiming = new ContactSearch.IndexTiming();
+
+    // Contact table output, one print per page instead of one printf per row
+    protected final ContactTableRenderer table = new ContactTableRenderer();
+
+    // Filter of the last search that ran, offered again by "Export contacts"
+    protected ContactFilter lastSearchFilter;
+    protected String lastSearchLabel;
+
     // ====== CONSTRUCTOR ======
     public TesterMenu(String username,
                       String fullName,
@@ -47,6 +62,22 @@ public class TesterMenu {
         this.passwordStrengthAtLogin = trimOrEmpty(passwordStrengthAtLogin);
     }
 
+    public TesterMenu(UserPrincipal principal,
+                      Scanner scanner,
+                      String passwordStrengthAtLogin) {
+        this(principal.getUsername(), principal.getFullName(), principal.getRole(),
+                scanner, passwordStrengthAtLogin);
+        this.principal = principal;
+    }
+
+    // A manager edited their own users row: header, password change and the
+    // role check of the menu use the new profile from now on
+    protected void setPrincipal(UserPrincipal newPrincipal) {
+        principal = newPrincipal;
+        username = newPrincipal.getUsername();
+        role = newPrincipal.getRole();
+    }
+
     // ====== MAIN TESTER MENU ======
     public void showMenu() {
         while (true) {
@@ -112,6 +143,7 @@ public class TesterMenu {
     }
 
     protected void clearScreen() {
+        if (UiMode.isFast()) return;   // piped / --fast: no 50 empty lines per screen
         for (int i = 0; i < 50; i++) {
             System.out.println();
         }
@@ -144,25 +176,23 @@ public class TesterMenu {
     protected String normalizePhone(String raw) {
         raw = trimOrEmpty(raw);
         if (raw.isEmpty()) return "";
-        return raw.replaceAll("[^0-9]", "");
+        return ContactValidator.digitsOnly(raw);
     }
 
     protected String loadRealFullName() {
+        // Profile was already loaded by the login query, no extra round trip needed
+        if (principal != null) return principal.getFullName();
+
         Connection con = getConnection();
         if (con == null) return fullName;
 
-        String sql = "SELECT name, surname FROM users WHERE username = ?";
-
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
-            stmt.setString(1, username);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String n = trimOrEmpty(rs.getString("name"));
-                    String s = trimOrEmpty(rs.getString("surname"));
-                    if (!n.isEmpty() && !s.isEmpty()) {
-                        return n + " " + s;
-                    }
+        try {
+            UserAccount user = UserRepository.findByUsername(con, username);
+            if (user != null) {
+                String n = trimOrEmpty(user.name());
+                String s = trimOrEmpty(user.surname());
+                if (!n.isEmpty() && !s.isEmpty()) {
+                    return n + " " + s;
                 }
             }
         } catch (Exception ignored) {
@@ -201,6 +231,7 @@ public class TesterMenu {
             case "starts":   return "STARTS WITH";
             case "contains": return "CONTAINS";
             case "equals":   return "EQUALS";
+            case "ends":     return "ENDS WITH";
             default:         return op.toUpperCase();
         }
     }
@@ -216,7 +247,7 @@ public class TesterMenu {
     protected boolean isValidName(String text) {
         text = trimOrEmpty(text);
         if (text.isEmpty()) return false;
-        return text.matches("[A-Za-zÇĞİÖŞÜçğıöşü]+");
+        return ContactValidator.isName(text);
     }
 
     // Nickname: Turkish letters, digits, underscore and dot allowed, no spaces, can be all digits
@@ -225,33 +256,29 @@ public class TesterMenu {
         if (text.isEmpty()) return false;
         if (text.contains(" ")) return false;
 
-        return text.matches("[A-Za-zÇĞİÖŞÜçğıöşü0-9_.]+");
+        return ContactValidator.isNickname(text);
     }
 
     // Phone: exact 10 digits after normalization (for equals)
     protected boolean isValidPhoneExact(String raw) {
         raw = trimOrEmpty(raw);
         if (raw.isEmpty()) return false;
-        String digits = normalizePhone(raw);
-        return digits.length() == 10 && digits.matches("\\d+");
+        return ContactValidator.countDigits(raw) == 10;
     }
 
     protected String normalizedPhoneForSearch(String raw) {
         return normalizePhone(raw);
     }
 
+    protected static boolean isPhoneColumn(String column) {
+        return ContactSearch.isPhoneColumn(column);
+    }
+
     // Find forbidden character in email
     protected char findForbiddenEmailChar(String email) {
         email = trimOrEmpty(email);
         if (email.isEmpty()) return 0;
-        String forbidden = "!?%^&*()=+{}[]|\"'<>,"; // common problematic ones
-        for (int i = 0; i < email.length(); i++) {
-            char c = email.charAt(i);
-            if (forbidden.indexOf(c) >= 0) {
-                return c;
-            }
-        }
-        return 0;
+        return ContactValidator.forbiddenEmailChar(email); // common problematic ones
     }
 
     // Email: basic format and limited domains (for equals)
@@ -260,40 +287,15 @@ public class TesterMenu {
         if (email.isEmpty()) return false;
         if (email.contains(" ")) return false;
 
-        String regex = "^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$";
-        if (!email.matches(regex)) {
-            return false;
-        }
-
-        int atIndex = email.lastIndexOf('@');
-        if (atIndex < 0 || atIndex == email.length() - 1) return false;
-
-        String domain = email.substring(atIndex + 1).toLowerCase();
-
-        return domain.equals("gmail.com")
-                || domain.equals("outlook.com")
-                || domain.equals("hotmail.com")
-                || domain.equals("yahoo.com");
+        // user@domain.tld, domain: gmail.com, outlook.com, hotmail.com or yahoo.com
+        return ContactValidator.isAllowedEmail(email);
     }
 
-    // GÜNCELLENDİ: LocalDate ile gerçek tarih + gelecekte olamaz
+    // GÜNCELLENDİ: gerçek tarih + gelecekte olamaz
     protected boolean isValidExactDate(String date) {
         date = trimOrEmpty(date);
-        if (!date.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            return false;
-        }
-        try {
-            LocalDate parsed = LocalDate.parse(date);
-            LocalDate today = LocalDate.now();
-            // doğum günü gelecekte olamaz
-            if (parsed.isAfter(today)) {
-                return false;
-            }
-            return true;
-        } catch (DateTimeParseException e) {
-            // 2023-02-30 gibi hatalı tarihleri yakalar
-            return false;
-        }
+        // YYYY-MM-DD, 2023-02-30 gibi hatalı tarihler olmaz, doğum günü gelecekte olamaz
+        return ContactValidator.isPastOrTodayDate(date, ContactValidator.todayKey());
     }
 
     // ====== PASSWORD HELPERS ======
@@ -376,71 +378,122 @@ public class TesterMenu {
     // ====== CONTACT TABLE HELPERS ======
 
     protected void printContactHeader() {
-        System.out.printf(CONTACT_ROW_FORMAT,
-                "ID",
-                "Full Name",
-                "Nickname",
-                "Phones",
-                "Email",
-                "LinkedIn",
-                "Birth Date",
-                "Created At",
-                "Updated At"
-        );
-        System.out.printf(CONTACT_ROW_FORMAT,
-                "----",
-                "-------------------------",
-                "---------------",
-                "----------------------",
-                "----------------------------",
-                "----------------------------",
-                "------------",
-                "-------------------",
-                "-------------------"
-        );
+        table.header().flush(System.out);
     }
 
-    protected void printContactRow(ResultSet rs) throws SQLException {
-        int id = rs.getInt("contact_id");
-        String firstName = trimOrEmpty(rs.getString("first_name"));
-        String middleName = trimOrEmpty(rs.getString("middle_name"));
-        String lastName = trimOrEmpty(rs.getString("last_name"));
-        String nickname = trimOrEmpty(rs.getString("nickname"));
-        String phonePrimary = trimOrEmpty(rs.getString("phone_primary"));
-        String phoneSecondary = trimOrEmpty(rs.getString("phone_secondary"));
-        String email = trimOrEmpty(rs.getString("email"));
-        String linkedin = trimOrEmpty(rs.getString("linkedin_url"));
-        String birthDate = trimOrEmpty(rs.getString("birth_date"));
-        String createdAt = trimOrEmpty(rs.getString("created_at"));
-        String updatedAt = trimOrEmpty(rs.getString("updated_at"));
-
-        String fullNameStr;
-        if (!middleName.isEmpty()) {
-            fullNameStr = firstName + " " + middleName + " " + lastName;
-        } else {
-            fullNameStr = firstName + " " + lastName;
-        }
+    protected void printContactRow(Contact contact) {
+        table.row(contact).flush(System.out);
+    }
 
-        String phones = "";
-        if (!phonePrimary.isEmpty()) {
-            phones = phonePrimary;
-        }
-        if (!phoneSecondary.isEmpty()) {
-            if (!phones.isBlank()) phones += " / ";
-            phones += phoneSecondary;
+    // ====== PAGED CONTACT LISTING ======
+    //
+    // Keyset (seek) pagination: every page continues after the last printed
+    // (sort key, contact_id) pair instead of using OFFSET, so page 1000 costs
+    // the same as page 1. contact_id is always the tie-breaker.
+    //
+    // sortExpr == null means "order by contact_id only".
+    // Only the columns of the current table layout are fetched (C on the page
+    // prompt switches full / compact and prints the same page again; the layout
+    // stays for the next pages and later listings).
+    // Returns the number of rows printed.
+
+    protected int printContactPages(Connection con, String title, ContactFilter filter,
+                                    String sortExpr, boolean descending) throws SQLException {
+        PageCursor cursor = new PageCursor();
+        int shown = 0;
+        int page = 1;
+
+        while (true) {
+            boolean firstPage = (page == 1);
+            Object pageStartKey = cursor.lastKey;   // to print this page again after C
+            int pageStartId = cursor.lastId;
+            cursor.rowsOnPage = 0;
+            cursor.hasMore = false;
+
+            clearScreen();
+            System.out.println(CYAN + title + (firstPage ? "" : " (page " + page + ")") + RESET);
+            table.header();
+
+            long start = System.nanoTime();
+            try {
+                // one extra row tells us if there is a next page
+                ContactRepository.seek(con, table.projection(), filter, sortExpr, descending, !firstPage,
+                        cursor.lastKey, cursor.lastId, PAGE_SIZE + 1, (contact, sortKey) -> {
+                            if (cursor.rowsOnPage == PAGE_SIZE) {
+                                cursor.hasMore = true;
+                                return false;
+                            }
+                            table.row(contact);
+                            cursor.rowsOnPage++;
+                            cursor.lastId = contact.contactId();
+                            cursor.lastKey = sortKey;
+                            return true;
+                        });
+                lastQueryNanos += System.nanoTime() - start;
+            } finally {
+                table.flush(System.out);   // the whole page in one write
+            }
+
+            int rowsOnPage = cursor.rowsOnPage;
+            shown += rowsOnPage;
+
+            if (!cursor.hasMore) {
+                return shown;
+            }
+
+            System.out.println();
+            System.out.println(CYAN + "Page " + page + " - rows " + (shown - rowsOnPage + 1) + "-" + shown + RESET);
+            System.out.print(YELLOW + "ENTER = next page, A = show all remaining, C = "
+                    + (table.isCompact() ? "full" : "compact") + " columns, Q = stop: " + RESET);
+            String nav = readTrimmed().toLowerCase();
+            while (!nav.isEmpty() && !nav.equals("a") && !nav.equals("c") && !nav.equals("q")) {
+                System.out.print(RED + "Please press ENTER, A, C or Q: " + RESET);
+                nav = readTrimmed().toLowerCase();
+            }
+
+            if (nav.equals("c")) {
+                // Same page in the other layout: back to where it started
+                table.setCompact(!table.isCompact());
+                cursor.lastKey = pageStartKey;
+                cursor.lastId = pageStartId;
+                shown -= rowsOnPage;
+                continue;
+            }
+
+            if (nav.equals("q")) {
+                System.out.println(YELLOW + "Stopped before the last page." + RESET);
+                return shown;
+            }
+
+            if (nav.equals("a")) {
+                // Rest of the result in one go, streamed instead of buffered
+                cursor.rowsOnPage = 0;
+                start = System.nanoTime();
+                try {
+                    ContactRepository.seek(con, table.projection(), filter, sortExpr, descending, true,
+                            cursor.lastKey, cursor.lastId, 0, (contact, sortKey) -> {
+                                table.row(contact);
+                                table.flushIfFull(System.out);
+                                cursor.rowsOnPage++;
+                                return true;
+                            });
+                    lastQueryNanos += System.nanoTime() - start;
+                } finally {
+                    table.flush(System.out);
+                }
+                return shown + cursor.rowsOnPage;
+            }
+
+            page++;
         }
+    }
 
-        System.out.printf(CONTACT_ROW_FORMAT,
-                String.valueOf(id),
-                fullNameStr,
-                nickname,
-                phones,
-                email,
-                linkedin,
-                birthDate,
-                createdAt,
-                updatedAt
-        );
+    // Seek position and counters of printContactPages (changed inside the row callback)
+    private static final class PageCursor {
+        Object lastKey;
+        int lastId;
+        int rowsOnPage;
+        boolean hasMore;
     }
 
     // ====== 1) CHANGE PASSWORD ======
@@ -476,28 +529,18 @@ public class TesterMenu {
             return;
         }
 
-        String selectSql = "SELECT password_hash FROM users WHERE username = ?";
-
-        try (PreparedStatement selectStmt = con.prepareStatement(selectSql)) {
-
-            selectStmt.setString(1, username);
-
-            try (ResultSet rs = selectStmt.executeQuery()) {
-
-                if (!rs.next()) {
-                    System.out.println(RED + "User not found. Please contact your manager." + RESET);
-                    waitForEnter();
-                    return;
-                }
-
-                String storedHash = rs.getString("password_hash");
-                String currentHash = hashPassword(currentPassword);
+        try {
+            UserAccount user = UserRepository.findByUsername(con, username);
+            if (user == null) {
+                System.out.println(RED + "User not found. Please contact your manager." + RESET);
+                waitForEnter();
+                return;
+            }
 
-                if (!currentHash.equals(storedHash)) {
-                    System.out.println(RED + "Current password is incorrect." + RESET);
-                    waitForEnter();
-                    return;
-                }
+            if (!PasswordUtils.verifyPassword(currentPassword, user.passwordHash())) {
+                System.out.println(RED + "Current password is incorrect." + RESET);
+                waitForEnter();
+                return;
             }
 
             String suggestedPassword = generateStrongPasswordSuggestion();
@@ -581,18 +624,11 @@ public class TesterMenu {
                 return;
             }
 
-            String updateSql = "UPDATE users SET password_hash = ? WHERE username = ?";
-
-            try (PreparedStatement updateStmt = con.prepareStatement(updateSql)) {
-                updateStmt.setString(1, newHash);
-                updateStmt.setString(2, username);
-
-                int rows = updateStmt.executeUpdate();
-                if (rows == 1) {
-                    System.out.println(GREEN + "Your password has been updated successfully." + RESET);
-                } else {
-                    System.out.println(RED + "Password could not be updated. Please try again." + RESET);
-                }
+            int rows = UserRepository.updatePasswordHash(con, user.userId(), newHash);
+            if (rows == 1) {
+                System.out.println(GREEN + "Your password has been updated successfully." + RESET);
+            } else {
+                System.out.println(RED + "Password could not be updated. Please try again." + RESET);
             }
 
         } catch (SQLException e) {
@@ -617,22 +653,14 @@ public class TesterMenu {
             return;
         }
 
-        String sql = "SELECT * FROM contacts";
-
-        try (PreparedStatement stmt = con.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            boolean empty = true;
-
-            printContactHeader();
-
-            while (rs.next()) {
-                empty = false;
-                printContactRow(rs);
-            }
+        try {
+            int count = printContactPages(con, "=== CONTACT LIST ===", new ContactFilter(), null, false);
 
-            if (empty) {
+            if (count == 0) {
                 System.out.println(YELLOW + "No contacts found." + RESET);
+            } else {
+                System.out.println();
+                System.out.println(GREEN + "Listed " + count + " contact(s)." + RESET);
             }
 
         } catch (Exception e) {
@@ -652,6 +680,7 @@ public class TesterMenu {
             System.out.println(CYAN + "=== SEARCH CONTACTS ===" + RESET);
             System.out.println(GREEN + "1)" + RESET + " Simple search one field");
             System.out.println(GREEN + "2)" + RESET + " Advanced search multiple fields");
+            System.out.println(GREEN + "3)" + RESET + " Export contacts to CSV / JSON Lines");
             System.out.println(GREEN + "0)" + RESET + " Back to TESTER menu");
             System.out.print(YELLOW + "Select an option: " + RESET);
 
@@ -661,10 +690,12 @@ public class TesterMenu {
                 simpleSearch();
             } else if (choice.equals("2")) {
                 advancedSearch();
+            } else if (choice.equals("3")) {
+                handleExportContacts();
             } else if (choice.equals("0")) {
                 return;
             } else {
-                System.out.println(RED + "Please select 0, 1, or 2." + RESET);
+                System.out.println(RED + "Please select 0, 1, 2, or 3." + RESET);
                 waitForEnter();
             }
         }
@@ -673,13 +704,21 @@ public class TesterMenu {
     // ====== OPERATOR HELPER ======
 
     protected String selectOperator(String label) {
+        return selectOperator(label, false);
+    }
+
+    // withEndsWith: phone fields also offer "Ends with" (served by the reversed-digit index)
+    protected String selectOperator(String label, boolean withEndsWith) {
         System.out.println();
         System.out.println(CYAN + "Select operator for " + label + ":" + RESET);
         System.out.println(GREEN + "1)" + RESET + " Starts with");
         System.out.println(GREEN + "2)" + RESET + " Contains");
         System.out.println(GREEN + "3)" + RESET + " Equals");
+        if (withEndsWith) {
+            System.out.println(GREEN + "4)" + RESET + " Ends with");
+        }
         System.out.println(GREEN + "0)" + RESET + " Back");
-        System.out.print(YELLOW + "Your choice (0-3): " + RESET);
+        System.out.print(YELLOW + "Your choice (0-" + (withEndsWith ? 4 : 3) + "): " + RESET);
 
         String opChoice = readTrimmed().toLowerCase();
 
@@ -691,11 +730,129 @@ public class TesterMenu {
             return "contains";
         } else if ("3".equals(opChoice)) {
             return "equals";
+        } else if (withEndsWith && "4".equals(opChoice)) {
+            return "ends";
         } else {
             return null;
         }
     }
 
+    // ====== SEARCH CONDITION HELPERS ======
+    // SQL condition of a simple search, see ContactSearch (shared with ContactsCli)
+    protected void addTextCondition(Connection con, ContactFilter filter, String column, String op, String value)
+            throws SQLException {
+        ContactSearch.addTextCondition(con, filter, column, op, value, indexTiming);
+    }
+
+    protected void resetSearchTiming() {
+        indexTiming.reset();
+        lastQueryNanos = 0;
+    }
+
+    protected void printSearchTiming() {
+        String line = String.format("Search time: %.1f ms in database", lastQueryNanos / 1_000_000.0);
+        if (indexTiming.candidates >= 0) {
+            line += String.format(", %.2f ms in trigram index (%d candidate(s))",
+                    indexTiming.nanos / 1_000_000.0, indexTiming.candidates);
+        }
+        System.out.println(CYAN + line + RESET);
+    }
+
+    /**
+     * Checks a simple-search value for the column / operator; null if it is
+     * fine, otherwise the message to show (ContactSearch.searchValueError).
+     */
+    protected String searchValueError(String column, String op, String keyword) {
+        return ContactSearch.searchValueError(column, op, keyword);
+    }
+
+    // ====== EXPORT ======
+
+    protected void rememberSearch(ContactFilter filter, String label) {
+        lastSearchFilter = filter;
+        lastSearchLabel = label;
+    }
+
+    protected void handleExportContacts() {
+        clearScreen();
+        System.out.println(CYAN + "=== EXPORT CONTACTS ===" + RESET);
+        System.out.println(GREEN + "1)" + RESET + " All contacts");
+        if (lastSearchFilter != null) {
+            System.out.println(GREEN + "2)" + RESET + " Results of the last search (" + lastSearchLabel + ")");
+        } else {
+            System.out.println("2) Results of the last search " + YELLOW + "(no search yet)" + RESET);
+        }
+        System.out.println(GREEN + "0)" + RESET + " Back");
+        System.out.print(YELLOW + "Select an option: " + RESET);
+
+        String which = readTrimmed();
+        ContactFilter filter;
+        if (which.equals("1")) {
+            filter = null;
+        } else if (which.equals("2") && lastSearchFilter != null) {
+            filter = lastSearchFilter;
+        } else if (which.equals("0")) {
+            return;
+        } else {
+            System.out.println(RED + "Invalid choice." + RESET);
+            waitForEnter();
+            return;
+        }
+
+        System.out.print("Format - 1) CSV  2) JSON Lines: ");
+        String f = readTrimmed();
+        ContactExporter.Format format;
+        if (f.equals("1")) {
+            format = ContactExporter.Format.CSV;
+        } else if (f.equals("2")) {
+            format = ContactExporter.Format.JSONL;
+        } else {
+            System.out.println(RED + "Invalid format." + RESET);
+            waitForEnter();
+            return;
+        }
+
+        String defaultName = ContactExporter.defaultFileName(format);
+        System.out.print("Output file (ENTER = " + defaultName + ", q = cancel): ");
+        String out = readTrimmed();
+        if (out.equalsIgnoreCase("q")) {
+            System.out.println(YELLOW + "Export cancelled." + RESET);
+            waitForEnter();
+            return;
+        }
+        java.nio.file.Path output = java.nio.file.Paths.get(out.isEmpty() ? defaultName : out);
+        if (java.nio.file.Files.isDirectory(output)) {
+            System.out.println(RED + "That path is a directory: " + output + RESET);
+            waitForEnter();
+            return;
+        }
+
+        Connection con = getConnection();
+        if (con == null) {
+            System.out.println(RED + "Database connection failed." + RESET);
+            waitForEnter();
+            return;
+        }
+
+        ContactExporter exporter = new ContactExporter(format);
+        try {
+            System.out.println(CYAN + "Exporting to " + output.toAbsolutePath() + " ..." + RESET);
+            exporter.export(con, filter, output);
+
+            double seconds = Math.max(exporter.getSeconds(), 1e-9);
+            System.out.println();
+            System.out.println(GREEN + "Exported contacts: " + exporter.getRows() + RESET);
+            System.out.printf("File size        : %,.1f MB%n", exporter.getBytesWritten() / 1e6);
+            System.out.printf("Total time       : %.1f s (%,.0f rows/s, %,.1f MB/s)%n",
+                    seconds, exporter.getRows() / seconds, exporter.getBytesWritten() / 1e6 / seconds);
+        } catch (Exception e) {
+            System.out.println(RED + "Export failed: " + e.getMessage() + RESET);
+        } finally {
+            try { con.close(); } catch (SQLException ignored) {}
+        }
+        waitForEnter();
+    }
+
     // ====== SIMPLE SEARCH ======
 
     protected void simpleSearch() {
@@ -709,6 +866,7 @@ public class TesterMenu {
             System.out.println(GREEN + "3)" + RESET + " Primary Phone");
             System.out.println(GREEN + "4)" + RESET + " Email");
             System.out.println(GREEN + "5)" + RESET + " Nickname");
+            System.out.println(GREEN + "6)" + RESET + " Secondary Phone");
             System.out.println(GREEN + "0)" + RESET + " Back to SEARCH menu");
             System.out.print(YELLOW + "Select field: " + RESET);
 
@@ -741,6 +899,10 @@ public class TesterMenu {
                     columnName = "nickname";
                     fieldLabel = "Nickname";
                     break;
+                case "6":
+                    columnName = "phone_secondary";
+                    fieldLabel = "Secondary Phone";
+                    break;
                 default:
                     System.out.println(RED + "Invalid option. Please try again." + RESET);
                     waitForEnter();
@@ -756,7 +918,7 @@ public class TesterMenu {
                 while (true) {
                     clearScreen();
                     System.out.println(CYAN + "=== SIMPLE SEARCH: " + fieldLabel.toUpperCase() + " ===" + RESET);
-                    op = selectOperator(fieldLabel);
+                    op = selectOperator(fieldLabel, isPhoneColumn(columnName));
                     if (op == null) {
                         System.out.println(RED + "Invalid operator. Please try again." + RESET);
                         if (askRetryOrBack()) {
@@ -787,13 +949,13 @@ public class TesterMenu {
                 } else if (columnName.equals("nickname")) {
                     System.out.println(CYAN + "Format example:" + RESET + " ali_k, user.123");
                     System.out.println(YELLOW + "Rules:" + RESET + " letters, digits, underscore and dot are allowed. No spaces.");
-                } else if (columnName.equals("phone_primary")) {
+                } else if (isPhoneColumn(columnName)) {
                     if ("equals".equals(op)) {
                         System.out.println(CYAN + "Format example:" + RESET + " 5321112233");
                         System.out.println(YELLOW + "Rules for EQUALS:" + RESET + " it must be exactly 10 digits after leading zero. Example: 5321112233.");
                     } else {
-                        System.out.println(CYAN + "Format examples:" + RESET + " 532, 53211");
-                        System.out.println(YELLOW + "Rules for STARTS WITH or CONTAINS:" + RESET + " you can type a part of the number. It must contain digits only, no letters.");
+                        System.out.println(CYAN + "Format examples:" + RESET + ("ends".equals(op) ? " 2233, 1112233" : " 532, 53211"));
+                        System.out.println(YELLOW + "Rules for STARTS WITH, ENDS WITH or CONTAINS:" + RESET + " you can type a part of the number. It must contain digits only, no letters.");
                     }
                 } else if (columnName.equals("email")) {
                     if ("equals".equals(op)) {
@@ -840,105 +1002,16 @@ public class TesterMenu {
                     }
                 }
 
-                boolean isPhone = columnName.equals("phone_primary");
-                boolean isEmail = columnName.equals("email");
+                boolean isPhone = isPhoneColumn(columnName);
 
-                if (columnName.equals("first_name") || columnName.equals("last_name")) {
-                    if (!isValidName(keyword)) {
-                        System.out.println(RED + "Invalid name format." + RESET);
-                        System.out.println(YELLOW + "Rules:" + RESET + " only letters are allowed. No spaces, no digits, no symbols. Turkish letters are supported.");
-                        if (askRetryOrBack()) {
-                            continue;
-                        } else {
-                            stayOnSameField = false;
-                            break;
-                        }
-                    }
-                } else if (columnName.equals("nickname")) {
-                    if (!isValidNickname(keyword)) {
-                        System.out.println(RED + "Invalid nickname format." + RESET);
-                        System.out.println(YELLOW + "Rules:" + RESET + " letters, digits, underscore and dot are allowed. No spaces.");
-                        if (askRetryOrBack()) {
-                            continue;
-                        } else {
-                            stayOnSameField = false;
-                            break;
-                        }
-                    }
-                } else if (isEmail) {
-                    char bad = findForbiddenEmailChar(keyword);
-                    if (bad != 0) {
-                        System.out.println(RED + "You cannot use the character '" + bad + "' in email." + RESET);
-                        System.out.println(YELLOW + "Please remove this character and try again." + RESET);
-                        if (askRetryOrBack()) {
-                            continue;
-                        } else {
-                            stayOnSameField = false;
-                            break;
-                        }
-                    }
-                    if (keyword.contains(" ")) {
-                        System.out.println(RED + "Email cannot contain spaces." + RESET);
-                        if (askRetryOrBack()) {
-                            continue;
-                        } else {
-                            stayOnSameField = false;
-                            break;
-                        }
-                    }
-                    if ("equals".equals(op)) {
-                        if (!isValidEmailForEquals(keyword)) {
-                            System.out.println(RED + "Invalid email format for equals." + RESET);
-                            System.out.println(YELLOW + "Rules:" + RESET + " must look like user@gmail.com and domain must be gmail.com, outlook.com, hotmail.com or yahoo.com. No spaces.");
-                            if (askRetryOrBack()) {
-                                continue;
-                            } else {
-                                stayOnSameField = false;
-                                break;
-                            }
-                        }
-                    }
-                } else if (isPhone) {
-                    String digits = normalizePhone(keyword);
-                    if ("equals".equals(op)) {
-                        if (!isValidPhoneExact(keyword)) {
-                            System.out.println(RED + "Invalid phone format for equals." + RESET);
-                            System.out.println(YELLOW + "Rules:" + RESET + " after removing spaces and symbols it must contain exactly 10 digits. Example: 5321112233.");
-                            if (askRetryOrBack()) {
-                                continue;
-                            } else {
-                                stayOnSameField = false;
-                                break;
-                            }
-                        }
+                String invalid = searchValueError(columnName, op, keyword);
+                if (invalid != null) {
+                    System.out.println(RED + invalid + RESET);
+                    if (askRetryOrBack()) {
+                        continue;
                     } else {
-                        if (digits.isEmpty()) {
-                            System.out.println(RED + "Phone number must contain at least one digit." + RESET);
-                            if (askRetryOrBack()) {
-                                continue;
-                            } else {
-                                stayOnSameField = false;
-                                break;
-                            }
-                        }
-                        if (!digits.matches("\\d+")) {
-                            System.out.println(RED + "Phone number must contain digits only." + RESET);
-                            if (askRetryOrBack()) {
-                                continue;
-                            } else {
-                                stayOnSameField = false;
-                                break;
-                            }
-                        }
-                        if (digits.length() > 10) {
-                            System.out.println(RED + "Phone number is too long. Maximum 10 digits after leading zero are used in this system." + RESET);
-                            if (askRetryOrBack()) {
-                                continue;
-                            } else {
-                                stayOnSameField = false;
-                                break;
-                            }
-                        }
+                        stayOnSameField = false;
+                        break;
                     }
                 }
 
@@ -949,50 +1022,16 @@ public class TesterMenu {
                     return;
                 }
 
-                String sql;
-                String pattern;
-
-                if (isPhone) {
-                    String normalized = normalizedPhoneForSearch(keyword);
-                    sql = "SELECT * FROM contacts WHERE " + columnName + " LIKE ?";
+                ContactFilter filter = new ContactFilter();
+                String value = isPhone ? normalizedPhoneForSearch(keyword) : keyword;
 
-                    if ("starts".equals(op)) {
-                        pattern = normalized + "%";
-                    } else if ("equals".equals(op)) {
-                        pattern = normalized;
-                    } else {
-                        pattern = "%" + normalized + "%";
-                    }
+                try {
+                    resetSearchTiming();
+                    addTextCondition(con, filter, columnName, op, value);
 
-                } else {
-                    sql = "SELECT * FROM contacts WHERE LOWER(" + columnName + ") LIKE ?";
-                    String base = toLowerTr(keyword);
-
-                    if ("starts".equals(op)) {
-                        pattern = base + "%";
-                    } else if ("equals".equals(op)) {
-                        pattern = base;
-                    } else {
-                        pattern = "%" + base + "%";
-                    }
-                }
-
-                int matchedCount = 0;
-
-                try (PreparedStatement stmt = con.prepareStatement(sql)) {
-
-                    stmt.setString(1, pattern);
-
-                    clearScreen();
-                    System.out.println(CYAN + "=== SIMPLE SEARCH RESULTS (" + fieldLabel + ") ===" + RESET);
-                    printContactHeader();
-
-                    try (ResultSet rs = stmt.executeQuery()) {
-                        while (rs.next()) {
-                            matchedCount++;
-                            printContactRow(rs);
-                        }
-                    }
+                    int matchedCount = printContactPages(con,
+                            "=== SIMPLE SEARCH RESULTS (" + fieldLabel + ") ===", filter, null, false);
+                    rememberSearch(filter, fieldLabel + " " + getOperatorLabel(op) + " '" + keyword + "'");
 
                     if (matchedCount == 0) {
                         System.out.println(YELLOW + "No matching contacts found." + RESET);
@@ -1000,6 +1039,7 @@ public class TesterMenu {
                         System.out.println();
                         System.out.println(GREEN + "Matched " + matchedCount + " contact(s)." + RESET);
                     }
+                    printSearchTiming();
 
                     waitForEnter();
 
@@ -1038,6 +1078,10 @@ public class TesterMenu {
 
     // ====== QUICK FILTERS (ADVANCED) ======
 
+    protected static int monthDay(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
     protected void runQuickFilter(String mainChoice) {
         Connection con = getConnection();
         if (con == null) {
@@ -1046,38 +1090,44 @@ public class TesterMenu {
             return;
         }
 
-        String sql;
+        ContactFilter filter = new ContactFilter();
+        String sortExpr;
+        String label;
+        boolean descending = false;
 
         if ("1".equals(mainChoice)) {
-            sql = "SELECT * FROM contacts " +
-                    "WHERE birth_date IS NOT NULL " +
-                    "AND MONTH(birth_date) = MONTH(CURDATE()) " +
-                    "AND DAYOFMONTH(birth_date) >= DAYOFMONTH(CURDATE()) " +
-                    "ORDER BY MONTH(birth_date), DAYOFMONTH(birth_date)";
+            // birth_md = month*100 + day (indexed). The window may wrap past
+            // 12-31, then it is two ranges: [start, 1231] and [0101, end].
+            LocalDate today = LocalDate.now();
+            int startMd = monthDay(today);
+            int endMd = monthDay(today.plusDays(UPCOMING_BIRTHDAY_DAYS));
+            String birthMd = ContactSearchColumns.birthMonthDay(con);
+
+            if (startMd <= endMd) {
+                filter.and(birthMd + " BETWEEN ? AND ?", startMd, endMd);
+            } else {
+                filter.and(birthMd + " >= ? OR " + birthMd + " <= ?", startMd, endMd);
+            }
+            // "days until birthday" order; after a wrap, January comes after December
+            sortExpr = "MOD(" + birthMd + " + 1300 - " + startMd + ", 1300)";
+            label = "Birthdays in the next " + UPCOMING_BIRTHDAY_DAYS + " days";
         } else if ("2".equals(mainChoice)) {
-            sql = "SELECT * FROM contacts " +
-                    "WHERE created_at >= DATE_SUB(NOW(), INTERVAL 10 DAY) " +
-                    "ORDER BY created_at DESC";
+            filter.and("created_at >= DATE_SUB(NOW(), INTERVAL 10 DAY)");
+            sortExpr = "created_at";
+            descending = true;
+            label = "Added in the last 10 days";
         } else {
-            sql = "SELECT * FROM contacts " +
-                    "WHERE (email IS NULL OR email = '') " +
+            filter.and("(email IS NULL OR email = '') " +
                     "   OR (phone_primary IS NULL OR phone_primary = '') " +
-                    "   OR (linkedin_url IS NULL OR linkedin_url = '')";
+                    "   OR (linkedin_url IS NULL OR linkedin_url = '')");
+            sortExpr = null;
+            label = "Missing email, phone or LinkedIn";
         }
 
-        int matchedCount = 0;
-
-        try (PreparedStatement stmt = con.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            clearScreen();
-            System.out.println(CYAN + "=== ADVANCED SEARCH QUICK FILTER RESULTS ===" + RESET);
-            printContactHeader();
-
-            while (rs.next()) {
-                matchedCount++;
-                printContactRow(rs);
-            }
+        try {
+            int matchedCount = printContactPages(con,
+                    "=== ADVANCED SEARCH QUICK FILTER RESULTS ===", filter, sortExpr, descending);
+            rememberSearch(filter, label);
 
             System.out.println();
             String color = (matchedCount >= 2) ? GREEN : RED;
@@ -1099,7 +1149,7 @@ public class TesterMenu {
         while (true) {
             clearScreen();
             System.out.println(CYAN + "=== ADVANCED SEARCH ===" + RESET);
-            System.out.println(GREEN + "1)" + RESET + " Quick filter: upcoming birthdays this month");
+            System.out.println(GREEN + "1)" + RESET + " Quick filter: upcoming birthdays (next " + UPCOMING_BIRTHDAY_DAYS + " days)");
             System.out.println(GREEN + "2)" + RESET + " Quick filter: contacts added in the last 10 days");
             System.out.println(GREEN + "3)" + RESET + " Quick filter: contacts with missing info");
             System.out.println(GREEN + "4)" + RESET + " Custom advanced search (multi field, AND)");
@@ -1179,7 +1229,8 @@ public class TesterMenu {
                 System.out.println(GREEN + "4)" + RESET + " Email");
                 System.out.println(GREEN + "5)" + RESET + " Nickname");
                 System.out.println(GREEN + "6)" + RESET + " Birth Date");
-                System.out.print(YELLOW + "Your choice (1-6, 0 to cancel): " + RESET);
+                System.out.println(GREEN + "7)" + RESET + " Secondary Phone");
+                System.out.print(YELLOW + "Your choice (1-7, 0 to cancel): " + RESET);
                 String fieldOption = readTrimmed();
 
                 if (fieldOption.equals("0")) {
@@ -1216,6 +1267,10 @@ public class TesterMenu {
                         columnName = "birth_date";
                         label = "Birth Date";
                         break;
+                    case "7":
+                        columnName = "phone_secondary";
+                        label = "Secondary Phone";
+                        break;
                     default:
                         System.out.println(RED + "Invalid field option. Condition ignored." + RESET);
                         continue;
@@ -1260,7 +1315,7 @@ public class TesterMenu {
                         op = "year";
                         System.out.print("Enter year for example 1999: ");
                         value1 = readTrimmed();
-                        if (!value1.matches("\\d{4}")) {
+                        if (value1.length() != 4 || !ContactValidator.isDigits(value1)) {
                             System.out.println(RED + "Year must be four digits like 1999. Condition ignored." + RESET);
                             continue;
                         }
@@ -1276,7 +1331,7 @@ public class TesterMenu {
                         continue;
                     }
                 } else {
-                    String opTmp = selectOperator(label);
+                    String opTmp = selectOperator(label, isPhoneColumn(columnName));
                     if (opTmp == null || opTmp.equals("back")) {
                         System.out.println(RED + "Invalid operator. Condition ignored." + RESET);
                         continue;
@@ -1291,7 +1346,7 @@ public class TesterMenu {
                         continue;
                     }
 
-                    if (columnName.equals("phone_primary")) {
+                    if (isPhoneColumn(columnName)) {
                         String normalized = normalizePhone(value1);
                         if (normalized.isEmpty()) {
                             System.out.println(RED + "Phone number must contain digits. Condition ignored." + RESET);
@@ -1359,84 +1414,40 @@ public class TesterMenu {
                 return;
             }
 
-            StringBuilder sql = new StringBuilder("SELECT * FROM contacts WHERE 1=1");
-
-            for (int i = 0; i < count; i++) {
-                String col = columns[i];
-                String op = ops[i];
-
-                if ("date_eq".equals(op)) {
-                    sql.append(" AND ").append(col).append(" = ?");
-                } else if ("month".equals(op)) {
-                    sql.append(" AND MONTH(").append(col).append(") = ?");
-                } else if ("year".equals(op)) {
-                    sql.append(" AND YEAR(").append(col).append(") = ?");
-                } else if ("starts".equals(op) || "contains".equals(op) || "equals".equals(op)) {
-                    if (col.equals("phone_primary")) {
-                        sql.append(" AND ").append(col).append(" LIKE ?");
-                    } else {
-                        sql.append(" AND LOWER(").append(col).append(") LIKE ?");
-                    }
-                }
-            }
-
-            int matchedCount = 0;
+            ContactFilter filter = new ContactFilter();
 
-            try (PreparedStatement stmt = con.prepareStatement(sql.toString())) {
+            try {
+                resetSearchTiming();
 
-                int paramIndex = 1;
                 for (int i = 0; i < count; i++) {
                     String col = columns[i];
                     String op = ops[i];
 
                     if ("date_eq".equals(op)) {
-                        stmt.setString(paramIndex++, val1[i]);
+                        filter.and(col + " = ?", val1[i]);
                     } else if ("month".equals(op)) {
-                        int monthNum = Integer.parseInt(val1[i]);
-                        stmt.setInt(paramIndex++, monthNum);
+                        // range on the indexed birth_md column instead of MONTH(col) per row
+                        int month = Integer.parseInt(val1[i]);
+                        filter.and(ContactSearchColumns.birthMonthDay(con) + " BETWEEN ? AND ?",
+                                month * 100 + 1, month * 100 + 31);
                     } else if ("year".equals(op)) {
-                        stmt.setInt(paramIndex++, Integer.parseInt(val1[i]));
-                    } else {
-                        if (col.equals("phone_primary")) {
-                            String base = val1[i];
-                            String pattern;
-                            if ("starts".equals(op)) {
-                                pattern = base + "%";
-                            } else if ("equals".equals(op)) {
-                                pattern = base;
-                            } else {
-                                pattern = "%" + base + "%";
-                            }
-                            stmt.setString(paramIndex++, pattern);
-                        } else {
-                            String base = toLowerTr(val1[i]);
-                            String pattern;
-                            if ("starts".equals(op)) {
-                                pattern = base + "%";
-                            } else if ("equals".equals(op)) {
-                                pattern = base;
-                            } else {
-                                pattern = "%" + base + "%";
-                            }
-                            stmt.setString(paramIndex++, pattern);
-                        }
+                        // date range keeps the birth_date index usable, YEAR(col) would not
+                        int year = Integer.parseInt(val1[i]);
+                        filter.and(col + " BETWEEN ? AND ?",
+                                java.sql.Date.valueOf(LocalDate.of(year, 1, 1)),
+                                java.sql.Date.valueOf(LocalDate.of(year, 12, 31)));
+                    } else if ("starts".equals(op) || "contains".equals(op) || "equals".equals(op) || "ends".equals(op)) {
+                        addTextCondition(con, filter, col, op, val1[i]);   // phone value is already normalized
                     }
                 }
 
-                clearScreen();
-                System.out.println(CYAN + "=== ADVANCED SEARCH RESULTS ===" + RESET);
-                printContactHeader();
-
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        matchedCount++;
-                        printContactRow(rs);
-                    }
-                }
+                int matchedCount = printContactPages(con, "=== ADVANCED SEARCH RESULTS ===", filter, null, false);
+                rememberSearch(filter, "Advanced search, " + count + " field(s)");
 
                 System.out.println();
                 String color = (matchedCount >= 2) ? GREEN : RED;
                 System.out.println(color + "Total filtered rows: " + matchedCount + RESET);
+                printSearchTiming();
                 waitForEnter();
 
             } catch (Exception e) {
@@ -1554,30 +1565,19 @@ public class TesterMenu {
             return;
         }
 
-        // For textual fields, sort by LOWER(TRIM(field)) to avoid leading spaces & case issues
+        // Text columns use a case-insensitive collation, so ORDER BY the plain column
+        // already ignores case and can walk the column index (values are trimmed on save)
         String orderExpr = columnName;
-        if (columnName.equals("first_name") ||
-            columnName.equals("last_name")  ||
-            columnName.equals("email")      ||
-            columnName.equals("nickname")) {
-            orderExpr = "LOWER(TRIM(" + columnName + "))";
-        }
-
-        String sql = "SELECT * FROM contacts ORDER BY " + orderExpr + " " + order + ", contact_id ASC";
 
-        int count = 0;
-
-        try (PreparedStatement stmt = con.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            clearScreen();
-            System.out.println(CYAN + "=== SORTED CONTACTS (" + columnName.toUpperCase() + " " + order + ") ===" + RESET);
-            printContactHeader();
+        // birth_date may be NULL; keyset comparisons need a real value (NULLs still sort first)
+        if (columnName.equals("birth_date")) {
+            orderExpr = "IFNULL(birth_date, DATE '1000-01-01')";
+        }
 
-            while (rs.next()) {
-                count++;
-                printContactRow(rs);
-            }
+        try {
+            int count = printContactPages(con,
+                    "=== SORTED CONTACTS (" + columnName.toUpperCase() + " " + order + ") ===",
+                    new ContactFilter(), orderExpr, "DESC".equals(order));
 
             if (count == 0) {
                 System.out.println(YELLOW + "No contacts found." + RESET);
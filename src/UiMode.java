@@ -0,0 +1,40 @@
+/**
+ * Interactive vs. fast (headless) terminal mode.
+ *
+ * Fast mode is on when the program is started with --fast (or --headless), or
+ * when there is no console, e.g. stdin/stdout are piped or redirected. Then
+ * the splash screen, loading bars, shutdown animation, welcome pauses and
+ * screen clearing are all skipped, so scripted sessions run at full speed.
+ */
+public final class UiMode {
+
+    private static volatile boolean fast;
+
+    private UiMode() {
+    }
+
+    /** Called once from AppMain.main with the command line arguments. */
+    public static void init(String[] args) {
+        boolean flag = false;
+        for (String arg : args) {
+            if ("--fast".equals(arg) || "--headless".equals(arg)) {
+                flag = true;
+            }
+        }
+        fast = flag || System.console() == null;
+    }
+
+    public static boolean isFast() {
+        return fast;
+    }
+
+    /** Thread.sleep for animations and pauses; does nothing in fast mode. */
+    public static void pause(long millis) {
+        if (fast) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * One users row as read by UserRepository (immutable). password_hash is the
+ * stored hash text, never a plain password.
+ */
+public record UserAccount(
+        int userId,
+        String username,
+        String passwordHash,
+        String name,
+        String surname,
+        String role,
+        String createdAt) {
+
+    /** The logged-in user handed to the role menus. */
+    public UserPrincipal toPrincipal() {
+        return new UserPrincipal(userId, username, name, surname, role);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Logged-in user, loaded together with the password check in one query
+ * (LoginScreen.authenticate) and handed to the role menus.
+ */
+public class UserPrincipal {
+
+    private final int userId;
+    private final String username;
+    private final String name;
+    private final String surname;
+    private final String role;
+
+    public UserPrincipal(int userId, String username, String name, String surname, String role) {
+        this.userId = userId;
+        this.username = trim(username);
+        this.name = trim(name);
+        this.surname = trim(surname);
+        this.role = trim(role);
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    // "Name Surname", or the username if the profile has no name yet
+    public String getFullName() {
+        if (!name.isEmpty() && !surname.isEmpty()) {
+            return name + " " + surname;
+        }
+        return username;
+    }
+
+    private static String trim(String s) {
+        return (s == null) ? "" : s.trim();
+    }
+}
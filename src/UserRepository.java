@@ -0,0 +1,170 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All SQL on the users table (login, change password, manager screens).
+ *
+ * Same rules as ContactRepository: constant SQL texts (prepared once per
+ * physical connection by the driver's statement cache), rows mapped by index
+ * into UserAccount records, transactions left to the caller.
+ */
+public class UserRepository {
+
+    private static final String COLUMNS = "user_id, username, password_hash, name, surname, role, created_at";
+
+    private static final String FIND_BY_USERNAME_SQL = "SELECT " + COLUMNS + " FROM users WHERE username = ?";
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS + " FROM users WHERE user_id = ?";
+    private static final String LIST_ALL_SQL = "SELECT " + COLUMNS + " FROM users ORDER BY user_id";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password_hash, name, surname, role) VALUES (?,?,?,?,?)";
+    private static final String RESTORE_SQL =
+            "INSERT INTO users (user_id, username, password_hash, name, surname, role) VALUES (?,?,?,?,?,?)";
+    private static final String UPDATE_PROFILE_SQL =
+            "UPDATE users SET username=?, name=?, surname=?, role=? WHERE user_id=?";
+    private static final String UPDATE_ALL_SQL =
+            "UPDATE users SET username=?, password_hash=?, name=?, surname=?, role=? WHERE user_id=?";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE users SET password_hash=? WHERE user_id=?";
+    private static final String REPLACE_PASSWORD_SQL =
+            "UPDATE users SET password_hash=? WHERE user_id=? AND password_hash=?";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE user_id=?";
+
+    // ====== READS ======
+
+    /** null if there is no such user. */
+    public static UserAccount findByUsername(Connection con, String username) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(FIND_BY_USERNAME_SQL)) {
+            ps.setString(1, username);
+            return readOne(ps);
+        }
+    }
+
+    /** null if there is no such user. */
+    public static UserAccount findById(Connection con, int userId) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(FIND_BY_ID_SQL)) {
+            ps.setInt(1, userId);
+            return readOne(ps);
+        }
+    }
+
+    public static List<UserAccount> findAll(Connection con) throws SQLException {
+        List<UserAccount> users = new ArrayList<>();
+        try (PreparedStatement ps = con.prepareStatement(LIST_ALL_SQL);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                users.add(read(rs));
+            }
+        }
+        return users;
+    }
+
+    // ====== WRITES ======
+
+    /** New user; returns the generated user_id (-1 if the driver returned none). */
+    public static int insert(Connection con, String username, String passwordHash,
+                             String name, String surname, String role) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, username);
+            ps.setString(2, passwordHash);
+            ps.setString(3, name);
+            ps.setString(4, surname);
+            ps.setString(5, role);
+            if (ps.executeUpdate() == 0) return -1;
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : -1;
+            }
+        }
+    }
+
+    /** Puts a deleted user back with the same user_id and password hash (undo). */
+    public static int restore(Connection con, UserAccount u) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(RESTORE_SQL)) {
+            ps.setInt(1, u.userId());
+            ps.setString(2, u.username());
+            ps.setString(3, u.passwordHash());
+            ps.setString(4, u.name());
+            ps.setString(5, u.surname());
+            ps.setString(6, u.role());
+            return ps.executeUpdate();
+        }
+    }
+
+    public static int updateProfile(Connection con, int userId, String username,
+                                    String name, String surname, String role) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_PROFILE_SQL)) {
+            ps.setString(1, username);
+            ps.setString(2, name);
+            ps.setString(3, surname);
+            ps.setString(4, role);
+            ps.setInt(5, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /** Writes every column of u back (undo of a profile update). */
+    public static int updateAll(Connection con, UserAccount u) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_ALL_SQL)) {
+            ps.setString(1, u.username());
+            ps.setString(2, u.passwordHash());
+            ps.setString(3, u.name());
+            ps.setString(4, u.surname());
+            ps.setString(5, u.role());
+            ps.setInt(6, u.userId());
+            return ps.executeUpdate();
+        }
+    }
+
+    public static int updatePasswordHash(Connection con, int userId, String passwordHash) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_PASSWORD_SQL)) {
+            ps.setString(1, passwordHash);
+            ps.setInt(2, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Rehash on login: writes newHash only while the row still has oldHash, so
+     * a password change that committed in the meantime is not overwritten.
+     */
+    public static int replacePasswordHash(Connection con, int userId, String oldHash, String newHash)
+            throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(REPLACE_PASSWORD_SQL)) {
+            ps.setString(1, newHash);
+            ps.setInt(2, userId);
+            ps.setString(3, oldHash);
+            return ps.executeUpdate();
+        }
+    }
+
+    public static int deleteById(Connection con, int userId) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(DELETE_SQL)) {
+            ps.setInt(1, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    // ====== MAPPING ======
+
+    private static UserAccount readOne(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? read(rs) : null;
+        }
+    }
+
+    // COLUMNS order
+    private static UserAccount read(ResultSet rs) throws SQLException {
+        return new UserAccount(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7));
+    }
+}
@@ -1,36 +1,88 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class dB_Connection {
 
     private final String userName = "myuser";
     private final String password = "1234";
-    private final String dbName = "cmpe343_project2";
+    // -Dcmpe343.db.name=... ile başka bir veritabanı (ör. benchmark için cmpe343_bench)
+    private final String dbName = System.getProperty("cmpe343.db.name", "cmpe343_project2");
     private final String host = "localhost";
     private final int port = 3306;
 
-    private Connection con;
+    // Pool ayarları; -Dcmpe343.pool.min=... gibi JVM parametreleriyle değiştirilebilir
+    private static final int POOL_MIN_SIZE = Integer.getInteger("cmpe343.pool.min", 1);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("cmpe343.pool.max", 8);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("cmpe343.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("cmpe343.pool.borrowTimeoutMs", 10_000L);
+
+    // Büyük listelerde satırlar parça parça gelsin: > 0 ise sunucu tarafı cursor ile bu kadar satır,
+    // 0 veya negatif ise satır satır streaming (Connector/J Integer.MIN_VALUE modu)
+    private static final int STREAM_FETCH_SIZE = Integer.getInteger("cmpe343.fetchSize", 500);
+
+    // Tüm menüler aynı havuzu paylaşır; ilk connect() çağrısında oluşturulur
+    private static ConnectionPool pool;
 
     public Connection connect() {
 
+        ConnectionPool p;
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");  // Driver yüklenmezse null döner
+            p = getPool();
         } catch (ClassNotFoundException e) {
-            return null; // LoginScreen bu durumu düzgün karşılayacak
+            return null; // Driver yüklenmezse null döner, LoginScreen bu durumu düzgün karşılayacak
         }
 
         try {
-            String url = "jdbc:mysql://" + host + ":" + port + "/" + dbName
-                    + "?useUnicode=true&characterEncoding=utf8";
-
-            con = DriverManager.getConnection(url, userName, password);
-            return con;  // başarılı bağlantı
-
+            return p.borrow();  // close() bağlantıyı havuza geri verir
         } catch (SQLException e) {
             return null; // başarısız bağlantı → login ekranı yönetir
         }
     }
-}
 
- 
+    private ConnectionPool getPool() throws ClassNotFoundException {
+        synchronized (dB_Connection.class) {
+            if (pool == null) {
+                Class.forName("com.mysql.cj.jdbc.Driver");  // sadece bir kez yüklenir
+
+                String url = "jdbc:mysql://" + host + ":" + port + "/" + dbName
+                        + "?useUnicode=true&characterEncoding=utf8"
+                        + "&useCursorFetch=true"   // sadece fetchSize > 0 olan statement'larda devreye girer
+                        + "&rewriteBatchedStatements=true"  // addBatch() ile biriken INSERT'ler tek çok satırlı INSERT olur
+                        + "&useServerPrepStmts=true"        // SQL server'da bir kez parse edilir, sonra sadece parametreler gider
+                        + "&cachePrepStmts=true"            // prepareStatement() aynı SQL için cache'ten döner (fiziksel bağlantı başına)
+                        + "&prepStmtCacheSize=256"          // repository'lerdeki sabit SQL'lerin hepsine yeter
+                        + "&prepStmtCacheSqlLimit=32768";   // uzun filtre/seek SQL'leri ve aday id listeleri (ContactSearch) de cache'lensin
+
+                pool = new ConnectionPool(url, userName, password,
+                        POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT_MS, POOL_BORROW_TIMEOUT_MS);
+
+                ConnectionPool created = pool;
+                Runtime.getRuntime().addShutdownHook(new Thread(created::shutdown, "db-pool-shutdown"));
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Forward-only, read-only statement for long listings. Rows are fetched in
+     * chunks (or one by one) while they are printed, so the whole table is never
+     * loaded into memory before the first row appears.
+     */
+    public static PreparedStatement prepareStreaming(Connection con, String sql) throws SQLException {
+        PreparedStatement stmt = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(STREAM_FETCH_SIZE > 0 ? STREAM_FETCH_SIZE : Integer.MIN_VALUE);
+        return stmt;
+    }
+
+    /** Havuzdaki tüm fiziksel bağlantıları kapatır (uygulama kapanırken). */
+    public static void shutdownPool() {
+        synchronized (dB_Connection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ContactCacheTest {
+
+    private static final long LONG_TTL = TimeUnit.MINUTES.toNanos(10);
+    private static final long SHORT_TTL = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static Contact contact(int id) {
+        return new Contact(id, "Ad" + id, null, "Soyad" + id, null, "5320000000", null,
+                "user" + id + "@gmail.com", null, null, null, null);
+    }
+
+    private static List<Integer> ids(List<Contact> rows) {
+        List<Integer> ids = new ArrayList<>();
+        for (Contact c : rows) ids.add(c.contactId());
+        return ids;
+    }
+
+    // ====== LRU ======
+
+    @Test
+    public void leastRecentlyUsedRowIsEvicted() {
+        ContactCache cache = new ContactCache(2, LONG_TTL);
+        cache.put(contact(1));
+        cache.put(contact(2));
+        cache.get(1);                  // 2 is now the eldest
+        cache.put(contact(3));
+
+        assertTrue(cache.contains(1));
+        assertFalse(cache.contains(2));
+        assertTrue(cache.contains(3));
+        assertNull(cache.get(2));
+    }
+
+    @Test
+    public void getReturnsTheCachedRow() {
+        ContactCache cache = new ContactCache(10, LONG_TTL);
+        Contact c = contact(7);
+        cache.put(c);
+        assertSame(c, cache.get(7));
+        assertNull(cache.get(8));
+    }
+
+    @Test
+    public void sizeZeroDisablesTheCache() {
+        ContactCache cache = new ContactCache(0, LONG_TTL);
+        assertFalse(cache.isEnabled());
+        cache.put(contact(1));
+        assertNull(cache.get(1));
+
+        cache.beginListing();
+        cache.endListing(0);
+        assertNull(cache.listing());
+    }
+
+    // ====== TTL ======
+
+    @Test
+    public void expiredRowsAreMisses() throws InterruptedException {
+        ContactCache cache = new ContactCache(10, SHORT_TTL);
+        cache.put(contact(1));
+        Thread.sleep(5);
+        assertNull(cache.get(1));
+        assertFalse(cache.contains(1));   // dropped on the miss
+    }
+
+    @Test
+    public void expiredListingIsAMiss() throws InterruptedException {
+        ContactCache cache = new ContactCache(10, SHORT_TTL);
+        cache.beginListing();
+        cache.put(contact(1));
+        cache.endListing(1);
+        Thread.sleep(5);
+        assertFalse(cache.isListingComplete());
+        assertNull(cache.listing());
+    }
+
+    // ====== FULL LISTING ======
+
+    @Test
+    public void completeListingIsServedInIdOrder() {
+        ContactCache cache = new ContactCache(10, LONG_TTL);
+        cache.beginListing();
+        cache.put(contact(3));
+        cache.put(contact(1));
+        cache.put(contact(2));
+        cache.endListing(3);
+
+        assertTrue(cache.isListingComplete());
+        assertEquals(List.of(1, 2, 3), ids(cache.listing()));
+
+        cache.remove(2);              // deletes keep the listing valid
+        assertEquals(List.of(1, 3), ids(cache.listing()));
+    }
+
+    @Test
+    public void listingIsIncompleteWhenRowsWereMissedOrEvicted() {
+        ContactCache cache = new ContactCache(2, LONG_TTL);
+        cache.beginListing();
+        cache.put(contact(1));
+        cache.put(contact(2));
+        cache.endListing(3);          // the table had more rows than were cached
+        assertNull(cache.listing());
+
+        cache.beginListing();
+        cache.put(contact(1));
+        cache.put(contact(2));
+        cache.endListing(2);
+        assertTrue(cache.isListingComplete());
+        cache.put(contact(3));        // evicts a row of the listing
+        assertFalse(cache.isListingComplete());
+    }
+
+    @Test
+    public void refreshStoresKnownRowsOrNewRowsOfACompleteListing() {
+        ContactCache cache = new ContactCache(10, LONG_TTL);
+        cache.refresh(contact(1));
+        assertFalse(cache.contains(1));   // neither cached nor part of a full listing
+
+        cache.put(contact(2));
+        Contact newer = contact(2);
+        cache.refresh(newer);
+        assertSame(newer, cache.get(2));
+
+        cache.beginListing();
+        cache.endListing(0);
+        cache.refresh(contact(5));
+        assertTrue(cache.contains(5));
+    }
+
+    @Test
+    public void invalidateAllDropsRowsAndListing() {
+        ContactCache cache = new ContactCache(10, LONG_TTL);
+        cache.beginListing();
+        cache.put(contact(1));
+        cache.endListing(1);
+        cache.invalidateAll();
+        assertFalse(cache.contains(1));
+        assertNull(cache.listing());
+    }
+}
@@ -0,0 +1,130 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ContactImporterCsvReaderTest {
+
+    private Path file;
+    private FileChannel channel;
+
+    @After
+    public void tearDown() throws IOException {
+        if (channel != null) channel.close();
+        if (file != null) Files.deleteIfExists(file);
+    }
+
+    private ContactImporter.CsvReader open(byte[] content, char delimiter) throws IOException {
+        file = Files.createTempFile("csvreader", ".csv");
+        Files.write(file, content);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new ContactImporter.CsvReader(channel, delimiter);
+    }
+
+    private ContactImporter.CsvReader open(String content, char delimiter) throws IOException {
+        return open(content.getBytes(StandardCharsets.UTF_8), delimiter);
+    }
+
+    private static List<List<String>> readAll(ContactImporter.CsvReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        while (reader.readRecord(fields)) {
+            records.add(new ArrayList<>(fields));
+        }
+        return records;
+    }
+
+    // ====== RECORDS ======
+
+    @Test
+    public void plainRecordsWithAndWithoutFinalNewline() throws IOException {
+        List<List<String>> records = readAll(open("a,b,c\n1,,3", ','));
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("1", "", "3")), records);
+    }
+
+    @Test
+    public void crlfAndByteOrderMarkAreDropped() throws IOException {
+        List<List<String>> records = readAll(open("\uFEFFfirst;last\r\nAyşe;Yılmaz\r\n", ';'));
+        assertEquals(Arrays.asList(Arrays.asList("first", "last"), Arrays.asList("Ayşe", "Yılmaz")), records);
+    }
+
+    @Test
+    public void quotedFieldsKeepDelimitersQuotesAndNewlines() throws IOException {
+        ContactImporter.CsvReader reader = open("x,\"a,b\",\"say \"\"hi\"\"\"\n\"two\nlines\",y\nlast\n", ',');
+        List<String> fields = new ArrayList<>();
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("x", "a,b", "say \"hi\""), fields);
+        assertEquals(1, reader.recordLine);
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("two\nlines", "y"), fields);
+        assertEquals(2, reader.recordLine);
+
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("last"), fields);
+        assertEquals(4, reader.recordLine);
+
+        assertFalse(reader.readRecord(fields));
+    }
+
+    @Test
+    public void quoteInsideAFieldIsLiteral() throws IOException {
+        List<List<String>> records = readAll(open("5\"10,x\n", ','));
+        assertEquals(Arrays.asList(Arrays.asList("5\"10", "x")), records);
+    }
+
+    @Test
+    public void delimiterCanBeSwitchedAfterTheHeader() throws IOException {
+        ContactImporter.CsvReader reader = open("a\tb\nc,d\te\n", ',');
+        List<String> fields = new ArrayList<>();
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("a\tb"), fields);
+
+        reader.delimiter = '\t';
+        assertTrue(reader.readRecord(fields));
+        assertEquals(Arrays.asList("c,d", "e"), fields);
+    }
+
+    // ====== DECODING ======
+
+    @Test
+    public void malformedUtf8BecomesReplacementCharacter() throws IOException {
+        byte[] content = { 'a', ',', (byte) 0xC3, ',', 'b', '\n' };
+        List<List<String>> records = readAll(open(content, ','));
+        assertEquals(Arrays.asList(Arrays.asList("a", "\uFFFD", "b")), records);
+    }
+
+    @Test
+    public void multiByteCharactersAcrossBufferBoundaries() throws IOException {
+        // > 1 MB of two-byte characters, so reads end in the middle of one
+        StringBuilder sb = new StringBuilder();
+        int rows = 0;
+        while (sb.length() < 1_500_000) {
+            sb.append("Şükrü").append(rows).append(",Çağlayan\n");
+            rows++;
+        }
+        List<List<String>> records = readAll(open(sb.toString(), ','));
+        assertEquals(rows, records.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(Arrays.asList("Şükrü" + i, "Çağlayan"), records.get(i));
+        }
+    }
+
+    @Test
+    public void emptyFileHasNoRecords() throws IOException {
+        assertEquals(0, readAll(open("", ',')).size());
+    }
+}
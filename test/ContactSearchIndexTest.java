@@ -0,0 +1,94 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContactSearchIndexTest {
+
+    private ContactSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new ContactSearchIndex();
+        index.loadEmpty();
+        index.put(1, "Ayşe", "Yılmaz", "ayse_y", "ayse@gmail.com", "5321234567", null);
+        index.put(2, "Mehmet", "Şahin", null, "mehmet@outlook.com", "5339876543", "2125550000");
+        index.put(3, "İsmail", "Çelik", "ismo", "ismail@yahoo.com", "5051112233", null);
+    }
+
+    // ====== FOLD ======
+
+    @Test
+    public void foldLowersAndStripsTurkishAccents() {
+        assertEquals("ayse yilmaz", ContactSearchIndex.fold("Ayşe Yılmaz"));
+        assertEquals("ismail celik", ContactSearchIndex.fold("İSMAİL ÇELİK"));
+        assertEquals("ogu", ContactSearchIndex.fold("ÖĞÜ"));
+        assertEquals("abc123", ContactSearchIndex.fold("ABC123"));
+    }
+
+    @Test
+    public void foldOfNullOrEmptyIsEmpty() {
+        assertEquals("", ContactSearchIndex.fold(null));
+        assertEquals("", ContactSearchIndex.fold(""));
+    }
+
+    // ====== CANDIDATES ======
+
+    @Test
+    public void candidatesIgnoreCaseAndAccents() throws Exception {
+        assertArrayEquals(new int[] { 1 }, index.candidates(null, "first_name", "AYS"));
+        assertArrayEquals(new int[] { 2 }, index.candidates(null, "last_name", "sah"));
+        assertArrayEquals(new int[] { 3 }, index.candidates(null, "first_name", "ismail"));
+    }
+
+    @Test
+    public void candidatesMatchInsideTheValue() throws Exception {
+        assertArrayEquals(new int[] { 2 }, index.candidates(null, "email", "outlook"));
+        assertArrayEquals(new int[] { 3 }, index.candidates(null, "email", "il@"));
+        assertArrayEquals(new int[] { 1 }, index.candidates(null, "phone_primary", "123"));
+        assertArrayEquals(new int[] { 2 }, index.candidates(null, "phone_secondary", "555"));
+    }
+
+    @Test
+    public void unknownTrigramGivesNoCandidates() throws Exception {
+        assertArrayEquals(new int[0], index.candidates(null, "phone_primary", "555"));
+        assertArrayEquals(new int[0], index.candidates(null, "first_name", "xyz"));
+    }
+
+    @Test
+    public void candidatesAreASupersetOfTheMatches() throws Exception {
+        // every trigram of the term occurs in "mehmet", the term itself does not:
+        // the caller's LIKE removes such rows
+        assertArrayEquals(new int[] { 2 }, index.candidates(null, "first_name", "mehmehmet"));
+    }
+
+    @Test
+    public void shortTermsAndOtherColumnsAreNotAnswered() throws Exception {
+        assertNull(index.candidates(null, "first_name", "ay"));
+        assertNull(index.candidates(null, "middle_name", "ayse"));
+        assertNull(index.candidates(null, "linkedin_url", "ayse"));
+    }
+
+    // ====== MAINTENANCE ======
+
+    @Test
+    public void updateFieldReplacesTheOldGrams() throws Exception {
+        index.updateField(1, "first_name", "Zeynep");
+        assertArrayEquals(new int[0], index.candidates(null, "first_name", "ays"));
+        assertArrayEquals(new int[] { 1 }, index.candidates(null, "first_name", "zey"));
+        assertArrayEquals(new int[] { 1 }, index.candidates(null, "nickname", "ayse"));
+    }
+
+    @Test
+    public void putReplacesAndRemoveDropsTheRow() throws Exception {
+        index.put(3, "Elif", "Çelik", null, "elif@yahoo.com", "5051112233", null);
+        assertArrayEquals(new int[0], index.candidates(null, "first_name", "ism"));
+        assertArrayEquals(new int[] { 3 }, index.candidates(null, "last_name", "celik"));
+
+        index.remove(2);
+        assertArrayEquals(new int[0], index.candidates(null, "last_name", "sahin"));
+        assertArrayEquals(new int[] { 1, 3 }, index.candidates(null, "email", ".com"));
+    }
+}
@@ -0,0 +1,112 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * The scanners of ContactValidator against the regexes they replaced, on
+ * random strings built from the characters those regexes care about.
+ */
+public class ContactValidatorTest {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-zÇĞİÖŞÜçğıöşü]+");
+    private static final Pattern NICKNAME = Pattern.compile("[A-Za-zÇĞİÖŞÜçğıöşü0-9_.]+");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    // Pieces of the random inputs: letters in and out of the allowed set, ASCII and
+    // non-ASCII digits, regex whitespace and non-breaking space, email / date punctuation
+    private static final String[] PIECES = {
+            "a", "Z", "ç", "Ğ", "İ", "ı", "ş", "Ü", "é", "ß", "0", "7", "٣", "_", ".", "-",
+            "@", " ", "\t", "\n", "\u000B", "\u00A0", "!", "'", "gmail", "com", "2024", "12" };
+
+    private static final int SAMPLES = 50_000;
+
+    private static String randomValue(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int pieces = random.nextInt(8);
+        for (int i = 0; i < pieces; i++) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    // ====== SAME ANSWERS AS THE REGEXES ======
+
+    @Test
+    public void scannersAgreeWithTheRegexes() {
+        Random random = new Random(343);
+        for (int i = 0; i < SAMPLES; i++) {
+            String s = randomValue(random);
+            assertEquals("isName " + s, NAME.matcher(s).matches(), ContactValidator.isName(s));
+            assertEquals("isNickname " + s, NICKNAME.matcher(s).matches(), ContactValidator.isNickname(s));
+            assertEquals("isDigits " + s, DIGITS.matcher(s).matches(), ContactValidator.isDigits(s));
+            assertEquals("isEmailShape " + s, EMAIL.matcher(s).matches(), ContactValidator.isEmailShape(s));
+            assertEquals("isIsoDateShape " + s, DATE.matcher(s).matches(), ContactValidator.isIsoDateShape(s));
+            assertEquals("digitsOnly " + s, s.replaceAll("[^0-9]", ""), ContactValidator.digitsOnly(s));
+        }
+    }
+
+    @Test
+    public void passwordKindsAgreeWithTheRegexes() {
+        Random random = new Random(2025);
+        for (int i = 0; i < SAMPLES; i++) {
+            String s = randomValue(random).replace('\n', ' ');   // '.' does not match a line break
+            int kinds = ContactValidator.passwordCharKinds(s);
+            assertEquals(s, s.matches(".*[A-Za-z].*"), (kinds & ContactValidator.PASSWORD_LETTER) != 0);
+            assertEquals(s, s.matches(".*[0-9].*"), (kinds & ContactValidator.PASSWORD_DIGIT) != 0);
+            assertEquals(s, s.matches(".*[^A-Za-z0-9].*"), (kinds & ContactValidator.PASSWORD_SYMBOL) != 0);
+        }
+    }
+
+    @Test
+    public void emailShapeEdgeCases() {
+        assertTrue(ContactValidator.isEmailShape("a@b.c"));
+        assertFalse(ContactValidator.isEmailShape("@b.c"));
+        assertFalse(ContactValidator.isEmailShape("a@.c"));
+        assertFalse(ContactValidator.isEmailShape("a@b."));
+        assertFalse(ContactValidator.isEmailShape("a@b@c.d"));
+        assertFalse(ContactValidator.isEmailShape("a b@c.d"));
+        assertTrue(ContactValidator.isEmailShape("a@b.c.d"));
+    }
+
+    // ====== DOMAIN RULES ======
+
+    @Test
+    public void allowedEmailDomainsIgnoreCase() {
+        assertTrue(ContactValidator.isAllowedEmail("ayse@gmail.com"));
+        assertTrue(ContactValidator.isAllowedEmail("ayse@Outlook.COM"));
+        assertFalse(ContactValidator.isAllowedEmail("ayse@gmail.co"));
+        assertFalse(ContactValidator.isAllowedEmail("ayse@mail.gmail.com"));
+    }
+
+    @Test
+    public void datesMustExistAndNotBeInTheFuture() {
+        int today = 20250615;
+        assertTrue(ContactValidator.isPastOrTodayDate("2024-02-29", today));
+        assertFalse(ContactValidator.isPastOrTodayDate("2023-02-29", today));
+        assertFalse(ContactValidator.isPastOrTodayDate("1900-02-29", today));
+        assertTrue(ContactValidator.isPastOrTodayDate("2000-02-29", today));
+        assertFalse(ContactValidator.isPastOrTodayDate("2023-04-31", today));
+        assertFalse(ContactValidator.isPastOrTodayDate("2023-13-01", today));
+        assertTrue(ContactValidator.isPastOrTodayDate("2025-06-15", today));
+        assertFalse(ContactValidator.isPastOrTodayDate("2025-06-16", today));
+    }
+
+    @Test
+    public void invalidMarksTheRejectedIndexes() {
+        String[] values = { "Ayşe", "Ay5e", "", "Çağrı", "a b" };
+        BitSet invalid = ContactValidator.invalid(ContactValidator.Rule.NAME, values, values.length);
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(2);
+        expected.set(4);
+        assertEquals(expected, invalid);
+    }
+}
@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PasswordUtilsTest {
+
+    // Low cost keeps the tests fast; the format is the same as with the default
+    private static final int TEST_ITERATIONS = 1_000;
+
+    private static String sha256Hex(byte[] bytes) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    // ====== PBKDF2 FORMAT ======
+
+    @Test
+    public void pbkdf2HashVerifiesOnlyTheSamePassword() {
+        String stored = PasswordUtils.hashPassword("Gizli.Şifre1", TEST_ITERATIONS);
+        assertTrue(stored.startsWith(PasswordUtils.PBKDF2_PREFIX + TEST_ITERATIONS + "$"));
+        assertTrue(PasswordUtils.verifyPassword("Gizli.Şifre1", stored));
+        assertFalse(PasswordUtils.verifyPassword("gizli.şifre1", stored));
+        assertFalse(PasswordUtils.verifyPassword("", stored));
+    }
+
+    @Test
+    public void pbkdf2HashesAreSalted() {
+        String a = PasswordUtils.hashPassword("same", TEST_ITERATIONS);
+        String b = PasswordUtils.hashPassword("same", TEST_ITERATIONS);
+        assertNotEquals(a, b);
+        assertTrue(PasswordUtils.verifyPassword("same", a));
+        assertTrue(PasswordUtils.verifyPassword("same", b));
+    }
+
+    @Test
+    public void malformedPbkdf2HashesAreRejected() {
+        String stored = PasswordUtils.hashPassword("pw", TEST_ITERATIONS);
+        String[] parts = stored.split("\\$");
+        assertFalse(PasswordUtils.verifyPassword("pw", parts[0] + "$" + parts[1] + "$" + parts[2]));
+        assertFalse(PasswordUtils.verifyPassword("pw", parts[0] + "$x$" + parts[2] + "$" + parts[3]));
+        assertFalse(PasswordUtils.verifyPassword("pw", parts[0] + "$0$" + parts[2] + "$" + parts[3]));
+        assertFalse(PasswordUtils.verifyPassword("pw", parts[0] + "$" + parts[1] + "$%%%$" + parts[3]));
+        assertFalse(PasswordUtils.verifyPassword("pw", parts[0] + "$" + parts[1] + "$" + parts[2] + "$"));
+    }
+
+    // ====== LEGACY SHA-256 FORMAT ======
+
+    @Test
+    public void legacyHashVerifies() throws Exception {
+        String stored = sha256Hex("eski1234".getBytes(StandardCharsets.UTF_8));
+        assertTrue(PasswordUtils.verifyPassword("eski1234", stored));
+        assertFalse(PasswordUtils.verifyPassword("eski12345", stored));
+        assertFalse(PasswordUtils.verifyPassword("eski1234", stored.toUpperCase()));
+    }
+
+    @Test
+    public void nullAndUnknownFormatsNeverVerify() {
+        assertFalse(PasswordUtils.verifyPassword(null, "abc"));
+        assertFalse(PasswordUtils.verifyPassword("abc", null));
+        assertFalse(PasswordUtils.verifyPassword("abc", "abc"));
+        assertFalse(PasswordUtils.verifyPassword("", ""));
+    }
+
+    // ====== REHASH ======
+
+    @Test
+    public void needsRehashForLegacyAndCheaperHashes() throws Exception {
+        assertTrue(PasswordUtils.needsRehash(sha256Hex(new byte[0])));
+        assertTrue(PasswordUtils.needsRehash(PasswordUtils.hashPassword("pw", PasswordUtils.iterations() - 1)));
+        assertTrue(PasswordUtils.needsRehash(PasswordUtils.PBKDF2_PREFIX + "many$salt$hash"));
+        assertTrue(PasswordUtils.needsRehash(PasswordUtils.PBKDF2_PREFIX + "12345"));
+    }
+
+    @Test
+    public void noRehashForCurrentCostOrUnknownFormats() {
+        String current = PasswordUtils.PBKDF2_PREFIX + PasswordUtils.iterations() + "$c2FsdA$aGFzaA";
+        assertFalse(PasswordUtils.needsRehash(current));
+        assertFalse(PasswordUtils.needsRehash(PasswordUtils.PBKDF2_PREFIX + (PasswordUtils.iterations() + 1) + "$a$b"));
+        assertFalse(PasswordUtils.needsRehash("not a hash"));
+        assertFalse(PasswordUtils.needsRehash(null));
+    }
+
+    // ====== UTF-8 ENCODING (HashBuffers.encodeUtf8) ======
+
+    @Test
+    public void legacyDigestUsesTheSameBytesAsGetBytes() throws Exception {
+        String[] samples = {
+                "", "abc", "Ayşe Yılmaz", "ÇĞİÖŞÜçğıöşü", "€ 漢字", "emoji \uD83D\uDE00 ok",
+                "lone \uD800 high", "lone \uDC00 low", "ends with \uD83D", "\uDE00 starts low",
+                "x".repeat(1_000), "ş".repeat(300) };
+        for (String s : samples) {
+            assertEquals(s, sha256Hex(s.getBytes(StandardCharsets.UTF_8)), PasswordUtils.legacySha256Hex(s));
+        }
+    }
+
+    @Test
+    public void legacyDigestOfRandomStrings() throws Exception {
+        Random random = new Random(343);
+        for (int i = 0; i < 2_000; i++) {
+            char[] chars = new char[random.nextInt(100)];
+            for (int j = 0; j < chars.length; j++) {
+                // mostly ASCII / Latin / Turkish, sometimes anything incl. surrogates
+                chars[j] = random.nextInt(4) == 0 ? (char) random.nextInt(0x10000) : (char) random.nextInt(0x180);
+            }
+            String s = new String(chars);
+            assertEquals(sha256Hex(s.getBytes(StandardCharsets.UTF_8)), PasswordUtils.legacySha256Hex(s));
+        }
+    }
+}